@@ -0,0 +1,52 @@
+#!/usr/bin/env sh
+# Compara o tempo até o primeiro GET /cupom/{id} respondido entre a imagem
+# atual (Dockerfile) e a imagem de inicialização rápida (Dockerfile.fast).
+# O banco começa vazio: qualquer resposta HTTP (inclusive 404) conta como pronto,
+# só a ausência de resposta (conexão recusada, código 000) continua a espera.
+#
+# Uso: scripts/startup-benchmark.sh [execuções] [id]
+# Saída: CSV (image,run,millis) no stdout.
+set -eu
+
+RUNS="${1:-5}"
+CUPOM_ID="${2:-1}"
+PORT="${PORT:-18080}"
+TIMEOUT_SECONDS="${TIMEOUT_SECONDS:-120}"
+
+cd "$(dirname "$0")/.."
+
+docker build -q -t cupom:current -f Dockerfile . >/dev/null
+docker build -q -t cupom:fast -f Dockerfile.fast . >/dev/null
+
+now_millis() {
+    date +%s%3N
+}
+
+measure() {
+    image="$1"
+    container=$(docker run -d --rm -p "$PORT:8080" "$image")
+    start=$(now_millis)
+    deadline=$((start + TIMEOUT_SECONDS * 1000))
+
+    while [ "$(curl -s -o /dev/null -w '%{http_code}' "http://localhost:$PORT/cupom/$CUPOM_ID")" = "000" ]; do
+        if [ "$(now_millis)" -gt "$deadline" ]; then
+            docker stop "$container" >/dev/null
+            echo "timeout aguardando $image" >&2
+            return 1
+        fi
+        sleep 0.05
+    done
+
+    end=$(now_millis)
+    docker stop "$container" >/dev/null
+    echo $((end - start))
+}
+
+echo "image,run,millis"
+for image in cupom:current cupom:fast; do
+    run=1
+    while [ "$run" -le "$RUNS" ]; do
+        echo "$image,$run,$(measure "$image")"
+        run=$((run + 1))
+    done
+done
@@ -0,0 +1,67 @@
+package com.example.demo.application.cache;
+
+import com.example.demo.domain.CupomChange;
+import com.example.demo.domain.CupomChangeListener;
+import com.example.demo.domain.CupomChangeType;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.List;
+
+// Ids e códigos inexistentes consultados há pouco: sondagens repetidas respondem sem ir ao
+// banco. A criação de um cupom remove o id e o código dele: no nó que criou, no commit; nos
+// demais, via outbox. Até o poller entregar o evento, o ttl limita por quanto tempo a falta pode ser servida.
+@Component
+public class CupomMissCache implements CupomChangeListener {
+
+    private final NegativeCache<Long> ids;
+    private final NegativeCache<String> codes;
+
+    public CupomMissCache(
+            @Value("${cupom.miss-cache.ttl:5s}") Duration ttl,
+            @Value("${cupom.miss-cache.max-size:100000}") int maxSize
+    ) {
+        this.ids = new NegativeCache<>(ttl.toNanos(), maxSize, System::nanoTime);
+        this.codes = new NegativeCache<>(ttl.toNanos(), maxSize, System::nanoTime);
+    }
+
+    public NegativeCache<Long> ids() {
+        return this.ids;
+    }
+
+    public NegativeCache<String> codes() {
+        return this.codes;
+    }
+
+    @Override
+    public void onChanges(List<CupomChange> changes) {
+        for (CupomChange change : changes) {
+            if (change.type() == CupomChangeType.CREATED) {
+                if (change.cupomId() != null) {
+                    this.ids.invalidate(change.cupomId());
+                }
+                if (change.code() != null) {
+                    this.codes.invalidate(change.code());
+                }
+            }
+        }
+    }
+
+    // Depois do commit, para que uma consulta logo após a criação não responda pela falta;
+    // sem transação ativa, na hora
+    public void invalidateOnCommit(List<CupomChange> created) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            this.onChanges(created);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                onChanges(created);
+            }
+        });
+    }
+}
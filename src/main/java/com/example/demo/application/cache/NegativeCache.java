@@ -0,0 +1,98 @@
+package com.example.demo.application.cache;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+// Chaves consultadas recentemente e não encontradas, cada uma válida por ttl. Cheio, só
+// aceita novas entradas depois de remover as vencidas; a varredura roda no máximo uma vez
+// por meio ttl, então uma enxurrada de chaves novas não vira uma varredura por consulta.
+public class NegativeCache<K> {
+
+    private final ConcurrentHashMap<K, Long> expiresAt = new ConcurrentHashMap<>();
+    private final long ttlNanos;
+    private final int maxSize;
+    private final LongSupplier clock;
+    // Avança a cada invalidação: uma falta consultada antes dela pode estar desatualizada
+    private final AtomicLong generation = new AtomicLong();
+    private final AtomicLong nextPurge;
+    private final LongAdder hits = new LongAdder();
+
+    public NegativeCache(long ttlNanos, int maxSize, LongSupplier clock) {
+        this.ttlNanos = ttlNanos;
+        this.maxSize = maxSize;
+        this.clock = clock;
+        this.nextPurge = new AtomicLong(clock.getAsLong());
+    }
+
+    public boolean isEnabled() {
+        return this.ttlNanos > 0 && this.maxSize > 0;
+    }
+
+    // Lido antes da consulta e devolvido em remember
+    public long stamp() {
+        return this.generation.get();
+    }
+
+    // Consulta junto com o stamp lido antes dela. Dentro do SingleFlight, quem espera recebe o
+    // stamp de quem consultou: um lido ao entrar na fila poderia ser posterior a uma invalidação
+    // que a consulta em andamento não viu
+    public <V> Stamped<V> load(Supplier<V> loader) {
+        long stamp = this.stamp();
+        return new Stamped<>(loader.get(), stamp);
+    }
+
+    public boolean contains(K key) {
+        Long expiration = this.expiresAt.get(key);
+        if (expiration == null) {
+            return false;
+        }
+        if (this.clock.getAsLong() - expiration >= 0) {
+            this.expiresAt.remove(key, expiration);
+            return false;
+        }
+        this.hits.increment();
+        return true;
+    }
+
+    public void remember(K key, long stamp) {
+        if (!this.isEnabled()) {
+            return;
+        }
+        long now = this.clock.getAsLong();
+        if (this.expiresAt.size() >= this.maxSize && !this.purge(now)) {
+            return;
+        }
+        this.expiresAt.put(key, now + this.ttlNanos);
+        // Invalidada durante a consulta: a falta pode já não valer
+        if (this.generation.get() != stamp) {
+            this.expiresAt.remove(key);
+        }
+    }
+
+    public void invalidate(K key) {
+        this.generation.incrementAndGet();
+        this.expiresAt.remove(key);
+    }
+
+    private boolean purge(long now) {
+        long next = this.nextPurge.get();
+        if (now - next < 0 || !this.nextPurge.compareAndSet(next, now + this.ttlNanos / 2)) {
+            return false;
+        }
+        this.expiresAt.values().removeIf(expiration -> now - expiration >= 0);
+        return this.expiresAt.size() < this.maxSize;
+    }
+
+    public long hits() {
+        return this.hits.sum();
+    }
+
+    public int size() {
+        return this.expiresAt.size();
+    }
+
+    public record Stamped<V>(V value, long stamp) { }
+}
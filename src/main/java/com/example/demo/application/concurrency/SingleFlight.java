@@ -0,0 +1,67 @@
+package com.example.demo.application.concurrency;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+// Agrupa leituras concorrentes da mesma chave: a primeira executa a consulta e as que
+// chegam enquanto ela está em andamento esperam e recebem o mesmo resultado. Nada fica
+// guardado depois que a consulta termina; a próxima chamada consulta de novo.
+public class SingleFlight<K, V> {
+
+    private final ConcurrentHashMap<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+    private final LongAdder executed = new LongAdder();
+    private final LongAdder shared = new LongAdder();
+
+    public V execute(K key, Supplier<V> loader) {
+        CompletableFuture<V> call = new CompletableFuture<>();
+        CompletableFuture<V> running = this.inFlight.putIfAbsent(key, call);
+        if (running != null) {
+            this.shared.increment();
+            return await(running);
+        }
+
+        this.executed.increment();
+        try {
+            V value = loader.get();
+            this.inFlight.remove(key, call);
+            call.complete(value);
+            return value;
+        } catch (RuntimeException | Error ex) {
+            this.inFlight.remove(key, call);
+            call.completeExceptionally(ex);
+            throw ex;
+        }
+    }
+
+    // Quem esperou recebe a mesma exceção de quem consultou
+    private static <V> V await(CompletableFuture<V> running) {
+        try {
+            return running.join();
+        } catch (CompletionException ex) {
+            if (ex.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (ex.getCause() instanceof Error cause) {
+                throw cause;
+            }
+            throw ex;
+        }
+    }
+
+    // Consultas de fato executadas
+    public long executed() {
+        return this.executed.sum();
+    }
+
+    // Chamadas atendidas pela consulta de outra
+    public long shared() {
+        return this.shared.sum();
+    }
+
+    public int inFlight() {
+        return this.inFlight.size();
+    }
+}
@@ -0,0 +1,58 @@
+package com.example.demo.application.concurrency;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.concurrent.locks.ReentrantLock;
+
+// Serializa, dentro do nó, criações do mesmo código normalizado. Códigos diferentes só
+// disputam o mesmo lock quando caem na mesma faixa (stripe); não há lock global.
+@Component
+public class StripedCodeLock {
+
+    private final ReentrantLock[] stripes;
+    private final int mask;
+
+    public StripedCodeLock(@Value("${cupom.create.lock-stripes:256}") int stripes) {
+        // Potência de 2 para escolher a faixa com máscara
+        this.stripes = new ReentrantLock[stripes <= 1 ? 1 : Integer.highestOneBit(stripes - 1) << 1];
+        for (int i = 0; i < this.stripes.length; i++) {
+            this.stripes[i] = new ReentrantLock();
+        }
+        this.mask = this.stripes.length - 1;
+    }
+
+    // Com transação ativa o lock só é liberado depois do commit/rollback, para que a próxima
+    // criação do mesmo código já enxergue o registro; sem transação, ao fechar a reserva
+    public Reservation reserve(String normalizedCode) {
+        ReentrantLock lock = this.stripes[this.stripeFor(normalizedCode)];
+        lock.lock();
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    lock.unlock();
+                }
+            });
+            return () -> { };
+        }
+        return lock::unlock;
+    }
+
+    public int stripeCount() {
+        return this.stripes.length;
+    }
+
+    int stripeFor(String normalizedCode) {
+        int hash = normalizedCode.hashCode();
+        return (hash ^ (hash >>> 16)) & this.mask;
+    }
+
+    public interface Reservation extends AutoCloseable {
+        @Override
+        void close();
+    }
+}
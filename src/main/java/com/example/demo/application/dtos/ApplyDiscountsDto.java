@@ -0,0 +1,17 @@
+package com.example.demo.application.dtos;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.PositiveOrZero;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+public record ApplyDiscountsDto(
+        @NotEmpty @Size(max = 10_000)
+        List<@NotNull @Valid CartDto> carts
+) {
+    // Total do carrinho em centavos; sem ele o JSON viraria 0 em silêncio
+    public record CartDto(String code, @NotNull @PositiveOrZero Long totalCents) { }
+}
@@ -0,0 +1,13 @@
+package com.example.demo.application.dtos;
+
+import com.example.demo.domain.CupomStatus;
+
+// Valores em centavos; o desconto só é aplicado quando o status é VALID
+public record CartPriceResponse(
+        String code,
+        String normalizedCode,
+        CupomStatus status,
+        long totalCents,
+        long discountCents,
+        long finalTotalCents
+) { }
@@ -0,0 +1,10 @@
+package com.example.demo.application.dtos;
+
+import com.example.demo.domain.CupomStatus;
+
+public record CodeValidationResponse(
+        String code,
+        String normalizedCode,
+        Long id,
+        CupomStatus status
+) { }
@@ -0,0 +1,19 @@
+package com.example.demo.application.dtos;
+
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+public record GenerateCuponsDto(
+        @NotNull @Positive @Max(1_000_000)
+        Integer quantity,
+        @NotBlank String description,
+        @NotNull
+        BigDecimal discountValue,
+        @NotNull LocalDateTime expirationDate,
+        Boolean published
+) { }
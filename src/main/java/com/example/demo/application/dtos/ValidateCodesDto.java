@@ -0,0 +1,11 @@
+package com.example.demo.application.dtos;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+public record ValidateCodesDto(
+        @NotEmpty @Size(max = 500)
+        List<String> codes
+) { }
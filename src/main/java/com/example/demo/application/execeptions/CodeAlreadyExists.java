@@ -2,6 +2,6 @@ package com.example.demo.application.execeptions;
 
 public class CodeAlreadyExists extends RuntimeException {
     public CodeAlreadyExists(String message) {
-        super(message);
+        super(message, null, false, false);
     }
 }
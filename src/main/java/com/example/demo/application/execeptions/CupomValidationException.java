@@ -0,0 +1,19 @@
+package com.example.demo.application.execeptions;
+
+import com.example.demo.domain.ValidationErrors;
+
+import java.util.List;
+
+public class CupomValidationException extends RuntimeException {
+
+    private final List<ValidationErrors.FieldError> errors;
+
+    public CupomValidationException(ValidationErrors errors) {
+        super(errors.getMessage(), null, false, false);
+        this.errors = errors.getErrors();
+    }
+
+    public List<ValidationErrors.FieldError> getErrors() {
+        return errors;
+    }
+}
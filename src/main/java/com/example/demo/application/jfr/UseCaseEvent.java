@@ -0,0 +1,76 @@
+package com.example.demo.application.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+// Evento JFR por execução de caso de uso. Com o evento desligado begin/commit não fazem
+// nada e a instância é eliminada pelo JIT; com ele desligado (isEnabled) os campos não são preenchidos.
+@Name("cupom.UseCase")
+@Label("Cupom Use Case")
+@Category({"Cupom", "Use Case"})
+@Description("Execução de um caso de uso de cupom, com id/código, resultado e duração")
+@StackTrace(false)
+public class UseCaseEvent extends Event {
+
+    @Label("Use Case")
+    String useCase;
+
+    @Label("Cupom Id")
+    long cupomId;
+
+    @Label("Code")
+    String code;
+
+    @Label("Outcome")
+    String outcome;
+
+    public static UseCaseEvent start(String useCase) {
+        UseCaseEvent event = new UseCaseEvent();
+        if (event.isEnabled()) {
+            event.useCase = useCase;
+            event.begin();
+        }
+        return event;
+    }
+
+    public UseCaseEvent cupom(Long id, String code) {
+        if (!this.isEnabled()) {
+            return this;
+        }
+        if (id != null) {
+            this.cupomId = id;
+        }
+        this.code = code;
+        return this;
+    }
+
+    public void succeeded(String outcome) {
+        if (this.isEnabled()) {
+            this.outcome = outcome;
+        }
+    }
+
+    public void failed(Throwable error) {
+        if (this.isEnabled()) {
+            this.outcome = error.getClass().getSimpleName();
+        }
+    }
+
+    // Chamado no finally: sem outcome, a execução saiu por uma exceção não tratada acima
+    public void finish() {
+        if (!this.isEnabled()) {
+            return;
+        }
+        this.end();
+        if (this.shouldCommit()) {
+            if (this.outcome == null) {
+                this.outcome = "ERROR";
+            }
+            this.commit();
+        }
+    }
+}
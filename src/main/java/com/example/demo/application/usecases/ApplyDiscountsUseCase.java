@@ -0,0 +1,75 @@
+package com.example.demo.application.usecases;
+
+import com.example.demo.application.dtos.ApplyDiscountsDto;
+import com.example.demo.application.dtos.CartPriceResponse;
+import com.example.demo.application.execeptions.CupomValidationException;
+import com.example.demo.domain.CodeCupom;
+import com.example.demo.domain.CupomLookup;
+import com.example.demo.domain.CupomState;
+import com.example.demo.domain.CupomStatus;
+import com.example.demo.domain.ValidationErrors;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+@Component
+public class ApplyDiscountsUseCase {
+
+    private final CupomLookup cupomLookup;
+
+    public ApplyDiscountsUseCase(CupomLookup cupomLookup) {
+        this.cupomLookup = cupomLookup;
+    }
+
+    public List<CartPriceResponse> execute(ApplyDiscountsDto request) {
+        List<ApplyDiscountsDto.CartDto> carts = request.carts();
+        ValidationErrors errors = new ValidationErrors();
+        String[] normalizedCodes = new String[carts.size()];
+        Set<String> distinctCodes = new HashSet<>();
+
+        for (int i = 0; i < carts.size(); i++) {
+            ApplyDiscountsDto.CartDto cart = carts.get(i);
+            if (cart == null || cart.totalCents() == null || cart.totalCents() < 0) {
+                errors.add("carts[" + i + "].totalCents", "Total do carrinho é obrigatório e não pode ser negativo");
+                continue;
+            }
+            // Código inválido não é erro do lote: o carrinho sai com status UNKNOWN
+            String normalized = CodeCupom.validate(cart.code(), new ValidationErrors());
+            normalizedCodes[i] = normalized;
+            if (normalized != null) {
+                distinctCodes.add(normalized);
+            }
+        }
+
+        if (errors.hasErrors()) {
+            throw new CupomValidationException(errors);
+        }
+
+        // Todos os cupons do lote de uma vez; o lookup divide em consultas de até 1.000 códigos
+        Map<String, CupomState> found = new HashMap<>(distinctCodes.size() * 2);
+        if (!distinctCodes.isEmpty()) {
+            for (CupomState cupom : this.cupomLookup.findAllByCodes(distinctCodes)) {
+                found.put(cupom.code(), cupom);
+            }
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        List<CartPriceResponse> responses = new ArrayList<>(carts.size());
+        for (int i = 0; i < carts.size(); i++) {
+            ApplyDiscountsDto.CartDto cart = carts.get(i);
+            CupomState cupom = normalizedCodes[i] != null ? found.get(normalizedCodes[i]) : null;
+            CupomStatus status = cupom != null ? cupom.statusAt(now) : CupomStatus.UNKNOWN;
+
+            long total = cart.totalCents();
+            long finalTotal = status == CupomStatus.VALID ? cupom.applyTo(total) : total;
+            responses.add(new CartPriceResponse(cart.code(), normalizedCodes[i], status, total, total - finalTotal, finalTotal));
+        }
+        return responses;
+    }
+}
@@ -1,38 +1,96 @@
 package com.example.demo.application.usecases;
 
+import com.example.demo.application.cache.CupomMissCache;
+import com.example.demo.application.concurrency.StripedCodeLock;
 import com.example.demo.application.dtos.CreateCupomDto;
 import com.example.demo.application.dtos.CupomResponse;
 import com.example.demo.application.execeptions.CodeAlreadyExists;
+import com.example.demo.application.execeptions.CupomValidationException;
+import com.example.demo.application.jfr.UseCaseEvent;
 import com.example.demo.domain.CodeCupom;
 import com.example.demo.domain.Cupom;
+import com.example.demo.domain.CupomChange;
+import com.example.demo.domain.CupomChangeLog;
+import com.example.demo.domain.CupomCreateMode;
 import com.example.demo.domain.CupomRepository;
+import com.example.demo.domain.ValidationErrors;
+import com.example.demo.domain.exceptions.DuplicateCodeException;
 import com.example.demo.domain.exceptions.InvalidCodeException;
 import jakarta.transaction.Transactional;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Component;
 
+import java.util.List;
 import java.util.Optional;
 
 @Component
 public class CreateCupomUseCase {
 
     private final CupomRepository cupomRepository;
+    private final CupomChangeLog cupomChangeLog;
+    private final CupomCreateMode createMode;
+    private final StripedCodeLock codeLock;
+    private final CupomMissCache missCache;
 
-    public CreateCupomUseCase(CupomRepository cupomRepository){
+    public CreateCupomUseCase(
+            CupomRepository cupomRepository,
+            CupomChangeLog cupomChangeLog,
+            @Value("${cupom.create.mode:insert-first}") CupomCreateMode createMode,
+            StripedCodeLock codeLock,
+            CupomMissCache missCache
+    ){
         this.cupomRepository = cupomRepository;
+        this.cupomChangeLog = cupomChangeLog;
+        this.createMode = createMode;
+        this.codeLock = codeLock;
+        this.missCache = missCache;
     }
 
     @Transactional
     public CupomResponse execute(CreateCupomDto request){
+        UseCaseEvent event = UseCaseEvent.start("CreateCupom").cupom(null, request.code());
+        try {
+            CupomResponse response = this.create(request);
+            event.cupom(response.id(), response.code()).succeeded("CREATED");
+            return response;
+        } catch (RuntimeException ex) {
+            event.failed(ex);
+            throw ex;
+        } finally {
+            event.finish();
+        }
+    }
+
+    private CupomResponse create(CreateCupomDto request) {
+        ValidationErrors errors = Cupom.validate(
+                request.code(),
+                request.description(),
+                request.discountValue(),
+                request.expirationDate()
+        );
+
+        if (errors.hasErrors()) {
+            throw new CupomValidationException(errors);
+        }
+
         String normalizedCode = new CodeCupom(request.code()).getValue();
 
-       boolean exists = this.cupomRepository.existsByCode(normalizedCode);
+        // Reserva o código até o fim da transação nos dois modos: criações concorrentes do mesmo
+        // código esperam aqui, e não presas no lock de linha do índice uk_cupom_code segurando conexão
+        try (StripedCodeLock.Reservation ignored = this.codeLock.reserve(normalizedCode)) {
+            // Em INSERT_FIRST a constraint uk_cupom_code responde pela duplicidade: uma ida ao banco a menos
+            if (this.createMode == CupomCreateMode.CHECK_FIRST
+                    && this.cupomRepository.existsByCode(normalizedCode)) {
+                //Ou exeção genérica se code for sensível
+                throw new CodeAlreadyExists("Cupom com esse código já existe");
+            }
 
-        //Ou exeção genérica se code for sensível
-        if(exists){
-            throw new CodeAlreadyExists("Cupom com esse código já existe");
+            return this.persist(request);
         }
+    }
 
+    private CupomResponse persist(CreateCupomDto request) {
         Cupom coupon = new Cupom(
                 request.code(),
                 request.description(),
@@ -45,13 +103,20 @@ public class CreateCupomUseCase {
             // Salva
             Cupom saved = cupomRepository.save(coupon);
 
+            // Outbox na mesma transação
+            CupomChange change = CupomChange.created(saved);
+            cupomChangeLog.append(change);
+
+            // Este nó não espera o poller para esquecer a falta do id/código
+            missCache.invalidateOnCommit(List.of(change));
+
             // Retorna DTO
             return CupomResponse.from(saved);
+        }catch (DuplicateCodeException ex){
+            throw new CodeAlreadyExists(ex.getMessage());
         }catch (DataIntegrityViolationException ex){
             throw new InvalidCodeException("Cupom já existe");
         }
-
-
     }
 
 
@@ -2,7 +2,10 @@ package com.example.demo.application.usecases;
 
 import com.example.demo.application.execeptions.CupomConcurrencyException;
 import com.example.demo.application.execeptions.CupomNotFound;
+import com.example.demo.application.jfr.UseCaseEvent;
 import com.example.demo.domain.Cupom;
+import com.example.demo.domain.CupomChange;
+import com.example.demo.domain.CupomChangeLog;
 import com.example.demo.domain.CupomRepository;
 import jakarta.persistence.OptimisticLockException;
 import jakarta.transaction.Transactional;
@@ -11,14 +14,30 @@ import org.springframework.stereotype.Component;
 @Component
 public class DeleteCupomUseCase {
     private final CupomRepository cupomRepository;
+    private final CupomChangeLog cupomChangeLog;
 
-    public DeleteCupomUseCase(CupomRepository cupomRepository) {
+    public DeleteCupomUseCase(CupomRepository cupomRepository, CupomChangeLog cupomChangeLog) {
         this.cupomRepository = cupomRepository;
+        this.cupomChangeLog = cupomChangeLog;
     }
 
     @Transactional
     public void execute(Long id){
 
+        UseCaseEvent event = UseCaseEvent.start("DeleteCupom").cupom(id, null);
+        try {
+            this.delete(id);
+            event.succeeded("DELETED");
+        } catch (RuntimeException ex) {
+            event.failed(ex);
+            throw ex;
+        } finally {
+            event.finish();
+        }
+    }
+
+    private void delete(Long id) {
+
         Cupom cupom = this.cupomRepository.findById(id).orElseThrow(
                 () -> new CupomNotFound("Cupom a ser deletado não foi encontrado")
         );
@@ -28,6 +47,8 @@ public class DeleteCupomUseCase {
 
             this.cupomRepository.save(cupom);
 
+            this.cupomChangeLog.append(CupomChange.deleted(cupom));
+
         } catch (OptimisticLockException ex) {
 
             throw new CupomConcurrencyException(
@@ -0,0 +1,38 @@
+package com.example.demo.application.usecases;
+
+import com.example.demo.application.execeptions.CupomValidationException;
+import com.example.demo.domain.CodeCupom;
+import com.example.demo.domain.CodePrefixMatch;
+import com.example.demo.domain.CupomCodeLookup;
+import com.example.demo.domain.ValidationErrors;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+@Component
+public class FindCodesByPrefixUseCase {
+
+    static final int DEFAULT_LIMIT = 10;
+    static final int MAX_LIMIT = 100;
+
+    private final CupomCodeLookup codeLookup;
+
+    public FindCodesByPrefixUseCase(CupomCodeLookup codeLookup) {
+        this.codeLookup = codeLookup;
+    }
+
+    public List<CodePrefixMatch> execute(String prefix, Integer limit) {
+        ValidationErrors errors = new ValidationErrors();
+        String normalized = CodeCupom.validatePrefix(prefix, errors);
+
+        int resolvedLimit = limit != null ? limit : DEFAULT_LIMIT;
+        if (resolvedLimit < 1 || resolvedLimit > MAX_LIMIT) {
+            errors.add("limit", "Limite deve estar entre 1 e " + MAX_LIMIT);
+        }
+
+        if (errors.hasErrors()) {
+            throw new CupomValidationException(errors);
+        }
+        return this.codeLookup.findByCodePrefix(normalized, resolvedLimit);
+    }
+}
@@ -0,0 +1,31 @@
+package com.example.demo.application.usecases;
+
+import com.example.demo.application.dtos.CodeValidationResponse;
+import com.example.demo.domain.CupomLookup;
+import com.example.demo.domain.CupomState;
+import com.example.demo.domain.CupomStatus;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+// Status de um cupom pelo id, servido pelo CupomLookup: com snapshot ou store fora do heap
+// responde da memória, sem carregar o Cupom completo (descrição) do banco
+@Component
+public class FindCupomStatusUseCase {
+
+    private final CupomLookup cupomLookup;
+
+    public FindCupomStatusUseCase(CupomLookup cupomLookup) {
+        this.cupomLookup = cupomLookup;
+    }
+
+    public CodeValidationResponse execute(long id) {
+        Optional<CupomState> cupom = this.cupomLookup.findById(id);
+        if (cupom.isEmpty()) {
+            return new CodeValidationResponse(null, null, id, CupomStatus.UNKNOWN);
+        }
+        CupomState state = cupom.get();
+        return new CodeValidationResponse(state.code(), state.code(), state.id(), state.statusAt(LocalDateTime.now()));
+    }
+}
@@ -1,5 +1,9 @@
 package com.example.demo.application.usecases;
 
+import com.example.demo.application.cache.CupomMissCache;
+import com.example.demo.application.cache.NegativeCache;
+import com.example.demo.application.concurrency.SingleFlight;
+import com.example.demo.application.jfr.UseCaseEvent;
 import com.example.demo.domain.Cupom;
 import com.example.demo.domain.CupomRepository;
 import org.springframework.stereotype.Component;
@@ -9,14 +13,41 @@ import java.util.Optional;
 public class FindCupomUseCase {
 
     private final CupomRepository cupomRepository;
+    private final NegativeCache<Long> missingIds;
+    // GETs simultâneos do mesmo id compartilham uma consulta (e a mesma instância, só lida)
+    private final SingleFlight<Long, NegativeCache.Stamped<Optional<Cupom>>> flights = new SingleFlight<>();
 
-    public FindCupomUseCase(CupomRepository cupomRepository) {
+    public FindCupomUseCase(CupomRepository cupomRepository, CupomMissCache missCache) {
         this.cupomRepository = cupomRepository;
+        this.missingIds = missCache.ids();
     }
 
     public Optional<Cupom> execute(Long id){
 
-        return this.cupomRepository.findById(id);
+        UseCaseEvent event = UseCaseEvent.start("FindCupom").cupom(id, null);
+        try {
+            if (this.missingIds.contains(id)) {
+                event.succeeded("NOT_FOUND_CACHED");
+                return Optional.empty();
+            }
+            NegativeCache.Stamped<Optional<Cupom>> result =
+                    this.flights.execute(id, () -> this.missingIds.load(() -> this.cupomRepository.findById(id)));
+            Optional<Cupom> cupom = result.value();
+            if (cupom.isEmpty()) {
+                this.missingIds.remember(id, result.stamp());
+            }
+            event.succeeded(cupom.isPresent() ? "FOUND" : "NOT_FOUND");
+            return cupom;
+        } catch (RuntimeException ex) {
+            event.failed(ex);
+            throw ex;
+        } finally {
+            event.finish();
+        }
 
     }
+
+    public SingleFlight<Long, NegativeCache.Stamped<Optional<Cupom>>> flights() {
+        return this.flights;
+    }
 }
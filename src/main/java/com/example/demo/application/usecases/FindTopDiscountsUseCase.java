@@ -0,0 +1,33 @@
+package com.example.demo.application.usecases;
+
+import com.example.demo.application.execeptions.CupomValidationException;
+import com.example.demo.domain.ActiveDiscount;
+import com.example.demo.domain.BestDiscounts;
+import com.example.demo.domain.ValidationErrors;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Component
+public class FindTopDiscountsUseCase {
+
+    static final int DEFAULT_SIZE = 10;
+    static final int MAX_SIZE = 100;
+
+    private final BestDiscounts bestDiscounts;
+
+    public FindTopDiscountsUseCase(BestDiscounts bestDiscounts) {
+        this.bestDiscounts = bestDiscounts;
+    }
+
+    public List<ActiveDiscount> execute(Integer n) {
+        int size = n != null ? n : DEFAULT_SIZE;
+        if (size < 1 || size > MAX_SIZE) {
+            ValidationErrors errors = new ValidationErrors();
+            errors.add("n", "Quantidade deve estar entre 1 e " + MAX_SIZE);
+            throw new CupomValidationException(errors);
+        }
+        return this.bestDiscounts.best(size, LocalDateTime.now());
+    }
+}
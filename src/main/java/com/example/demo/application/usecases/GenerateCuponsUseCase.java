@@ -0,0 +1,82 @@
+package com.example.demo.application.usecases;
+
+import com.example.demo.application.dtos.GenerateCuponsDto;
+import com.example.demo.application.execeptions.CupomValidationException;
+import com.example.demo.domain.CodeGenerator;
+import com.example.demo.domain.Cupom;
+import com.example.demo.domain.ValidationErrors;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+@Component
+public class GenerateCuponsUseCase {
+
+    // Código qualquer válido, só para reaproveitar as validações dos demais campos
+    private static final String SAMPLE_CODE = "AAAAAA";
+    private static final int MAX_EMPTY_BATCHES = 3;
+
+    private final CodeGenerator codeGenerator;
+    private final InsertCuponsBatchUseCase insertBatchUseCase;
+    private final int batchSize;
+
+    public GenerateCuponsUseCase(
+            CodeGenerator codeGenerator,
+            InsertCuponsBatchUseCase insertBatchUseCase,
+            @Value("${cupom.generation.batch-size:1000}") int batchSize
+    ) {
+        this.codeGenerator = codeGenerator;
+        this.insertBatchUseCase = insertBatchUseCase;
+        this.batchSize = batchSize;
+    }
+
+    // Separado de execute para que erros virem 400 antes de a resposta começar a ser enviada
+    public void validate(GenerateCuponsDto request) {
+        ValidationErrors errors = Cupom.validate(
+                SAMPLE_CODE,
+                request.description(),
+                request.discountValue(),
+                request.expirationDate()
+        );
+
+        if (request.quantity() > this.codeGenerator.remainingCapacity()) {
+            errors.add("quantity", "Não há códigos disponíveis suficientes");
+        }
+
+        if (errors.hasErrors()) {
+            throw new CupomValidationException(errors);
+        }
+    }
+
+    // Entrega os códigos criados lote a lote; cada lote é commitado antes de ser repassado
+    public int execute(GenerateCuponsDto request, Consumer<List<String>> createdCodes) {
+        boolean published = request.published() != null ? request.published() : false;
+        int created = 0;
+        int emptyBatches = 0;
+
+        while (created < request.quantity()) {
+            int size = Math.min(this.batchSize, request.quantity() - created);
+
+            List<Cupom> batch = new ArrayList<>(size);
+            for (String code : this.codeGenerator.nextUniqueCodes(size)) {
+                batch.add(new Cupom(code, request.description(), request.discountValue(), request.expirationDate(), published));
+            }
+
+            // Códigos inseridos por outro nó ainda não vistos pelo bitmap são descartados no insert
+            List<Cupom> inserted = this.insertBatchUseCase.execute(batch);
+            // Só lotes vazios consecutivos indicam que o gerador não consegue mais avançar
+            if (!inserted.isEmpty()) {
+                emptyBatches = 0;
+            } else if (++emptyBatches >= MAX_EMPTY_BATCHES) {
+                throw new IllegalStateException("Não foi possível gerar códigos únicos");
+            }
+
+            created += inserted.size();
+            createdCodes.accept(inserted.stream().map(Cupom::getCode).toList());
+        }
+        return created;
+    }
+}
@@ -0,0 +1,37 @@
+package com.example.demo.application.usecases;
+
+import com.example.demo.application.cache.CupomMissCache;
+import com.example.demo.domain.Cupom;
+import com.example.demo.domain.CupomChange;
+import com.example.demo.domain.CupomChangeLog;
+import com.example.demo.domain.CupomRepository;
+import jakarta.transaction.Transactional;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+// Um lote da geração em massa: cupons e eventos do outbox na mesma transação
+@Component
+public class InsertCuponsBatchUseCase {
+
+    private final CupomRepository cupomRepository;
+    private final CupomChangeLog cupomChangeLog;
+    private final CupomMissCache missCache;
+
+    public InsertCuponsBatchUseCase(CupomRepository cupomRepository, CupomChangeLog cupomChangeLog, CupomMissCache missCache) {
+        this.cupomRepository = cupomRepository;
+        this.cupomChangeLog = cupomChangeLog;
+        this.missCache = missCache;
+    }
+
+    @Transactional
+    public List<Cupom> execute(List<Cupom> cupons) {
+        List<Cupom> inserted = this.cupomRepository.insertAllSkippingExisting(cupons);
+        if (!inserted.isEmpty()) {
+            List<CupomChange> changes = inserted.stream().map(CupomChange::created).toList();
+            this.cupomChangeLog.appendAll(changes);
+            this.missCache.invalidateOnCommit(changes);
+        }
+        return inserted;
+    }
+}
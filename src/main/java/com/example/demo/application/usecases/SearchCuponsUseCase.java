@@ -0,0 +1,47 @@
+package com.example.demo.application.usecases;
+
+import com.example.demo.application.execeptions.CupomValidationException;
+import com.example.demo.domain.CupomSearch;
+import com.example.demo.domain.CupomSearchHit;
+import com.example.demo.domain.SearchText;
+import com.example.demo.domain.ValidationErrors;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+@Component
+public class SearchCuponsUseCase {
+
+    static final int MIN_QUERY_LENGTH = 3;
+    static final int MAX_QUERY_LENGTH = 200;
+    static final int DEFAULT_LIMIT = 20;
+    static final int MAX_LIMIT = 100;
+
+    private final CupomSearch cupomSearch;
+
+    public SearchCuponsUseCase(CupomSearch cupomSearch) {
+        this.cupomSearch = cupomSearch;
+    }
+
+    public List<CupomSearchHit> execute(String query, Integer limit) {
+        ValidationErrors errors = new ValidationErrors();
+
+        // Menos de 3 caracteres não forma nenhum trigrama
+        String normalized = SearchText.normalize(query);
+        if (normalized.length() < MIN_QUERY_LENGTH) {
+            errors.add("q", "Busca deve ter ao menos 3 caracteres alfanuméricos");
+        } else if (normalized.length() > MAX_QUERY_LENGTH) {
+            errors.add("q", "Busca deve ter no máximo " + MAX_QUERY_LENGTH + " caracteres");
+        }
+
+        int resolvedLimit = limit != null ? limit : DEFAULT_LIMIT;
+        if (resolvedLimit < 1 || resolvedLimit > MAX_LIMIT) {
+            errors.add("limit", "Limite deve estar entre 1 e " + MAX_LIMIT);
+        }
+
+        if (errors.hasErrors()) {
+            throw new CupomValidationException(errors);
+        }
+        return this.cupomSearch.search(normalized, resolvedLimit);
+    }
+}
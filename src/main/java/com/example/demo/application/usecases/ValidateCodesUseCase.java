@@ -0,0 +1,63 @@
+package com.example.demo.application.usecases;
+
+import com.example.demo.application.dtos.CodeValidationResponse;
+import com.example.demo.application.dtos.ValidateCodesDto;
+import com.example.demo.domain.CodeCupom;
+import com.example.demo.domain.CupomLookup;
+import com.example.demo.domain.CupomState;
+import com.example.demo.domain.CupomStatus;
+import com.example.demo.domain.ValidationErrors;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+@Component
+public class ValidateCodesUseCase {
+
+    private final CupomLookup cupomLookup;
+
+    public ValidateCodesUseCase(CupomLookup cupomLookup) {
+        this.cupomLookup = cupomLookup;
+    }
+
+    public List<CodeValidationResponse> execute(ValidateCodesDto request) {
+        List<String> rawCodes = request.codes();
+        String[] normalizedCodes = new String[rawCodes.size()];
+        Set<String> distinctCodes = new HashSet<>();
+
+        for (int i = 0; i < rawCodes.size(); i++) {
+            String normalized = CodeCupom.validate(rawCodes.get(i), new ValidationErrors());
+            normalizedCodes[i] = normalized;
+            if (normalized != null) {
+                distinctCodes.add(normalized);
+            }
+        }
+
+        // Uma única consulta (IN) para todos os códigos do carrinho
+        Map<String, CupomState> found = new HashMap<>();
+        if (!distinctCodes.isEmpty()) {
+            for (CupomState cupom : this.cupomLookup.findAllByCodes(distinctCodes)) {
+                found.put(cupom.code(), cupom);
+            }
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        List<CodeValidationResponse> responses = new ArrayList<>(rawCodes.size());
+        for (int i = 0; i < rawCodes.size(); i++) {
+            CupomState cupom = normalizedCodes[i] != null ? found.get(normalizedCodes[i]) : null;
+            responses.add(new CodeValidationResponse(
+                    rawCodes.get(i),
+                    normalizedCodes[i],
+                    cupom != null ? cupom.id() : null,
+                    cupom != null ? cupom.statusAt(now) : CupomStatus.UNKNOWN
+            ));
+        }
+        return responses;
+    }
+}
@@ -0,0 +1,7 @@
+package com.example.demo.domain;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+// Cupom publicado, não deletado e ainda válido, como exibido na vitrine
+public record ActiveDiscount(long id, String code, String description, BigDecimal discountValue, LocalDateTime expirationDate) { }
@@ -0,0 +1,9 @@
+package com.example.demo.domain;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface BestDiscounts {
+    // Os n cupons ativos em `now` com maior desconto; empates pelo menor id
+    List<ActiveDiscount> best(int n, LocalDateTime now);
+}
@@ -4,19 +4,54 @@ import com.example.demo.domain.exceptions.InvalidCodeException;
 
 public class CodeCupom {
 
+    public static final int LENGTH = 6;
+
+    private static final String NULL_MESSAGE = "Code não pode ser vazio";
+    private static final String LENGTH_MESSAGE = "Code deve ter exatemente 6 caracteres alphanumericos";
+    private static final String PREFIX_MESSAGE = "Prefixo deve ter de 1 a 6 caracteres alphanumericos";
+
     private String code;
 
     public CodeCupom(String rawCode){
         this.code = this.normalizeCode(rawCode);
     }
 
+    // Normaliza sem lançar exceção: registra o erro e retorna null quando inválido
+    public static String validate(String rawCode, ValidationErrors errors) {
+        if (rawCode == null) {
+            errors.add("code", NULL_MESSAGE);
+            return null;
+        }
+
+        String cleaned = filterToAlphanumeric(rawCode);
+
+        if (cleaned.length() != LENGTH) {
+            errors.add("code", LENGTH_MESSAGE);
+            return null;
+        }
+
+        return cleaned;
+    }
+
+    // Prefixo para autocompletar: mesma limpeza do código, com 1 a 6 caracteres
+    public static String validatePrefix(String rawPrefix, ValidationErrors errors) {
+        String cleaned = rawPrefix != null ? filterToAlphanumeric(rawPrefix) : "";
+
+        if (cleaned.isEmpty() || cleaned.length() > LENGTH) {
+            errors.add("prefix", PREFIX_MESSAGE);
+            return null;
+        }
+
+        return cleaned;
+    }
+
     private String normalizeCode(String rawCode){
 
         if(rawCode == null){
-            throw new InvalidCodeException("Code não pode ser vazio");
+            throw new InvalidCodeException(NULL_MESSAGE);
         }
 
-        String cleaned = this.filterToAlphanumeric(rawCode);
+        String cleaned = filterToAlphanumeric(rawCode);
 
         this.validateLenght(cleaned);
 
@@ -24,15 +59,27 @@ public class CodeCupom {
 
     }
 
-    private String filterToAlphanumeric(String rawCode){
-        return rawCode.replaceAll("[^a-zA-Z0-9]", "");
+    static String filterToAlphanumeric(String rawCode){
+        StringBuilder cleaned = null;
+
+        for (int i = 0; i < rawCode.length(); i++) {
+            char c = rawCode.charAt(i);
+            boolean alphanumeric = (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || (c >= '0' && c <= '9');
+
+            if (!alphanumeric && cleaned == null) {
+                cleaned = new StringBuilder(rawCode.length());
+                cleaned.append(rawCode, 0, i);
+            } else if (alphanumeric && cleaned != null) {
+                cleaned.append(c);
+            }
+        }
+
+        return cleaned == null ? rawCode : cleaned.toString();
     }
 
     private void validateLenght(String code) {
-        if (code.length() != 6) {
-            throw new InvalidCodeException(
-                    "Code deve ter exatemente 6 caracteres alphanumericos"
-            );
+        if (code.length() != LENGTH) {
+            throw new InvalidCodeException(LENGTH_MESSAGE);
         }
     }
     public String getValue() {
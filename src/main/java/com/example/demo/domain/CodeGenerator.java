@@ -0,0 +1,10 @@
+package com.example.demo.domain;
+
+import java.util.List;
+
+public interface CodeGenerator {
+    // Códigos aleatórios válidos para CodeCupom e ainda não usados por nenhum cupom
+    List<String> nextUniqueCodes(int count);
+
+    long remainingCapacity();
+}
@@ -0,0 +1,3 @@
+package com.example.demo.domain;
+
+public record CodePrefixMatch(String code, long id) { }
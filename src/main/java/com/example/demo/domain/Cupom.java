@@ -7,6 +7,10 @@ import java.math.BigDecimal;
 import java.time.LocalDateTime;
 
 public class Cupom {
+    private static final String DESCRIPTION_MESSAGE = "Descrição não pode ser nula";
+    private static final String EXPIRATION_NULL_MESSAGE = "Data de expiração não pode ser nula";
+    private static final String EXPIRATION_PAST_MESSAGE = "Data de expiração não pode ser no passado";
+
     private Long id;
     private Long version;
     private CodeCupom code;
@@ -27,26 +31,51 @@ public class Cupom {
         this.version = 0L ;
     }
 
+    // Reconstrução a partir do banco: cupons já expirados continuam válidos para leitura
     public Cupom(String code, String description, BigDecimal discountValue, LocalDateTime expirationDate, boolean published, LocalDateTime deletedAt, Long version) {
         this.code = new CodeCupom(code);
         this.description = this.validateDescription(description);
         this.discountValue = new Discount(discountValue);
-        this.expirationDate = this.validateExpirationDate(expirationDate);
+        this.expirationDate = expirationDate;
         this.published = published;
         this.deletedAt = deletedAt;
         this.version = version ;
     }
 
+    // Valida todos os campos de uma vez, acumulando os erros em vez de lançar na primeira falha
+    public static ValidationErrors validate(String code, String description, BigDecimal discountValue, LocalDateTime expirationDate) {
+        ValidationErrors errors = new ValidationErrors();
+
+        CodeCupom.validate(code, errors);
+
+        if (description == null || description.isBlank()) {
+            errors.add("description", DESCRIPTION_MESSAGE);
+        }
+
+        Discount.validate(discountValue, errors);
+
+        if (expirationDate == null) {
+            errors.add("expirationDate", EXPIRATION_NULL_MESSAGE);
+        } else if (expirationDate.isBefore(LocalDateTime.now())) {
+            errors.add("expirationDate", EXPIRATION_PAST_MESSAGE);
+        }
+
+        return errors;
+    }
+
     private String validateDescription(String description) {
         if (description == null || description.isBlank()) {
-            throw new InvalidCupomException("Descrição não pode ser nula");
+            throw new InvalidCupomException(DESCRIPTION_MESSAGE);
         }
         return description;
     }
 
     private LocalDateTime validateExpirationDate(LocalDateTime expirationDate) {
+        if (expirationDate == null) {
+            throw new InvalidCupomException(EXPIRATION_NULL_MESSAGE);
+        }
         if (expirationDate.isBefore(LocalDateTime.now())) {
-            throw new InvalidCupomException("Data de expiração não pode ser no passado");
+            throw new InvalidCupomException(EXPIRATION_PAST_MESSAGE);
         }
         return expirationDate;
     }
@@ -62,10 +91,19 @@ public class Cupom {
         return this.deletedAt != null;
     }
 
+    public boolean isExpired(LocalDateTime now) {
+        return !this.expirationDate.isAfter(now);
+    }
+
+    public CupomStatus statusAt(LocalDateTime now) {
+        return CupomStatus.of(isDeleted(), isExpired(now), this.published);
+    }
+
     public Long getId() { return id; }
     public String getCode() { return code.getValue(); }
     public String getDescription() { return description; }
     public BigDecimal getDiscountValue() { return discountValue.getValue(); }
+    public Discount discount() { return discountValue; }
     public LocalDateTime getExpirationDate() { return expirationDate; }
     public boolean isPublished() { return published; }
     public LocalDateTime getDeletedAt() { return deletedAt; }
@@ -0,0 +1,43 @@
+package com.example.demo.domain;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+// Evento de alteração de cupom gravado no outbox. sequence é atribuída na persistência.
+public record CupomChange(
+        Long sequence,
+        CupomChangeType type,
+        Long cupomId,
+        String code,
+        String description,
+        BigDecimal discountValue,
+        LocalDateTime expirationDate,
+        boolean published,
+        LocalDateTime occurredAt
+) {
+    public static CupomChange created(Cupom cupom) {
+        return of(CupomChangeType.CREATED, cupom);
+    }
+
+    public static CupomChange deleted(Cupom cupom) {
+        return of(CupomChangeType.DELETED, cupom);
+    }
+
+    public static CupomChange archived(Cupom cupom) {
+        return of(CupomChangeType.ARCHIVED, cupom);
+    }
+
+    private static CupomChange of(CupomChangeType type, Cupom cupom) {
+        return new CupomChange(
+                null,
+                type,
+                cupom.getId(),
+                cupom.getCode(),
+                cupom.getDescription(),
+                cupom.getDiscountValue(),
+                cupom.getExpirationDate(),
+                cupom.isPublished(),
+                LocalDateTime.now()
+        );
+    }
+}
@@ -0,0 +1,8 @@
+package com.example.demo.domain;
+
+import java.util.List;
+
+public interface CupomChangeListener {
+    // Recebe as alterações já confirmadas, em ordem de sequence, vindas de qualquer nó
+    void onChanges(List<CupomChange> changes);
+}
@@ -0,0 +1,10 @@
+package com.example.demo.domain;
+
+import java.util.List;
+
+public interface CupomChangeLog {
+    // Deve participar da mesma transação da alteração do cupom
+    void append(CupomChange change);
+
+    void appendAll(List<CupomChange> changes);
+}
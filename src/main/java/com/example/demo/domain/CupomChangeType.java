@@ -0,0 +1,13 @@
+package com.example.demo.domain;
+
+public enum CupomChangeType {
+    CREATED,
+    DELETED,
+    // Movido de `cupons` para `cupons_archive` pelo arquivamento
+    ARCHIVED;
+
+    // O cupom deixou de existir em `cupons` (ou deixou de contar como existente)
+    public boolean removesCupom() {
+        return this != CREATED;
+    }
+}
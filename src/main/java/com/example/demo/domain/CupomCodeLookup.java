@@ -0,0 +1,8 @@
+package com.example.demo.domain;
+
+import java.util.List;
+
+public interface CupomCodeLookup {
+    // Cupons não deletados cujo código começa com o prefixo normalizado, em ordem de código
+    List<CodePrefixMatch> findByCodePrefix(String normalizedPrefix, int limit);
+}
@@ -0,0 +1,8 @@
+package com.example.demo.domain;
+
+public enum CupomCreateMode {
+    // Consulta existsByCode antes do insert
+    CHECK_FIRST,
+    // Vai direto ao insert e usa a constraint uk_cupom_code para detectar duplicidade
+    INSERT_FIRST
+}
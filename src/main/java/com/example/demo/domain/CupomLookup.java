@@ -0,0 +1,14 @@
+package com.example.demo.domain;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+// Leituras por código/id dos caminhos quentes (validação e aplicação de desconto).
+// Implementações podem responder de estruturas locais e recorrer ao CupomRepository.
+public interface CupomLookup {
+
+    Optional<CupomState> findById(long id);
+
+    List<CupomState> findAllByCodes(Collection<String> codes);
+}
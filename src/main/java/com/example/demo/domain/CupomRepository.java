@@ -1,12 +1,27 @@
 package com.example.demo.domain;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 public interface CupomRepository {
     Cupom save(Cupom cupom);
+    // Insere em lote ignorando códigos que já existem; retorna apenas os inseridos, com id
+    List<Cupom> insertAllSkippingExisting(List<Cupom> cupons);
     Optional<Cupom> findById(Long id);
     Optional<Cupom> findByCode(String code);
+    List<Cupom> findAllByCodes(Collection<String> codes);
     boolean existsByCode(String code);
-    boolean existsByCodeWithLock(String code);
+    // Paginação por chave (ordem de código) sobre o índice uk_cupom_code
+    List<String> findCodesAfter(String afterCode, int limit);
+    // Mesma paginação, com o cupom completo (inclui deletados)
+    List<Cupom> findAllAfterCode(String afterCode, int limit);
+    // Maior id existente, 0 sem cupons
+    long findMaxId();
+    // Cupons com id em [fromId, toId), inclui deletados
+    List<Cupom> findAllByIdRange(long fromId, long toId);
+    // Publicados, não deletados e ainda válidos em `now`, expirando antes de `before`, por expiração crescente
+    List<Cupom> findActiveExpiringBefore(LocalDateTime now, LocalDateTime before, int limit);
 
 }
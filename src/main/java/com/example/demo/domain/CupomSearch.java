@@ -0,0 +1,8 @@
+package com.example.demo.domain;
+
+import java.util.List;
+
+public interface CupomSearch {
+    // Cupons não deletados cuja descrição contém os trigramas da busca, do mais relevante ao menos
+    List<CupomSearchHit> search(String normalizedQuery, int limit);
+}
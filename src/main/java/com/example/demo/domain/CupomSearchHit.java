@@ -0,0 +1,4 @@
+package com.example.demo.domain;
+
+// score: fração dos trigramas da busca presentes na descrição (0..1]
+public record CupomSearchHit(long id, double score) { }
@@ -0,0 +1,35 @@
+package com.example.demo.domain;
+
+import java.time.LocalDateTime;
+
+// O necessário para validar um código e aplicar o desconto, sem a descrição:
+// cabe em registros de tamanho fixo (snapshot em disco, memória fora do heap)
+public record CupomState(
+        long id,
+        String code,
+        long discountCents,
+        LocalDateTime expirationDate,
+        boolean published,
+        boolean deleted,
+        long version
+) {
+    public static CupomState of(Cupom cupom) {
+        return new CupomState(
+                cupom.getId(),
+                cupom.getCode(),
+                cupom.discount().getCents(),
+                cupom.getExpirationDate(),
+                cupom.isPublished(),
+                cupom.isDeleted(),
+                cupom.getVersion() != null ? cupom.getVersion() : 0L
+        );
+    }
+
+    public CupomStatus statusAt(LocalDateTime now) {
+        return CupomStatus.of(this.deleted, !this.expirationDate.isAfter(now), this.published);
+    }
+
+    public long applyTo(long totalCents) {
+        return Discount.apply(this.discountCents, totalCents);
+    }
+}
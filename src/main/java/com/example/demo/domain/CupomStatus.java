@@ -0,0 +1,20 @@
+package com.example.demo.domain;
+
+public enum CupomStatus {
+    UNKNOWN,
+    DELETED,
+    EXPIRED,
+    UNPUBLISHED,
+    VALID;
+
+    // Precedência: deletado, depois expirado, depois não publicado
+    public static CupomStatus of(boolean deleted, boolean expired, boolean published) {
+        if (deleted) {
+            return DELETED;
+        }
+        if (expired) {
+            return EXPIRED;
+        }
+        return published ? VALID : UNPUBLISHED;
+    }
+}
@@ -4,28 +4,105 @@ import com.example.demo.domain.exceptions.InvalidDiscountException;
 
 import java.math.BigDecimal;
 
-public class Discount {
+// Valor em centavos num long: comparações e cálculos não alocam. BigDecimal só
+// na entrada (DTO) e na saída (resposta e coluna NUMERIC(10, 2)).
+public final class Discount implements Comparable<Discount> {
 
-    private static final BigDecimal MIN_VALUE = new BigDecimal("0.5");
-    private final BigDecimal value;
+    static final int SCALE = 2;
+    static final long MIN_CENTS = 50;
+    // Maior valor da coluna discount_value NUMERIC(10, 2)
+    static final long MAX_CENTS = 99_999_999_99L;
+
+    private static final BigDecimal MIN_VALUE = BigDecimal.valueOf(MIN_CENTS, SCALE);
+    private static final BigDecimal MAX_VALUE = BigDecimal.valueOf(MAX_CENTS, SCALE);
+    private static final String NULL_MESSAGE = "Valor do desconto não pode ser nulo";
+    private static final String MIN_MESSAGE = "Valor do desconto deve ser no mínimio 0.5";
+    private static final String MAX_MESSAGE = "Valor do desconto deve ser no máximo " + MAX_VALUE;
+    private static final String SCALE_MESSAGE = "Valor do desconto deve ter no máximo 2 casas decimais";
+
+    private final long cents;
 
 
     public Discount(BigDecimal value) {
-        this.validateValue(value);
-        this.value = value;
+        String error = check(value);
+        if (error != null) {
+            throw new InvalidDiscountException(error);
+        }
+        this.cents = value.movePointRight(SCALE).longValue();
+    }
+
+    private Discount(long cents) {
+        this.cents = cents;
+    }
+
+    public static Discount ofCents(long cents) {
+        if (cents < MIN_CENTS) {
+            throw new InvalidDiscountException(MIN_MESSAGE);
+        }
+        if (cents > MAX_CENTS) {
+            throw new InvalidDiscountException(MAX_MESSAGE);
+        }
+        return new Discount(cents);
     }
 
-    private void validateValue(BigDecimal value){
-        if(value == null){
-            throw new InvalidDiscountException("Valor do desconto não pode ser nulo");
+    public static void validate(BigDecimal value, ValidationErrors errors) {
+        String error = check(value);
+        if (error != null) {
+            errors.add("discountValue", error);
         }
+    }
 
-        if(value.compareTo(MIN_VALUE)  < 0 ){
-            throw new InvalidDiscountException("Valor do desconto deve ser no mínimio " + MIN_VALUE );
+    // A conversão para centavos só é feita depois daqui, então nunca perde casas nem estoura
+    private static String check(BigDecimal value) {
+        if (value == null) {
+            return NULL_MESSAGE;
+        }
+        if (value.compareTo(MIN_VALUE) < 0) {
+            return MIN_MESSAGE;
         }
+        if (value.compareTo(MAX_VALUE) > 0) {
+            return MAX_MESSAGE;
+        }
+        if (value.scale() > SCALE && value.stripTrailingZeros().scale() > SCALE) {
+            return SCALE_MESSAGE;
+        }
+        return null;
+    }
+
+    public long getCents() {
+        return cents;
     }
 
     public BigDecimal getValue() {
-        return value;
+        return BigDecimal.valueOf(cents, SCALE);
+    }
+
+    public long applyTo(long totalCents) {
+        return apply(this.cents, totalCents);
+    }
+
+    // Total com o desconto aplicado, sem ficar negativo
+    public static long apply(long discountCents, long totalCents) {
+        return Math.max(0, totalCents - discountCents);
+    }
+
+    @Override
+    public int compareTo(Discount other) {
+        return Long.compare(this.cents, other.cents);
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        return other instanceof Discount discount && discount.cents == this.cents;
+    }
+
+    @Override
+    public int hashCode() {
+        return Long.hashCode(this.cents);
+    }
+
+    @Override
+    public String toString() {
+        return getValue().toPlainString();
     }
 }
@@ -0,0 +1,31 @@
+package com.example.demo.domain;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+// Acumula os erros de validação sem lançar exceções (nem capturar stack trace)
+public class ValidationErrors {
+
+    private final List<FieldError> errors = new ArrayList<>(4);
+
+    public void add(String field, String message) {
+        this.errors.add(new FieldError(field, message));
+    }
+
+    public boolean hasErrors() {
+        return !this.errors.isEmpty();
+    }
+
+    public List<FieldError> getErrors() {
+        return List.copyOf(this.errors);
+    }
+
+    public String getMessage() {
+        return this.errors.stream()
+                .map(error -> error.field() + ": " + error.message())
+                .collect(Collectors.joining(", "));
+    }
+
+    public record FieldError(String field, String message) { }
+}
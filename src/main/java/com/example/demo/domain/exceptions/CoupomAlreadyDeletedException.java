@@ -2,6 +2,6 @@ package com.example.demo.domain.exceptions;
 
 public class CoupomAlreadyDeletedException extends RuntimeException {
     public CoupomAlreadyDeletedException(String message) {
-        super(message);
+        super(message, null, false, false);
     }
 }
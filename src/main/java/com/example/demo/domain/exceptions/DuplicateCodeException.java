@@ -0,0 +1,7 @@
+package com.example.demo.domain.exceptions;
+
+public class DuplicateCodeException extends RuntimeException {
+    public DuplicateCodeException(String message) {
+        super(message, null, false, false);
+    }
+}
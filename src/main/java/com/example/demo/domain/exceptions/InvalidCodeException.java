@@ -2,6 +2,6 @@ package com.example.demo.domain.exceptions;
 
 public class InvalidCodeException extends RuntimeException {
     public InvalidCodeException(String message) {
-        super(message);
+        super(message, null, false, false);
     }
 }
@@ -2,6 +2,6 @@ package com.example.demo.domain.exceptions;
 
 public class InvalidCupomException extends RuntimeException {
     public InvalidCupomException(String message) {
-        super(message);
+        super(message, null, false, false);
     }
 }
@@ -2,6 +2,6 @@ package com.example.demo.domain.exceptions;
 
 public class InvalidDiscountException extends RuntimeException {
     public InvalidDiscountException(String message) {
-        super(message);
+        super(message, null, false, false);
     }
 }
@@ -0,0 +1,20 @@
+package com.example.demo.infrastructure.archive;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "cupom.archive")
+public record ArchiveProperties(
+        Duration retention,
+        Integer batchSize,
+        Duration pause,
+        Integer maxBatchesPerRun
+) {
+    public ArchiveProperties {
+        retention = retention == null ? Duration.ofDays(30) : retention;
+        batchSize = batchSize == null ? 500 : batchSize;
+        pause = pause == null ? Duration.ofMillis(100) : pause;
+        maxBatchesPerRun = maxBatchesPerRun == null ? 1_000 : maxBatchesPerRun;
+    }
+}
@@ -0,0 +1,156 @@
+package com.example.demo.infrastructure.archive;
+
+import com.example.demo.domain.Cupom;
+import com.example.demo.domain.CupomChange;
+import com.example.demo.domain.CupomChangeLog;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+// Move para `cupons_archive` os cupons deletados ou expirados há mais que a retenção, em lotes
+// pequenos percorridos por chave (data, id), cada um na sua transação e com pausa entre eles:
+// nenhum lock longo em `cupons` e o índice uk_cupom_code consultado a cada criação fica enxuto.
+// Cada cupom arquivado gera um ARCHIVED no outbox para que os índices em memória o removam.
+@Component
+@ConditionalOnProperty(name = "cupom.archive.enabled", havingValue = "true")
+@ConditionalOnProperty(name = "cupom.sharding.enabled", havingValue = "false", matchIfMissing = true)
+public class CupomArchiver {
+
+    private static final Logger log = LoggerFactory.getLogger(CupomArchiver.class);
+
+    private static final String COLUMNS =
+            "id, code, description, discount_value, expiration_date, published, deleted_at, version";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final CupomChangeLog changeLog;
+    private final ArchiveProperties properties;
+
+    public CupomArchiver(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager, CupomChangeLog changeLog, ArchiveProperties properties) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.changeLog = changeLog;
+        this.properties = properties;
+    }
+
+    @Scheduled(fixedDelayString = "${cupom.archive.interval-ms:3600000}")
+    public void run() {
+        long start = System.nanoTime();
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime cutoff = now.minus(this.properties.retention());
+
+        int archived = this.archive("expiration_date", cutoff, now);
+        archived += this.archive("deleted_at", cutoff, now);
+        if (archived > 0) {
+            log.info("Arquivamento: {} cupons movidos para cupons_archive em {} ms", archived, (System.nanoTime() - start) / 1_000_000);
+        }
+    }
+
+    // column < cutoff, em ordem de (column, id); atendido por idx_cupons_expiration / idx_cupons_deleted_at
+    int archive(String column, LocalDateTime cutoff, LocalDateTime now) {
+        String select = "SELECT " + COLUMNS + " FROM cupons WHERE " + column + " < ? "
+                + "AND (" + column + " > ? OR (" + column + " = ? AND id > ?)) "
+                + "ORDER BY " + column + ", id LIMIT ?";
+        Timestamp lastValue = Timestamp.valueOf(LocalDateTime.of(1, 1, 1, 0, 0));
+        long lastId = 0;
+        int archived = 0;
+
+        for (int batch = 0; batch < this.properties.maxBatchesPerRun(); batch++) {
+            List<Cupom> candidates = this.jdbcTemplate.query(select, ROW_MAPPER,
+                    Timestamp.valueOf(cutoff), lastValue, lastValue, lastId, this.properties.batchSize());
+            if (candidates.isEmpty()) {
+                break;
+            }
+            Integer moved = this.transactionTemplate.execute(status -> this.move(candidates, now));
+            archived += moved != null ? moved : 0;
+
+            // O cursor avança mesmo sobre os que mudaram no meio e ficaram para a próxima execução
+            Cupom last = candidates.get(candidates.size() - 1);
+            lastValue = Timestamp.valueOf(column.equals("deleted_at") ? last.getDeletedAt() : last.getExpirationDate());
+            lastId = last.getId();
+            if (candidates.size() < this.properties.batchSize() || !this.pause()) {
+                break;
+            }
+        }
+        return archived;
+    }
+
+    // O delete confere a version: um cupom alterado depois da leitura fica em `cupons`
+    private int move(List<Cupom> candidates, LocalDateTime now) {
+        int[] deleted = this.jdbcTemplate.batchUpdate(
+                "DELETE FROM cupons WHERE id = ? AND version IS NOT DISTINCT FROM ?",
+                candidates,
+                candidates.size(),
+                (ps, cupom) -> {
+                    ps.setLong(1, cupom.getId());
+                    ps.setObject(2, cupom.getVersion(), Types.BIGINT);
+                }
+        )[0];
+
+        List<Cupom> moved = new ArrayList<>(candidates.size());
+        for (int i = 0; i < deleted.length; i++) {
+            if (deleted[i] != 0) {
+                moved.add(candidates.get(i));
+            }
+        }
+        if (moved.isEmpty()) {
+            return 0;
+        }
+
+        this.jdbcTemplate.batchUpdate(
+                "INSERT INTO cupons_archive (" + COLUMNS + ", archived_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)",
+                moved,
+                moved.size(),
+                (ps, cupom) -> {
+                    ps.setLong(1, cupom.getId());
+                    ps.setString(2, cupom.getCode());
+                    ps.setString(3, cupom.getDescription());
+                    ps.setBigDecimal(4, cupom.getDiscountValue());
+                    ps.setTimestamp(5, Timestamp.valueOf(cupom.getExpirationDate()));
+                    ps.setBoolean(6, cupom.isPublished());
+                    ps.setTimestamp(7, cupom.getDeletedAt() != null ? Timestamp.valueOf(cupom.getDeletedAt()) : null);
+                    ps.setObject(8, cupom.getVersion(), Types.BIGINT);
+                    ps.setTimestamp(9, Timestamp.valueOf(now));
+                }
+        );
+        this.changeLog.appendAll(moved.stream().map(CupomChange::archived).toList());
+        return moved.size();
+    }
+
+    private boolean pause() {
+        try {
+            Thread.sleep(this.properties.pause());
+            return true;
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private static final RowMapper<Cupom> ROW_MAPPER = (rs, rowNum) -> {
+        Timestamp deletedAt = rs.getTimestamp("deleted_at");
+        Cupom cupom = new Cupom(
+                rs.getString("code"),
+                rs.getString("description"),
+                rs.getBigDecimal("discount_value"),
+                rs.getTimestamp("expiration_date").toLocalDateTime(),
+                rs.getBoolean("published"),
+                deletedAt != null ? deletedAt.toLocalDateTime() : null,
+                rs.getObject("version", Long.class)
+        );
+        cupom.setId(rs.getLong("id"));
+        return cupom;
+    };
+}
@@ -0,0 +1,13 @@
+package com.example.demo.infrastructure.configs;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+// cupom.scheduling.enabled=false desliga poller do outbox, podas e demais tarefas periódicas
+// (usado pelos benchmarks de persistência, que medem só o banco)
+@Configuration
+@EnableScheduling
+@ConditionalOnProperty(name = "cupom.scheduling.enabled", havingValue = "true", matchIfMissing = true)
+public class SchedulingConfig {
+}
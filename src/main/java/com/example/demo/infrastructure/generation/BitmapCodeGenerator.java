@@ -0,0 +1,147 @@
+package com.example.demo.infrastructure.generation;
+
+import com.example.demo.domain.CodeCupom;
+import com.example.demo.domain.CodeGenerator;
+import com.example.demo.domain.CupomChange;
+import com.example.demo.domain.CupomChangeListener;
+import com.example.demo.domain.CupomChangeType;
+import com.example.demo.domain.CupomRepository;
+import org.roaringbitmap.RoaringBitmap;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.security.SecureRandom;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+// Gera códigos [A-Z0-9]{6} aleatórios. Cada código vira uma chave base 36 (36^6 < 2^32)
+// e os já usados ficam num RoaringBitmap, carregado uma vez do banco e mantido pelo outbox.
+// Como no CupomIndexMaintainer, a carga roda no ApplicationReadyEvent, antes de o nó receber tráfego,
+// e não na thread do primeiro /generate.
+@Component
+public class BitmapCodeGenerator implements CodeGenerator, CupomChangeListener {
+
+    static final String ALPHABET = "ABCDEFGHIJKLMNOPQRSTUVWXYZ0123456789";
+    static final long KEY_SPACE = pow(ALPHABET.length(), CodeCupom.LENGTH);
+
+    private final CupomRepository cupomRepository;
+    private final int loadPageSize;
+    private final Random random;
+
+    private RoaringBitmap usedKeys;
+
+    @Autowired
+    public BitmapCodeGenerator(CupomRepository cupomRepository, @Value("${cupom.generation.load-page-size:10000}") int loadPageSize) {
+        this(cupomRepository, loadPageSize, new SecureRandom());
+    }
+
+    BitmapCodeGenerator(CupomRepository cupomRepository, int loadPageSize, Random random) {
+        this.cupomRepository = cupomRepository;
+        this.loadPageSize = loadPageSize;
+        this.random = random;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void load() {
+        this.usedKeys();
+    }
+
+    @Override
+    public synchronized List<String> nextUniqueCodes(int count) {
+        RoaringBitmap used = this.usedKeys();
+        if (count > KEY_SPACE - used.getLongCardinality()) {
+            throw new IllegalStateException("Não há códigos disponíveis suficientes");
+        }
+
+        List<String> codes = new ArrayList<>(count);
+        while (codes.size() < count) {
+            int key = (int) this.random.nextLong(KEY_SPACE);
+            // checkedAdd devolve false se a chave já estava marcada. Chaves de um lote que
+            // falhar depois ficam marcadas mesmo assim: só se perde o código, nunca a unicidade
+            if (used.checkedAdd(key)) {
+                codes.add(decode(key));
+            }
+        }
+        return codes;
+    }
+
+    @Override
+    public synchronized long remainingCapacity() {
+        return KEY_SPACE - this.usedKeys().getLongCardinality();
+    }
+
+    @Override
+    public synchronized void onChanges(List<CupomChange> changes) {
+        // Ainda não carregado: a carga inicial lerá o banco já com essas alterações
+        if (this.usedKeys == null) {
+            return;
+        }
+        for (CupomChange change : changes) {
+            long key = encode(change.code());
+            if (change.type() == CupomChangeType.CREATED && key >= 0) {
+                this.usedKeys.add((int) key);
+            }
+        }
+    }
+
+    // Cupons deletados mantêm o código na tabela, então suas chaves nunca são liberadas;
+    // as de cupons arquivados só são liberadas na próxima carga
+    private RoaringBitmap usedKeys() {
+        if (this.usedKeys == null) {
+            RoaringBitmap loaded = new RoaringBitmap();
+            String after = null;
+            List<String> page;
+            do {
+                page = this.cupomRepository.findCodesAfter(after, this.loadPageSize);
+                for (String code : page) {
+                    long key = encode(code);
+                    if (key >= 0) {
+                        loaded.add((int) key);
+                    }
+                }
+                after = page.isEmpty() ? after : page.get(page.size() - 1);
+            } while (page.size() == this.loadPageSize);
+            loaded.runOptimize();
+            this.usedKeys = loaded;
+        }
+        return this.usedKeys;
+    }
+
+    // -1 para códigos fora do alfabeto gerado (ex.: minúsculas), que nunca colidem com os gerados
+    static long encode(String code) {
+        if (code == null || code.length() != CodeCupom.LENGTH) {
+            return -1;
+        }
+        long key = 0;
+        for (int i = 0; i < code.length(); i++) {
+            int digit = ALPHABET.indexOf(code.charAt(i));
+            if (digit < 0) {
+                return -1;
+            }
+            key = key * ALPHABET.length() + digit;
+        }
+        return key;
+    }
+
+    static String decode(int key) {
+        long value = Integer.toUnsignedLong(key);
+        char[] chars = new char[CodeCupom.LENGTH];
+        for (int i = chars.length - 1; i >= 0; i--) {
+            chars[i] = ALPHABET.charAt((int) (value % ALPHABET.length()));
+            value /= ALPHABET.length();
+        }
+        return new String(chars);
+    }
+
+    private static long pow(int base, int exponent) {
+        long result = 1;
+        for (int i = 0; i < exponent; i++) {
+            result *= base;
+        }
+        return result;
+    }
+}
@@ -0,0 +1,262 @@
+package com.example.demo.infrastructure.index;
+
+import com.example.demo.domain.CodeCupom;
+import com.example.demo.domain.CodePrefixMatch;
+import com.example.demo.domain.CupomChange;
+import com.example.demo.domain.CupomChangeType;
+import com.example.demo.domain.CupomCodeLookup;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+// Códigos empacotados (PackedCode) num array ordenado: um prefixo vira um intervalo de chaves achado por busca binária.
+// Inserções vão para um buffer ordenado (também primitivo) e remoções marcam a posição; ambos são
+// incorporados ao array quando passam de MERGE_THRESHOLD. Na carga inicial as linhas só são
+// acumuladas e o array é montado com uma ordenação no fim.
+@Component
+public class CodePrefixIndex implements CupomIndex, CupomCodeLookup {
+
+    private static final int MERGE_THRESHOLD = 4096;
+    // Na carga, chave (36 bits: 62^6 < 2^36) e posição da linha vão juntas num long ordenável
+    private static final int LOAD_POSITION_BITS = 27;
+    private static final long LOAD_POSITION_MASK = (1L << LOAD_POSITION_BITS) - 1;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private long[] keys = new long[0];
+    private long[] ids = new long[0];
+    private final BitSet removed = new BitSet();
+    private int removedCount;
+    private long[] pendingKeys = new long[MERGE_THRESHOLD];
+    private long[] pendingIds = new long[MERGE_THRESHOLD];
+    private int pendingSize;
+
+    // Linhas da carga inicial, na ordem de chegada; os loaders só disputam este monitor
+    private final Object loadLock = new Object();
+    private long[] loadKeys = new long[0];
+    private long[] loadIds = new long[0];
+    private int loadSize;
+
+    @Override
+    public void apply(CupomChange change) {
+        long key = PackedCode.encode(change.code());
+        if (key < 0 || change.cupomId() == null) {
+            return;
+        }
+
+        this.lock.writeLock().lock();
+        try {
+            int index = Arrays.binarySearch(this.keys, key);
+            boolean live = index >= 0 && !this.removed.get(index);
+            int pending = Arrays.binarySearch(this.pendingKeys, 0, this.pendingSize, key);
+            long cupomId = change.cupomId();
+            // Um código arquivado pode voltar com outro id: o CREATED mais recente vale, e
+            // remoções só apagam a entrada se ela ainda for do mesmo cupom
+            if (change.type() == CupomChangeType.CREATED) {
+                if (live) {
+                    this.ids[index] = cupomId;
+                } else if (pending >= 0) {
+                    this.pendingIds[pending] = cupomId;
+                } else {
+                    this.insertPending(-pending - 1, key, cupomId);
+                }
+            } else if (change.type().removesCupom()) {
+                if (pending >= 0) {
+                    if (this.pendingIds[pending] == cupomId) {
+                        this.removePending(pending);
+                    }
+                } else if (live && this.ids[index] == cupomId) {
+                    this.removed.set(index);
+                    this.removedCount++;
+                }
+            }
+            if (this.pendingSize + this.removedCount >= MERGE_THRESHOLD) {
+                this.merge();
+            }
+        } finally {
+            this.lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void load(CupomChange change) {
+        long key = PackedCode.encode(change.code());
+        if (key < 0 || change.cupomId() == null || change.type() != CupomChangeType.CREATED) {
+            return;
+        }
+        synchronized (this.loadLock) {
+            if (this.loadSize == this.loadKeys.length) {
+                int capacity = Math.max(1024, this.loadKeys.length * 2);
+                this.loadKeys = Arrays.copyOf(this.loadKeys, capacity);
+                this.loadIds = Arrays.copyOf(this.loadIds, capacity);
+            }
+            this.loadKeys[this.loadSize] = key;
+            this.loadIds[this.loadSize++] = change.cupomId();
+        }
+    }
+
+    @Override
+    public void finishLoad() {
+        long[] sorted;
+        long[] rowIds;
+        synchronized (this.loadLock) {
+            if (this.loadSize > LOAD_POSITION_MASK + 1) {
+                throw new IllegalStateException("Carga do índice de prefixos acima de " + (LOAD_POSITION_MASK + 1) + " códigos");
+            }
+            sorted = new long[this.loadSize];
+            for (int i = 0; i < this.loadSize; i++) {
+                sorted[i] = this.loadKeys[i] << LOAD_POSITION_BITS | i;
+            }
+            rowIds = this.loadIds;
+            this.loadKeys = new long[0];
+            this.loadIds = new long[0];
+            this.loadSize = 0;
+        }
+        Arrays.sort(sorted);
+
+        // `code` é único em `cupons`; se repetir, vale a última linha lida
+        long[] loadedKeys = new long[sorted.length];
+        long[] loadedIds = new long[sorted.length];
+        int size = 0;
+        for (long packed : sorted) {
+            long key = packed >>> LOAD_POSITION_BITS;
+            if (size > 0 && loadedKeys[size - 1] == key) {
+                size--;
+            }
+            loadedKeys[size] = key;
+            loadedIds[size++] = rowIds[(int) (packed & LOAD_POSITION_MASK)];
+        }
+
+        // A carga sempre vem depois de clear: o array montado substitui o conteúdo
+        this.lock.writeLock().lock();
+        try {
+            this.keys = Arrays.copyOf(loadedKeys, size);
+            this.ids = Arrays.copyOf(loadedIds, size);
+            this.removed.clear();
+            this.removedCount = 0;
+            this.pendingSize = 0;
+        } finally {
+            this.lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void clear() {
+        this.lock.writeLock().lock();
+        try {
+            this.keys = new long[0];
+            this.ids = new long[0];
+            this.removed.clear();
+            this.removedCount = 0;
+            this.pendingSize = 0;
+        } finally {
+            this.lock.writeLock().unlock();
+        }
+    }
+
+    public int size() {
+        this.lock.readLock().lock();
+        try {
+            return this.keys.length - this.removedCount + this.pendingSize;
+        } finally {
+            this.lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public List<CodePrefixMatch> findByCodePrefix(String normalizedPrefix, int limit) {
+        long low = PackedCode.encodePrefix(normalizedPrefix);
+        if (low < 0 || limit <= 0) {
+            return List.of();
+        }
+        long high = low + pow(PackedCode.RADIX, CodeCupom.LENGTH - normalizedPrefix.length());
+
+        this.lock.readLock().lock();
+        try {
+            List<CodePrefixMatch> matches = new ArrayList<>(Math.min(limit, 64));
+            int index = lowerBound(this.keys, this.keys.length, low);
+            int pending = lowerBound(this.pendingKeys, this.pendingSize, low);
+
+            // Merge das duas fontes ordenadas até completar o limite
+            while (matches.size() < limit) {
+                while (index < this.keys.length && this.keys[index] < high && this.removed.get(index)) {
+                    index++;
+                }
+                boolean fromArray = index < this.keys.length && this.keys[index] < high;
+                boolean fromPending = pending < this.pendingSize && this.pendingKeys[pending] < high;
+                if (!fromArray && !fromPending) {
+                    break;
+                }
+                if (fromArray && (!fromPending || this.keys[index] < this.pendingKeys[pending])) {
+                    matches.add(new CodePrefixMatch(PackedCode.decode(this.keys[index]), this.ids[index]));
+                    index++;
+                } else {
+                    matches.add(new CodePrefixMatch(PackedCode.decode(this.pendingKeys[pending]), this.pendingIds[pending]));
+                    pending++;
+                }
+            }
+            return matches;
+        } finally {
+            this.lock.readLock().unlock();
+        }
+    }
+
+    private void insertPending(int at, long key, long id) {
+        System.arraycopy(this.pendingKeys, at, this.pendingKeys, at + 1, this.pendingSize - at);
+        System.arraycopy(this.pendingIds, at, this.pendingIds, at + 1, this.pendingSize - at);
+        this.pendingKeys[at] = key;
+        this.pendingIds[at] = id;
+        this.pendingSize++;
+    }
+
+    private void removePending(int at) {
+        System.arraycopy(this.pendingKeys, at + 1, this.pendingKeys, at, this.pendingSize - at - 1);
+        System.arraycopy(this.pendingIds, at + 1, this.pendingIds, at, this.pendingSize - at - 1);
+        this.pendingSize--;
+    }
+
+    private void merge() {
+        int size = this.keys.length - this.removedCount + this.pendingSize;
+        long[] mergedKeys = new long[size];
+        long[] mergedIds = new long[size];
+
+        int index = 0;
+        int pending = 0;
+        int out = 0;
+        while (index < this.keys.length || pending < this.pendingSize) {
+            if (index < this.keys.length && this.removed.get(index)) {
+                index++;
+            } else if (index < this.keys.length
+                    && (pending == this.pendingSize || this.keys[index] < this.pendingKeys[pending])) {
+                mergedKeys[out] = this.keys[index];
+                mergedIds[out++] = this.ids[index++];
+            } else {
+                mergedKeys[out] = this.pendingKeys[pending];
+                mergedIds[out++] = this.pendingIds[pending++];
+            }
+        }
+
+        this.keys = mergedKeys;
+        this.ids = mergedIds;
+        this.removed.clear();
+        this.removedCount = 0;
+        this.pendingSize = 0;
+    }
+
+    private static int lowerBound(long[] keys, int size, long key) {
+        int index = Arrays.binarySearch(keys, 0, size, key);
+        return index >= 0 ? index : -index - 1;
+    }
+
+    private static long pow(int base, int exponent) {
+        long result = 1;
+        for (int i = 0; i < exponent; i++) {
+            result *= base;
+        }
+        return result;
+    }
+}
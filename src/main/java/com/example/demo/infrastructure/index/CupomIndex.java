@@ -0,0 +1,22 @@
+package com.example.demo.infrastructure.index;
+
+import com.example.demo.domain.CupomChange;
+
+// Estrutura em memória derivada de `cupons`, carregada pelo CupomIndexMaintainer
+// e mantida pelo feed do outbox. apply deve ser idempotente: a carga inicial e o
+// feed podem entregar o mesmo cupom. Durante a carga apply é chamado por várias threads.
+public interface CupomIndex {
+
+    void apply(CupomChange change);
+
+    // Carga inicial, sempre depois de clear e com vários loaders em paralelo: os cupons chegam
+    // por load e finishLoad é chamado uma vez no fim. Por padrão, o mesmo que apply.
+    default void load(CupomChange change) {
+        this.apply(change);
+    }
+
+    default void finishLoad() {
+    }
+
+    void clear();
+}
@@ -0,0 +1,33 @@
+package com.example.demo.infrastructure.index;
+
+import org.springframework.boot.health.contributor.Health;
+import org.springframework.boot.health.contributor.HealthIndicator;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+// Fora de serviço até a primeira carga dos índices; incluído no grupo readiness
+@Component("cupomIndex")
+@ConditionalOnProperty(name = "cupom.index.enabled", havingValue = "true", matchIfMissing = true)
+public class CupomIndexHealthIndicator implements HealthIndicator {
+
+    private final CupomIndexMaintainer maintainer;
+
+    public CupomIndexHealthIndicator(CupomIndexMaintainer maintainer) {
+        this.maintainer = maintainer;
+    }
+
+    @Override
+    public Health health() {
+        CupomIndexMaintainer.LoadReport report = this.maintainer.report();
+        if (report == null) {
+            return Health.outOfService().withDetail("loaded", false).build();
+        }
+        return Health.up()
+                .withDetail("loaded", true)
+                .withDetail("rows", report.rows())
+                .withDetail("durationMs", report.durationMs())
+                .withDetail("rowsPerSecond", report.rowsPerSecond())
+                .withDetail("workers", report.workers())
+                .build();
+    }
+}
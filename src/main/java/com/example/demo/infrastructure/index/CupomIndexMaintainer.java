@@ -0,0 +1,139 @@
+package com.example.demo.infrastructure.index;
+
+import com.example.demo.domain.Cupom;
+import com.example.demo.domain.CupomChange;
+import com.example.demo.domain.CupomChangeListener;
+import com.example.demo.domain.CupomRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Carrega todos os CupomIndex do nó lendo `cupons` em faixas de id em paralelo
+// e depois repassa a eles as alterações recebidas do outbox.
+// A carga roda dentro do ApplicationReadyEvent: o Spring Boot só passa o readiness para
+// ACCEPTING_TRAFFIC depois que esses listeners retornam, então o nó entra no balanceador aquecido.
+@Component
+@ConditionalOnProperty(name = "cupom.index.enabled", havingValue = "true", matchIfMissing = true)
+public class CupomIndexMaintainer implements CupomChangeListener {
+
+    private static final Logger log = LoggerFactory.getLogger(CupomIndexMaintainer.class);
+
+    private final CupomRepository cupomRepository;
+    private final List<CupomIndex> indexes;
+    private final int chunkSize;
+    private final int workers;
+
+    private boolean loaded;
+    private volatile LoadReport report;
+
+    public CupomIndexMaintainer(
+            CupomRepository cupomRepository,
+            List<CupomIndex> indexes,
+            @Value("${cupom.index.load-chunk-size:10000}") int chunkSize,
+            @Value("${cupom.index.load-parallelism:4}") int parallelism,
+            @Value("${spring.datasource.hikari.maximum-pool-size:10}") int poolSize
+    ) {
+        this.cupomRepository = cupomRepository;
+        this.indexes = indexes;
+        this.chunkSize = chunkSize;
+        // Uma conexão do pool fica livre para as requisições atendidas durante a carga
+        this.workers = Math.max(1, Math.min(parallelism, poolSize - 1));
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void load() {
+        long start = System.nanoTime();
+        this.indexes.forEach(CupomIndex::clear);
+
+        long maxId = this.cupomRepository.findMaxId();
+        AtomicLong nextChunk = new AtomicLong(1);
+        AtomicLong rows = new AtomicLong();
+        AtomicInteger workerNumber = new AtomicInteger();
+
+        ExecutorService executor = Executors.newFixedThreadPool(this.workers,
+                task -> new Thread(task, "cupom-index-load-" + workerNumber.incrementAndGet()));
+        try {
+            List<Future<?>> running = new ArrayList<>(this.workers);
+            for (int i = 0; i < this.workers; i++) {
+                running.add(executor.submit(() -> this.loadChunks(nextChunk, maxId, rows)));
+            }
+            for (Future<?> worker : running) {
+                worker.get();
+            }
+            this.indexes.forEach(CupomIndex::finishLoad);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Carga dos índices de cupons interrompida", ex);
+        } catch (ExecutionException ex) {
+            throw new IllegalStateException("Falha na carga dos índices de cupons", ex.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+
+        this.loaded = true;
+        this.report = new LoadReport(rows.get(), (System.nanoTime() - start) / 1_000_000, this.workers);
+        log.info("Índices de cupons carregados: {} cupons em {} ms com {} workers ({} cupons/s)",
+                this.report.rows(), this.report.durationMs(), this.workers, this.report.rowsPerSecond());
+    }
+
+    // Cada worker pega a próxima faixa livre até passar do maior id
+    private void loadChunks(AtomicLong nextChunk, long maxId, AtomicLong rows) {
+        long from;
+        while ((from = nextChunk.getAndAdd(this.chunkSize)) <= maxId) {
+            for (Cupom cupom : this.cupomRepository.findAllByIdRange(from, from + this.chunkSize)) {
+                if (!cupom.isDeleted()) {
+                    CupomChange change = CupomChange.created(cupom);
+                    for (CupomIndex index : this.indexes) {
+                        index.load(change);
+                    }
+                    rows.incrementAndGet();
+                }
+            }
+        }
+    }
+
+    public synchronized boolean isLoaded() {
+        return this.loaded;
+    }
+
+    // null até o fim da primeira carga
+    public LoadReport report() {
+        return this.report;
+    }
+
+    @Override
+    public synchronized void onChanges(List<CupomChange> changes) {
+        // Antes da carga as alterações já estão no banco que ela vai ler
+        if (!this.loaded) {
+            return;
+        }
+        for (CupomChange change : changes) {
+            this.apply(change);
+        }
+    }
+
+    private void apply(CupomChange change) {
+        for (CupomIndex index : this.indexes) {
+            index.apply(change);
+        }
+    }
+
+    public record LoadReport(long rows, long durationMs, int workers) {
+        public long rowsPerSecond() {
+            return this.rows * 1_000 / Math.max(1, this.durationMs);
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package com.example.demo.infrastructure.index;
+
+import java.util.Arrays;
+
+// Lista de posting de um trigrama: números de documento crescentes em um int[] sem boxing
+final class IntPostings {
+
+    private int[] docs = new int[4];
+    private int size;
+
+    // Documentos são numerados em ordem de inserção, então basta anexar
+    void add(int doc) {
+        if (this.size > 0 && this.docs[this.size - 1] == doc) {
+            return;
+        }
+        if (this.size == this.docs.length) {
+            this.docs = Arrays.copyOf(this.docs, this.size + (this.size >> 1) + 1);
+        }
+        this.docs[this.size++] = doc;
+    }
+
+    boolean contains(int doc) {
+        return Arrays.binarySearch(this.docs, 0, this.size, doc) >= 0;
+    }
+
+    int size() {
+        return this.size;
+    }
+
+    int get(int index) {
+        return this.docs[index];
+    }
+
+    // mapping[doc] é o novo número do documento ou -1 se ele saiu do índice; a ordem se mantém
+    void remap(int[] mapping) {
+        int kept = 0;
+        for (int i = 0; i < this.size; i++) {
+            int mapped = mapping[this.docs[i]];
+            if (mapped >= 0) {
+                this.docs[kept++] = mapped;
+            }
+        }
+        this.size = kept;
+        if (this.docs.length > kept * 2 + 4) {
+            this.docs = Arrays.copyOf(this.docs, kept);
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package com.example.demo.infrastructure.index;
+
+import com.example.demo.domain.CodeCupom;
+
+// Código [0-9A-Za-z]{6} como long em base 62 na ordem ASCII: a ordem numérica das chaves é a
+// ordem dos códigos. Usado como chave primitiva pelos índices, snapshot e store fora do heap.
+public final class PackedCode {
+
+    public static final int RADIX = 62;
+
+    private PackedCode() {
+    }
+
+    // -1 para códigos fora de [0-9A-Za-z]{6}
+    public static long encode(String code) {
+        return code != null && code.length() == CodeCupom.LENGTH ? encodePrefix(code) : -1;
+    }
+
+    // Menor chave com o prefixo: as posições restantes valem 0 ('0')
+    public static long encodePrefix(String prefix) {
+        if (prefix == null || prefix.isEmpty() || prefix.length() > CodeCupom.LENGTH) {
+            return -1;
+        }
+        long key = 0;
+        for (int i = 0; i < CodeCupom.LENGTH; i++) {
+            int digit = i < prefix.length() ? digit(prefix.charAt(i)) : 0;
+            if (digit < 0) {
+                return -1;
+            }
+            key = key * RADIX + digit;
+        }
+        return key;
+    }
+
+    public static String decode(long key) {
+        char[] chars = new char[CodeCupom.LENGTH];
+        for (int i = chars.length - 1; i >= 0; i--) {
+            int digit = (int) (key % RADIX);
+            chars[i] = (char) (digit < 10 ? '0' + digit : digit < 36 ? 'A' + digit - 10 : 'a' + digit - 36);
+            key /= RADIX;
+        }
+        return new String(chars);
+    }
+
+    private static int digit(char c) {
+        if (c >= '0' && c <= '9') {
+            return c - '0';
+        }
+        if (c >= 'A' && c <= 'Z') {
+            return c - 'A' + 10;
+        }
+        if (c >= 'a' && c <= 'z') {
+            return c - 'a' + 36;
+        }
+        return -1;
+    }
+}
@@ -0,0 +1,108 @@
+package com.example.demo.infrastructure.index;
+
+import com.example.demo.domain.ActiveDiscount;
+import com.example.demo.domain.BestDiscounts;
+import com.example.demo.domain.CupomChange;
+import com.example.demo.domain.CupomChangeType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+
+// Cupons ativos em duas skip lists: por desconto (maior primeiro, depois id) para o top-N e
+// por expiração para a poda periódica. A leitura não bloqueia e pula os que expiraram
+// desde a última poda, então o custo é proporcional a n.
+@Component
+public class TopDiscountIndex implements CupomIndex, BestDiscounts {
+
+    private static final Comparator<ActiveDiscount> BY_DISCOUNT = Comparator
+            .comparing(ActiveDiscount::discountValue, Comparator.reverseOrder())
+            .thenComparingLong(ActiveDiscount::id);
+    private static final Comparator<ActiveDiscount> BY_EXPIRATION = Comparator
+            .comparing(ActiveDiscount::expirationDate)
+            .thenComparingLong(ActiveDiscount::id);
+
+    private final ConcurrentSkipListSet<ActiveDiscount> byDiscount = new ConcurrentSkipListSet<>(BY_DISCOUNT);
+    private final ConcurrentSkipListSet<ActiveDiscount> byExpiration = new ConcurrentSkipListSet<>(BY_EXPIRATION);
+    private final Map<Long, ActiveDiscount> byId = new ConcurrentHashMap<>();
+
+    // Escritas vêm só do CupomIndexMaintainer e da poda; o lock só as ordena entre si
+    @Override
+    public synchronized void apply(CupomChange change) {
+        if (change.cupomId() == null) {
+            return;
+        }
+        if (change.type() == CupomChangeType.CREATED) {
+            if (change.published() && change.expirationDate().isAfter(LocalDateTime.now()) && !this.byId.containsKey(change.cupomId())) {
+                this.add(new ActiveDiscount(change.cupomId(), change.code(), change.description(), change.discountValue(), change.expirationDate()));
+            }
+        } else if (change.type().removesCupom()) {
+            this.remove(this.byId.get(change.cupomId()));
+        }
+    }
+
+    @Override
+    public synchronized void clear() {
+        this.byId.clear();
+        this.byDiscount.clear();
+        this.byExpiration.clear();
+    }
+
+    public int size() {
+        return this.byId.size();
+    }
+
+    @Override
+    public List<ActiveDiscount> best(int n, LocalDateTime now) {
+        List<ActiveDiscount> best = new ArrayList<>(Math.min(n, 128));
+        Iterator<ActiveDiscount> iterator = this.byDiscount.iterator();
+        while (best.size() < n && iterator.hasNext()) {
+            ActiveDiscount candidate = iterator.next();
+            if (candidate.expirationDate().isAfter(now)) {
+                best.add(candidate);
+            }
+        }
+        return best;
+    }
+
+    @Scheduled(fixedDelayString = "${cupom.index.expiry-prune-interval-ms:60000}")
+    public void pruneExpired() {
+        this.pruneExpired(LocalDateTime.now());
+    }
+
+    synchronized int pruneExpired(LocalDateTime now) {
+        int pruned = 0;
+        ActiveDiscount first;
+        while ((first = this.firstToExpire()) != null && !first.expirationDate().isAfter(now)) {
+            this.remove(first);
+            pruned++;
+        }
+        return pruned;
+    }
+
+    private ActiveDiscount firstToExpire() {
+        return this.byExpiration.isEmpty() ? null : this.byExpiration.first();
+    }
+
+    private void add(ActiveDiscount discount) {
+        this.byId.put(discount.id(), discount);
+        this.byExpiration.add(discount);
+        this.byDiscount.add(discount);
+    }
+
+    private void remove(ActiveDiscount discount) {
+        if (discount == null) {
+            return;
+        }
+        this.byDiscount.remove(discount);
+        this.byExpiration.remove(discount);
+        this.byId.remove(discount.id());
+    }
+}
@@ -0,0 +1,310 @@
+package com.example.demo.infrastructure.index;
+
+import com.example.demo.domain.CupomChange;
+import com.example.demo.domain.CupomChangeType;
+import com.example.demo.domain.CupomSearch;
+import com.example.demo.domain.CupomSearchHit;
+import com.example.demo.domain.SearchText;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+// Índice invertido de trigramas das descrições. Cada cupom recebe um número de documento
+// denso e cada trigrama uma lista crescente desses números (IntPostings).
+// Deleções só marcam o documento; a compactação renumera quando os removidos passam dos vivos.
+@Component
+public class TrigramSearchIndex implements CupomIndex, CupomSearch {
+
+    // Fração mínima dos trigramas da busca que uma descrição precisa conter
+    static final double MIN_MATCH_RATIO = 0.6;
+    private static final int COMPACTION_THRESHOLD = 1024;
+    // O contador por documento é um byte sem sinal
+    private static final int MAX_COUNTED_LISTS = 255;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private final Map<Long, IntPostings> postings = new HashMap<>();
+    private final Map<Long, Integer> docById = new HashMap<>();
+    private final BitSet deleted = new BitSet();
+    private long[] ids = new long[1024];
+    private int[] lengths = new int[1024];
+    private int docCount;
+    private int deletedCount;
+
+    @Override
+    public void apply(CupomChange change) {
+        this.lock.writeLock().lock();
+        try {
+            if (change.type() == CupomChangeType.CREATED) {
+                this.add(change.cupomId(), change.description());
+            } else if (change.type().removesCupom()) {
+                this.remove(change.cupomId());
+            }
+        } finally {
+            this.lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void clear() {
+        this.lock.writeLock().lock();
+        try {
+            this.postings.clear();
+            this.docById.clear();
+            this.deleted.clear();
+            this.docCount = 0;
+            this.deletedCount = 0;
+        } finally {
+            this.lock.writeLock().unlock();
+        }
+    }
+
+    public int size() {
+        this.lock.readLock().lock();
+        try {
+            return this.docById.size();
+        } finally {
+            this.lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public List<CupomSearchHit> search(String normalizedQuery, int limit) {
+        long[] trigrams = trigramsOf(normalizedQuery, false);
+        if (trigrams.length == 0 || limit <= 0) {
+            return List.of();
+        }
+
+        this.lock.readLock().lock();
+        try {
+            IntPostings[] lists = new IntPostings[trigrams.length];
+            int present = 0;
+            for (long trigram : trigrams) {
+                IntPostings list = this.postings.get(trigram);
+                if (list != null) {
+                    lists[present++] = list;
+                }
+            }
+
+            int minMatch = Math.max(1, (int) Math.ceil(trigrams.length * MIN_MATCH_RATIO));
+            if (present < minMatch) {
+                return List.of();
+            }
+            lists = Arrays.copyOf(lists, present);
+            Arrays.sort(lists, Comparator.comparingInt(IntPostings::size));
+
+            // Quem contém minMatch das p listas presentes aparece em pelo menos uma das p - minMatch + 1
+            // mais curtas; as demais só servem para contar os acertos
+            int candidateLists = present - minMatch + 1;
+            long candidatePostings = 0;
+            long allPostings = 0;
+            for (int i = 0; i < present; i++) {
+                allPostings += lists[i].size();
+                if (i < candidateLists) {
+                    candidatePostings += lists[i].size();
+                }
+            }
+
+            TopHits top = new TopHits(limit, trigrams.length);
+            // Busca binária por candidato compensa em buscas seletivas; em termos comuns é mais
+            // barato somar todas as listas num contador por documento
+            long probeCost = candidatePostings * present * (32 - Integer.numberOfLeadingZeros(lists[present - 1].size()));
+            if (present <= MAX_COUNTED_LISTS && probeCost > allPostings + this.docCount / 8) {
+                this.collectByCounting(lists, candidateLists, minMatch, top);
+            } else {
+                this.collectByProbing(lists, candidateLists, minMatch, top);
+            }
+            return top.ranked();
+        } finally {
+            this.lock.readLock().unlock();
+        }
+    }
+
+    private void collectByProbing(IntPostings[] lists, int candidateLists, int minMatch, TopHits top) {
+        for (int doc : this.candidates(lists, candidateLists)) {
+            if (this.deleted.get(doc)) {
+                continue;
+            }
+            int matched = 0;
+            for (IntPostings list : lists) {
+                if (list.contains(doc)) {
+                    matched++;
+                }
+            }
+            if (matched >= minMatch) {
+                top.offer(this.ids[doc], matched, this.lengths[doc]);
+            }
+        }
+    }
+
+    private void collectByCounting(IntPostings[] lists, int candidateLists, int minMatch, TopHits top) {
+        byte[] counts = new byte[this.docCount];
+        for (IntPostings list : lists) {
+            for (int i = 0; i < list.size(); i++) {
+                counts[list.get(i)]++;
+            }
+        }
+        for (int l = 0; l < candidateLists; l++) {
+            IntPostings list = lists[l];
+            for (int i = 0; i < list.size(); i++) {
+                int doc = list.get(i);
+                int matched = counts[doc] & 0xFF;
+                // Zerado após a leitura para não repetir o documento de outra lista candidata
+                counts[doc] = 0;
+                if (matched >= minMatch && !this.deleted.get(doc)) {
+                    top.offer(this.ids[doc], matched, this.lengths[doc]);
+                }
+            }
+        }
+    }
+
+    private int[] candidates(IntPostings[] lists, int count) {
+        int total = 0;
+        for (int i = 0; i < count; i++) {
+            total += lists[i].size();
+        }
+        int[] docs = new int[total];
+        int size = 0;
+        for (int i = 0; i < count; i++) {
+            for (int j = 0; j < lists[i].size(); j++) {
+                docs[size++] = lists[i].get(j);
+            }
+        }
+        if (count == 1) {
+            return docs;
+        }
+        Arrays.sort(docs);
+        int unique = 0;
+        for (int i = 0; i < size; i++) {
+            if (unique == 0 || docs[unique - 1] != docs[i]) {
+                docs[unique++] = docs[i];
+            }
+        }
+        return Arrays.copyOf(docs, unique);
+    }
+
+    private void add(Long id, String description) {
+        if (id == null || this.docById.containsKey(id)) {
+            return;
+        }
+        String normalized = SearchText.normalize(description);
+        int doc = this.docCount++;
+        if (doc == this.ids.length) {
+            this.ids = Arrays.copyOf(this.ids, doc * 2);
+            this.lengths = Arrays.copyOf(this.lengths, doc * 2);
+        }
+        this.ids[doc] = id;
+        this.lengths[doc] = normalized.length();
+        this.docById.put(id, doc);
+
+        for (long trigram : trigramsOf(normalized, true)) {
+            this.postings.computeIfAbsent(trigram, key -> new IntPostings()).add(doc);
+        }
+    }
+
+    private void remove(Long id) {
+        Integer doc = id != null ? this.docById.remove(id) : null;
+        if (doc == null) {
+            return;
+        }
+        this.deleted.set(doc);
+        this.deletedCount++;
+        if (this.deletedCount > COMPACTION_THRESHOLD && this.deletedCount > this.docCount - this.deletedCount) {
+            this.compact();
+        }
+    }
+
+    private void compact() {
+        int[] mapping = new int[this.docCount];
+        int live = 0;
+        for (int doc = 0; doc < this.docCount; doc++) {
+            if (this.deleted.get(doc)) {
+                mapping[doc] = -1;
+            } else {
+                mapping[doc] = live;
+                this.ids[live] = this.ids[doc];
+                this.lengths[live] = this.lengths[doc];
+                this.docById.put(this.ids[live], live);
+                live++;
+            }
+        }
+        this.postings.values().removeIf(list -> {
+            list.remap(mapping);
+            return list.size() == 0;
+        });
+        this.docCount = live;
+        this.deletedCount = 0;
+        this.deleted.clear();
+    }
+
+    // Cada trigrama ocupa 48 bits (3 chars de 16 bits). Documentos ganham um espaço nas bordas
+    // para favorecer início e fim de palavra; a busca não, para que um trecho de palavra também case.
+    static long[] trigramsOf(String normalized, boolean padded) {
+        String text = padded ? " " + normalized + " " : normalized;
+        if (text.length() < 3) {
+            return new long[0];
+        }
+        long[] trigrams = new long[text.length() - 2];
+        for (int i = 0; i < trigrams.length; i++) {
+            trigrams[i] = ((long) text.charAt(i) << 32) | ((long) text.charAt(i + 1) << 16) | text.charAt(i + 2);
+        }
+        // Repetidos de um documento são descartados pelo IntPostings.add
+        if (padded) {
+            return trigrams;
+        }
+        Arrays.sort(trigrams);
+        int unique = 0;
+        for (int i = 0; i < trigrams.length; i++) {
+            if (unique == 0 || trigrams[unique - 1] != trigrams[i]) {
+                trigrams[unique++] = trigrams[i];
+            }
+        }
+        return Arrays.copyOf(trigrams, unique);
+    }
+
+    // Maior score primeiro; empate favorece a descrição mais curta e depois o menor id
+    private record Hit(long id, int matched, int length) {
+        static final Comparator<Hit> RANK = Comparator.comparingInt(Hit::matched).reversed()
+                .thenComparingInt(Hit::length)
+                .thenComparingLong(Hit::id);
+    }
+
+    // Heap dos `limit` melhores com o pior no topo; só aloca para quem entra nele
+    private static final class TopHits {
+        private final int limit;
+        private final int queryTrigrams;
+        private final PriorityQueue<Hit> heap;
+
+        TopHits(int limit, int queryTrigrams) {
+            this.limit = limit;
+            this.queryTrigrams = queryTrigrams;
+            this.heap = new PriorityQueue<>(limit + 1, Hit.RANK.reversed());
+        }
+
+        void offer(long id, int matched, int length) {
+            if (this.heap.size() == this.limit) {
+                Hit worst = this.heap.peek();
+                if (matched < worst.matched()
+                        || (matched == worst.matched() && (length > worst.length() || (length == worst.length() && id > worst.id())))) {
+                    return;
+                }
+                this.heap.poll();
+            }
+            this.heap.add(new Hit(id, matched, length));
+        }
+
+        List<CupomSearchHit> ranked() {
+            List<Hit> hits = new ArrayList<>(this.heap);
+            hits.sort(Hit.RANK);
+            return hits.stream().map(hit -> new CupomSearchHit(hit.id(), (double) hit.matched() / this.queryTrigrams)).toList();
+        }
+    }
+}
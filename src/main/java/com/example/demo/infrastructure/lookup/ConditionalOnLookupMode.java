@@ -0,0 +1,17 @@
+package com.example.demo.infrastructure.lookup;
+
+import org.springframework.context.annotation.Conditional;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+// Registra o bean só quando `cupom.lookup.mode` é o modo informado
+@Target(ElementType.TYPE)
+@Retention(RetentionPolicy.RUNTIME)
+@Conditional(OnLookupModeCondition.class)
+public @interface ConditionalOnLookupMode {
+
+    CupomLookupMode value();
+}
@@ -0,0 +1,20 @@
+package com.example.demo.infrastructure.lookup;
+
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.core.env.Environment;
+
+// Camada que atende CupomLookup (`cupom.lookup.mode`). Uma só propriedade para que snapshot e
+// store fora do heap, ambos @Primary, nunca sejam ligados juntos.
+public enum CupomLookupMode {
+    // Direto no banco (RepositoryCupomLookup)
+    REPOSITORY,
+    // SnapshotCupomLookup, com faltas no banco
+    SNAPSHOT,
+    // OffHeapCupomLookup, com faltas no banco
+    OFF_HEAP;
+
+    // Aceita off-heap/OFF_HEAP; valor desconhecido impede a subida
+    public static CupomLookupMode of(Environment environment) {
+        return Binder.get(environment).bind("cupom.lookup.mode", CupomLookupMode.class).orElse(REPOSITORY);
+    }
+}
@@ -0,0 +1,31 @@
+package com.example.demo.infrastructure.lookup;
+
+import com.example.demo.application.cache.CupomMissCache;
+import com.example.demo.application.cache.NegativeCache;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.stereotype.Component;
+
+// cupom.misscache.hits{key=id|code}: consultas respondidas como inexistentes sem ir ao banco
+@Component
+public class CupomMissCacheMetrics implements MeterBinder {
+
+    private final CupomMissCache missCache;
+
+    public CupomMissCacheMetrics(CupomMissCache missCache) {
+        this.missCache = missCache;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        bind(registry, "id", this.missCache.ids());
+        bind(registry, "code", this.missCache.codes());
+    }
+
+    private static void bind(MeterRegistry registry, String key, NegativeCache<?> cache) {
+        FunctionCounter.builder("cupom.misscache.hits", cache, NegativeCache::hits).tag("key", key).register(registry);
+        Gauge.builder("cupom.misscache.size", cache, NegativeCache::size).tag("key", key).register(registry);
+    }
+}
@@ -0,0 +1,86 @@
+package com.example.demo.infrastructure.lookup;
+
+import com.example.demo.domain.CupomChange;
+import com.example.demo.domain.CupomChangeType;
+import com.example.demo.domain.CupomLookup;
+import com.example.demo.domain.CupomState;
+import com.example.demo.domain.Discount;
+import com.example.demo.infrastructure.index.CupomIndex;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+// Cupons não deletados no OffHeapCupomStore, carregados e mantidos como os demais CupomIndex.
+// Faltas (códigos desconhecidos, deletados ou ainda não carregados) vão ao banco.
+@Component
+@Primary
+@ConditionalOnLookupMode(CupomLookupMode.OFF_HEAP)
+public class OffHeapCupomLookup implements CupomLookup, CupomIndex {
+
+    private final RepositoryCupomLookup delegate;
+    private final OffHeapCupomStore store;
+
+    public OffHeapCupomLookup(RepositoryCupomLookup delegate, @Value("${cupom.lookup.off-heap.expected-size:100000}") int expectedSize) {
+        this.delegate = delegate;
+        this.store = new OffHeapCupomStore(expectedSize);
+    }
+
+    public OffHeapCupomStore store() {
+        return this.store;
+    }
+
+    @Override
+    public void apply(CupomChange change) {
+        if (change.cupomId() == null) {
+            return;
+        }
+        if (change.type() == CupomChangeType.CREATED) {
+            // O outbox não carrega a version; validação e aplicação não a usam
+            this.store.put(new CupomState(
+                    change.cupomId(),
+                    change.code(),
+                    new Discount(change.discountValue()).getCents(),
+                    change.expirationDate(),
+                    change.published(),
+                    false,
+                    0L
+            ));
+        } else if (change.type().removesCupom()) {
+            this.store.remove(change.cupomId());
+        }
+    }
+
+    @Override
+    public void clear() {
+        this.store.clear();
+    }
+
+    @Override
+    public Optional<CupomState> findById(long id) {
+        Optional<CupomState> state = this.store.findById(id);
+        return state.isPresent() ? state : this.delegate.findById(id);
+    }
+
+    @Override
+    public List<CupomState> findAllByCodes(Collection<String> codes) {
+        List<CupomState> found = new ArrayList<>(codes.size());
+        List<String> misses = new ArrayList<>();
+        for (String code : codes) {
+            Optional<CupomState> state = this.store.findByCode(code);
+            if (state.isPresent()) {
+                found.add(state.get());
+            } else {
+                misses.add(code);
+            }
+        }
+        if (!misses.isEmpty()) {
+            found.addAll(this.delegate.findAllByCodes(misses));
+        }
+        return found;
+    }
+}
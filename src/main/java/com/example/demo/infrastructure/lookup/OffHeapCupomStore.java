@@ -0,0 +1,216 @@
+package com.example.demo.infrastructure.lookup;
+
+import com.example.demo.domain.CupomState;
+import com.example.demo.infrastructure.index.PackedCode;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.Optional;
+import java.util.concurrent.locks.StampedLock;
+
+// Cupons em registros de 48 bytes num buffer direto, fora do heap, com índices de
+// endereçamento aberto por código empacotado e por id. No heap ficam só alguns objetos
+// fixos, qualquer que seja o tamanho do catálogo. Remoções movem o último registro
+// para o buraco, mantendo os registros contíguos.
+//   registro  código empacotado, id, desconto em centavos, hora da expiração (µs do dia), version,
+//             flags, data da expiração (ano << 9 | mês << 5 | dia)
+public final class OffHeapCupomStore {
+
+    static final int RECORD_BYTES = 48;
+    private static final int CODE = 0;
+    private static final int ID = 8;
+    private static final int CENTS = 16;
+    private static final int EXPIRATION_TIME = 24;
+    private static final int VERSION = 32;
+    private static final int FLAGS = 40;
+    private static final int EXPIRATION_DATE = 44;
+    private static final int PUBLISHED = 1;
+    private static final int DELETED = 2;
+    private static final int MIN_RECORDS = 1024;
+
+    private final StampedLock lock = new StampedLock();
+    private final int expectedSize;
+    private final OffHeapLongIntTable byCode;
+    private final OffHeapLongIntTable byId;
+    private ByteBuffer records;
+    private int count;
+
+    public OffHeapCupomStore(int expectedSize) {
+        this.expectedSize = expectedSize;
+        this.byCode = new OffHeapLongIntTable(expectedSize);
+        this.byId = new OffHeapLongIntTable(expectedSize);
+        this.records = allocate(Math.max(MIN_RECORDS, expectedSize));
+    }
+
+    public int size() {
+        long stamp = this.lock.readLock();
+        try {
+            return this.count;
+        } finally {
+            this.lock.unlockRead(stamp);
+        }
+    }
+
+    // Memória direta reservada pelos registros e pelos dois índices
+    public long offHeapBytes() {
+        long stamp = this.lock.readLock();
+        try {
+            return this.records.capacity() + this.byCode.bytes() + this.byId.bytes();
+        } finally {
+            this.lock.unlockRead(stamp);
+        }
+    }
+
+    // Insere ou sobrescreve pelo código; false para códigos fora de [0-9A-Za-z]{6}
+    public boolean put(CupomState state) {
+        long code = PackedCode.encode(state.code());
+        if (code < 0) {
+            return false;
+        }
+        long stamp = this.lock.writeLock();
+        try {
+            int slot = this.byCode.get(code);
+            if (slot < 0) {
+                if (this.count == this.records.capacity() / RECORD_BYTES) {
+                    this.grow();
+                }
+                slot = this.count++;
+                this.byCode.put(code, slot);
+            } else {
+                long previousId = this.records.getLong(slot * RECORD_BYTES + ID);
+                if (previousId != state.id()) {
+                    this.byId.remove(previousId);
+                }
+            }
+            this.byId.put(state.id(), slot);
+            this.write(slot, code, state);
+            return true;
+        } finally {
+            this.lock.unlockWrite(stamp);
+        }
+    }
+
+    public boolean remove(long id) {
+        long stamp = this.lock.writeLock();
+        try {
+            int slot = this.byId.get(id);
+            if (slot < 0) {
+                return false;
+            }
+            this.byId.remove(id);
+            this.byCode.remove(this.records.getLong(slot * RECORD_BYTES + CODE));
+
+            int last = --this.count;
+            if (slot != last) {
+                this.records.put(slot * RECORD_BYTES, this.records, last * RECORD_BYTES, RECORD_BYTES);
+                this.byCode.put(this.records.getLong(slot * RECORD_BYTES + CODE), slot);
+                this.byId.put(this.records.getLong(slot * RECORD_BYTES + ID), slot);
+            }
+            return true;
+        } finally {
+            this.lock.unlockWrite(stamp);
+        }
+    }
+
+    public void clear() {
+        long stamp = this.lock.writeLock();
+        try {
+            this.byCode.clear(this.expectedSize);
+            this.byId.clear(this.expectedSize);
+            this.records = allocate(Math.max(MIN_RECORDS, this.expectedSize));
+            this.count = 0;
+        } finally {
+            this.lock.unlockWrite(stamp);
+        }
+    }
+
+    public Optional<CupomState> findByCode(String code) {
+        long key = PackedCode.encode(code);
+        if (key < 0) {
+            return Optional.empty();
+        }
+        return Optional.ofNullable(this.find(this.byCode, key, code));
+    }
+
+    public Optional<CupomState> findById(long id) {
+        return Optional.ofNullable(this.find(this.byId, id, null));
+    }
+
+    // Leitura otimista: sem escrita concorrente não toca no lock. Se houve escrita no meio,
+    // o que foi lido (talvez inconsistente, talvez com exceção) é descartado e a busca
+    // se repete sob o lock de leitura.
+    private CupomState find(OffHeapLongIntTable index, long key, String code) {
+        long stamp = this.lock.tryOptimisticRead();
+        if (stamp != 0) {
+            try {
+                int slot = index.get(key);
+                CupomState state = slot < 0 ? null : this.read(slot, code);
+                if (this.lock.validate(stamp)) {
+                    return state;
+                }
+            } catch (RuntimeException ex) {
+                // Buffer trocado durante a leitura: repete com o lock
+            }
+        }
+        stamp = this.lock.readLock();
+        try {
+            int slot = index.get(key);
+            return slot < 0 ? null : this.read(slot, code);
+        } finally {
+            this.lock.unlockRead(stamp);
+        }
+    }
+
+    private void write(int slot, long code, CupomState state) {
+        int base = slot * RECORD_BYTES;
+        this.records.putLong(base + CODE, code);
+        this.records.putLong(base + ID, state.id());
+        this.records.putLong(base + CENTS, state.discountCents());
+        LocalDateTime expiration = state.expirationDate();
+        this.records.putLong(base + EXPIRATION_TIME, expiration.toLocalTime().toNanoOfDay() / 1_000);
+        this.records.putInt(base + EXPIRATION_DATE, expiration.getYear() << 9 | expiration.getMonthValue() << 5 | expiration.getDayOfMonth());
+        this.records.putLong(base + VERSION, state.version());
+        this.records.putInt(base + FLAGS, (state.published() ? PUBLISHED : 0) | (state.deleted() ? DELETED : 0));
+    }
+
+    // code: o código já conhecido pelo chamador, para não decodificá-lo de novo
+    private CupomState read(int slot, String code) {
+        ByteBuffer records = this.records;
+        int base = slot * RECORD_BYTES;
+        int flags = records.getInt(base + FLAGS);
+        return new CupomState(
+                records.getLong(base + ID),
+                code != null ? code : PackedCode.decode(records.getLong(base + CODE)),
+                records.getLong(base + CENTS),
+                expirationAt(records.getInt(base + EXPIRATION_DATE), records.getLong(base + EXPIRATION_TIME)),
+                (flags & PUBLISHED) != 0,
+                (flags & DELETED) != 0,
+                records.getLong(base + VERSION)
+        );
+    }
+
+    private void grow() {
+        int capacity = this.records.capacity() / RECORD_BYTES;
+        if (capacity > Integer.MAX_VALUE / RECORD_BYTES / 2) {
+            throw new IllegalStateException("OffHeapCupomStore cheio: " + capacity + " registros");
+        }
+        ByteBuffer grown = allocate(capacity * 2);
+        grown.put(0, this.records, 0, this.count * RECORD_BYTES);
+        this.records = grown;
+    }
+
+    private static ByteBuffer allocate(int records) {
+        return ByteBuffer.allocateDirect(records * RECORD_BYTES).order(ByteOrder.nativeOrder());
+    }
+
+    // Data e hora separadas evitam a conversão de epoch em data, o passo mais caro da leitura
+    private static LocalDateTime expirationAt(int date, long microOfDay) {
+        return LocalDateTime.of(
+                LocalDate.of(date >> 9, (date >> 5) & 0xF, date & 0x1F),
+                LocalTime.ofNanoOfDay(microOfDay * 1_000)
+        );
+    }
+}
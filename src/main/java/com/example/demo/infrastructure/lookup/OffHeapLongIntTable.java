@@ -0,0 +1,137 @@
+package com.example.demo.infrastructure.lookup;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+// Tabela hash long -> int de endereçamento aberto (sondagem linear) num buffer direto.
+// Cada slot tem 16 bytes: chave e valor + 1, para que o buffer zerado signifique vazio.
+final class OffHeapLongIntTable {
+
+    private static final int SLOT_BYTES = 16;
+    private static final int VALUE_OFFSET = 8;
+    private static final int MIN_CAPACITY = 16;
+
+    private ByteBuffer slots;
+    private int bits;
+    private int mask;
+    private int size;
+
+    OffHeapLongIntTable(int expectedSize) {
+        this.allocate(capacityFor(expectedSize));
+    }
+
+    int size() {
+        return this.size;
+    }
+
+    long bytes() {
+        return (long) (this.mask + 1) * SLOT_BYTES;
+    }
+
+    // -1 quando ausente
+    int get(long key) {
+        for (int slot = this.home(key); ; slot = (slot + 1) & this.mask) {
+            int value = this.slots.getInt(slot * SLOT_BYTES + VALUE_OFFSET);
+            if (value == 0) {
+                return -1;
+            }
+            if (this.slots.getLong(slot * SLOT_BYTES) == key) {
+                return value - 1;
+            }
+        }
+    }
+
+    void put(long key, int value) {
+        if ((this.size + 1) * 2L > this.mask + 1L) {
+            this.grow();
+        }
+        int slot = this.home(key);
+        while (true) {
+            int current = this.slots.getInt(slot * SLOT_BYTES + VALUE_OFFSET);
+            if (current == 0) {
+                this.size++;
+                break;
+            }
+            if (this.slots.getLong(slot * SLOT_BYTES) == key) {
+                break;
+            }
+            slot = (slot + 1) & this.mask;
+        }
+        this.slots.putLong(slot * SLOT_BYTES, key);
+        this.slots.putInt(slot * SLOT_BYTES + VALUE_OFFSET, value + 1);
+    }
+
+    void remove(long key) {
+        int hole = this.home(key);
+        while (true) {
+            if (this.slots.getInt(hole * SLOT_BYTES + VALUE_OFFSET) == 0) {
+                return;
+            }
+            if (this.slots.getLong(hole * SLOT_BYTES) == key) {
+                break;
+            }
+            hole = (hole + 1) & this.mask;
+        }
+
+        // Sem lápides: puxa para o buraco quem ficaria inalcançável por ele
+        int slot = hole;
+        while (true) {
+            slot = (slot + 1) & this.mask;
+            int value = this.slots.getInt(slot * SLOT_BYTES + VALUE_OFFSET);
+            if (value == 0) {
+                break;
+            }
+            long moved = this.slots.getLong(slot * SLOT_BYTES);
+            int home = this.home(moved);
+            boolean reachable = hole <= slot ? hole < home && home <= slot : hole < home || home <= slot;
+            if (!reachable) {
+                this.slots.putLong(hole * SLOT_BYTES, moved);
+                this.slots.putInt(hole * SLOT_BYTES + VALUE_OFFSET, value);
+                hole = slot;
+            }
+        }
+        this.slots.putLong(hole * SLOT_BYTES, 0);
+        this.slots.putInt(hole * SLOT_BYTES + VALUE_OFFSET, 0);
+        this.size--;
+    }
+
+    void clear(int expectedSize) {
+        this.allocate(capacityFor(expectedSize));
+        this.size = 0;
+    }
+
+    private void grow() {
+        ByteBuffer old = this.slots;
+        int oldCapacity = this.mask + 1;
+        this.allocate(oldCapacity * 2);
+        for (int slot = 0; slot < oldCapacity; slot++) {
+            int value = old.getInt(slot * SLOT_BYTES + VALUE_OFFSET);
+            if (value != 0) {
+                long key = old.getLong(slot * SLOT_BYTES);
+                int target = this.home(key);
+                while (this.slots.getInt(target * SLOT_BYTES + VALUE_OFFSET) != 0) {
+                    target = (target + 1) & this.mask;
+                }
+                this.slots.putLong(target * SLOT_BYTES, key);
+                this.slots.putInt(target * SLOT_BYTES + VALUE_OFFSET, value);
+            }
+        }
+    }
+
+    private void allocate(int capacity) {
+        this.slots = ByteBuffer.allocateDirect(capacity * SLOT_BYTES).order(ByteOrder.nativeOrder());
+        this.bits = Integer.numberOfTrailingZeros(capacity);
+        this.mask = capacity - 1;
+    }
+
+    // Fibonacci hashing: ids e códigos sequenciais se espalham pela tabela
+    private int home(long key) {
+        return (int) ((key * 0x9E3779B97F4A7C15L) >>> (64 - this.bits));
+    }
+
+    // Potência de 2 com ocupação de no máximo 50%
+    private static int capacityFor(int expectedSize) {
+        int capacity = Integer.highestOneBit(Math.max(MIN_CAPACITY, expectedSize * 2 - 1)) << 1;
+        return Math.max(MIN_CAPACITY, capacity);
+    }
+}
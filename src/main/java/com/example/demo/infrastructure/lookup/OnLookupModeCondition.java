@@ -0,0 +1,16 @@
+package com.example.demo.infrastructure.lookup;
+
+import org.springframework.context.annotation.Condition;
+import org.springframework.context.annotation.ConditionContext;
+import org.springframework.core.type.AnnotatedTypeMetadata;
+
+import java.util.Map;
+
+class OnLookupModeCondition implements Condition {
+
+    @Override
+    public boolean matches(ConditionContext context, AnnotatedTypeMetadata metadata) {
+        Map<String, Object> attributes = metadata.getAnnotationAttributes(ConditionalOnLookupMode.class.getName());
+        return attributes != null && attributes.get("value") == CupomLookupMode.of(context.getEnvironment());
+    }
+}
@@ -0,0 +1,104 @@
+package com.example.demo.infrastructure.lookup;
+
+import com.example.demo.application.cache.CupomMissCache;
+import com.example.demo.application.cache.NegativeCache;
+import com.example.demo.application.concurrency.SingleFlight;
+import com.example.demo.domain.CupomLookup;
+import com.example.demo.domain.CupomRepository;
+import com.example.demo.domain.CupomState;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+// Consulta direta ao banco; base sobre a qual as camadas locais recorrem em caso de falta.
+// Consultas simultâneas do mesmo id ou do mesmo código único são feitas uma vez só, e
+// ids/códigos que acabaram de faltar respondem pelo CupomMissCache.
+@Component
+public class RepositoryCupomLookup implements CupomLookup {
+
+    // Lotes de até 10.000 códigos viram várias consultas IN, cada uma com um plano e parâmetros de tamanho fixo
+    static final int MAX_CODES_PER_QUERY = 1_000;
+
+    private final CupomRepository cupomRepository;
+    private final NegativeCache<Long> missingIds;
+    private final NegativeCache<String> missingCodes;
+    private final SingleFlight<Long, NegativeCache.Stamped<Optional<CupomState>>> idFlights = new SingleFlight<>();
+    private final SingleFlight<String, NegativeCache.Stamped<List<CupomState>>> codeFlights = new SingleFlight<>();
+
+    public RepositoryCupomLookup(CupomRepository cupomRepository, CupomMissCache missCache) {
+        this.cupomRepository = cupomRepository;
+        this.missingIds = missCache.ids();
+        this.missingCodes = missCache.codes();
+    }
+
+    @Override
+    public Optional<CupomState> findById(long id) {
+        if (this.missingIds.contains(id)) {
+            return Optional.empty();
+        }
+        NegativeCache.Stamped<Optional<CupomState>> result = this.idFlights.execute(id,
+                () -> this.missingIds.load(() -> this.cupomRepository.findById(id).map(CupomState::of)));
+        if (result.value().isEmpty()) {
+            this.missingIds.remember(id, result.stamp());
+        }
+        return result.value();
+    }
+
+    @Override
+    public List<CupomState> findAllByCodes(Collection<String> codes) {
+        List<String> unknown = new ArrayList<>(codes.size());
+        for (String code : codes) {
+            if (!this.missingCodes.contains(code)) {
+                unknown.add(code);
+            }
+        }
+        if (unknown.isEmpty()) {
+            return List.of();
+        }
+
+        NegativeCache.Stamped<List<CupomState>> result;
+        // Lotes com vários códigos raramente coincidem; só o código isolado é agrupado
+        if (unknown.size() == 1) {
+            result = this.codeFlights.execute(unknown.get(0), () -> this.missingCodes.load(() -> this.query(unknown)));
+        } else {
+            result = this.missingCodes.load(() -> this.query(unknown));
+        }
+        List<CupomState> found = result.value();
+        long stamp = result.stamp();
+
+        if (found.size() < unknown.size()) {
+            Set<String> foundCodes = new HashSet<>();
+            for (CupomState state : found) {
+                foundCodes.add(state.code());
+            }
+            for (String code : unknown) {
+                if (!foundCodes.contains(code)) {
+                    this.missingCodes.remember(code, stamp);
+                }
+            }
+        }
+        return found;
+    }
+
+    private List<CupomState> query(List<String> codes) {
+        List<CupomState> found = new ArrayList<>();
+        for (int from = 0; from < codes.size(); from += MAX_CODES_PER_QUERY) {
+            List<String> chunk = codes.subList(from, Math.min(from + MAX_CODES_PER_QUERY, codes.size()));
+            this.cupomRepository.findAllByCodes(chunk).forEach(cupom -> found.add(CupomState.of(cupom)));
+        }
+        return found;
+    }
+
+    public SingleFlight<Long, NegativeCache.Stamped<Optional<CupomState>>> idFlights() {
+        return this.idFlights;
+    }
+
+    public SingleFlight<String, NegativeCache.Stamped<List<CupomState>>> codeFlights() {
+        return this.codeFlights;
+    }
+}
@@ -0,0 +1,38 @@
+package com.example.demo.infrastructure.lookup;
+
+import com.example.demo.application.concurrency.SingleFlight;
+import com.example.demo.application.usecases.FindCupomUseCase;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.stereotype.Component;
+
+// cupom.singleflight.calls{flight, outcome=executed|shared}: consultas feitas e chamadas
+// que aproveitaram a consulta de outra
+@Component
+public class SingleFlightMetrics implements MeterBinder {
+
+    static final String METER = "cupom.singleflight.calls";
+
+    private final FindCupomUseCase findCupomUseCase;
+    private final RepositoryCupomLookup repositoryCupomLookup;
+
+    public SingleFlightMetrics(FindCupomUseCase findCupomUseCase, RepositoryCupomLookup repositoryCupomLookup) {
+        this.findCupomUseCase = findCupomUseCase;
+        this.repositoryCupomLookup = repositoryCupomLookup;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        bind(registry, "find-by-id", this.findCupomUseCase.flights());
+        bind(registry, "lookup-by-id", this.repositoryCupomLookup.idFlights());
+        bind(registry, "lookup-by-code", this.repositoryCupomLookup.codeFlights());
+    }
+
+    private static void bind(MeterRegistry registry, String flight, SingleFlight<?, ?> flights) {
+        FunctionCounter.builder(METER, flights, SingleFlight::executed)
+                .tag("flight", flight).tag("outcome", "executed").register(registry);
+        FunctionCounter.builder(METER, flights, SingleFlight::shared)
+                .tag("flight", flight).tag("outcome", "shared").register(registry);
+    }
+}
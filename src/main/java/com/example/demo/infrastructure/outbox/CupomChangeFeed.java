@@ -0,0 +1,22 @@
+package com.example.demo.infrastructure.outbox;
+
+import com.example.demo.domain.CupomChange;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+// Lado de leitura do outbox. Cada partição tem a própria sequence: uma por shard, ou uma só sem sharding.
+public interface CupomChangeFeed {
+
+    int partitions();
+
+    int partitionOf(CupomChange change);
+
+    List<CupomChange> findAfter(int partition, long sequence, int limit);
+
+    List<CupomChange> findBetween(int partition, long afterSequence, long upToSequence, int limit);
+
+    long lastSequence(int partition);
+
+    int deleteOlderThan(LocalDateTime cutoff);
+}
@@ -0,0 +1,121 @@
+package com.example.demo.infrastructure.outbox;
+
+import com.example.demo.domain.CupomChange;
+import com.example.demo.domain.CupomChangeListener;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+// Lê o outbox em lotes e repassa as alterações confirmadas aos listeners locais.
+// Cada nó mantém a própria posição, então alterações feitas em outros nós também chegam aqui.
+// Com sharding cada shard é uma partição com sequence e posição próprias; as partições são
+// lidas em rodízio, um lote por vez, e a ordem só importa dentro delas (um código vive num shard).
+@Component
+public class CupomChangePoller {
+
+    private static final Logger log = LoggerFactory.getLogger(CupomChangePoller.class);
+
+    private final CupomChangeFeed changeFeed;
+    private final ObjectProvider<CupomChangeListener> listeners;
+    private final OutboxProperties properties;
+
+    private volatile OutboxPosition dispatched;
+    private long[] gapDetectedAt;
+
+    public CupomChangePoller(CupomChangeFeed changeFeed, ObjectProvider<CupomChangeListener> listeners, OutboxProperties properties) {
+        this.changeFeed = changeFeed;
+        this.listeners = listeners;
+        this.properties = properties;
+    }
+
+    @PostConstruct
+    void initialize() {
+        // O estado local é carregado do banco na inicialização; só interessam alterações posteriores
+        long[] last = new long[this.changeFeed.partitions()];
+        for (int partition = 0; partition < last.length; partition++) {
+            last[partition] = this.changeFeed.lastSequence(partition);
+        }
+        this.dispatched = OutboxPosition.of(last);
+        this.gapDetectedAt = new long[last.length];
+        Arrays.fill(this.gapDetectedAt, -1);
+    }
+
+    public OutboxPosition dispatchedPosition() {
+        return this.dispatched;
+    }
+
+    @Scheduled(fixedDelayString = "${cupom.outbox.poll-interval-ms:250}")
+    public synchronized void poll() {
+        boolean more;
+        do {
+            more = false;
+            for (int partition = 0; partition < this.dispatched.partitions(); partition++) {
+                more |= this.pollPartition(partition);
+            }
+        } while (more);
+    }
+
+    // Entrega um lote da partição; true quando o lote veio cheio e sem lacuna
+    private boolean pollPartition(int partition) {
+        int batchSize = this.properties.batchSize();
+        List<CupomChange> batch = this.changeFeed.findAfter(partition, this.dispatched.sequence(partition), batchSize);
+        List<CupomChange> ready = this.contiguousPrefix(partition, batch);
+        if (ready.isEmpty()) {
+            return false;
+        }
+
+        // A posição avança antes da entrega para que o stream SSE não reenvie eventos
+        this.dispatched = this.dispatched.with(partition, ready.get(ready.size() - 1).sequence());
+        this.dispatch(ready);
+        return batch.size() == batchSize && ready.size() == batch.size();
+    }
+
+    @Scheduled(fixedDelayString = "${cupom.outbox.purge-interval-ms:3600000}")
+    public void purge() {
+        int removed = this.changeFeed.deleteOlderThan(LocalDateTime.now().minus(this.properties.retention()));
+        if (removed > 0) {
+            log.info("Outbox: {} eventos removidos por retenção", removed);
+        }
+    }
+
+    // Ids IDENTITY são atribuídos no insert, não no commit: uma lacuna pode ser uma transação
+    // ainda aberta. Espera até gapTimeout antes de considerá-la um rollback e seguir adiante.
+    private List<CupomChange> contiguousPrefix(int partition, List<CupomChange> batch) {
+        List<CupomChange> ready = new ArrayList<>(batch.size());
+        long expected = this.dispatched.sequence(partition) + 1;
+
+        for (CupomChange change : batch) {
+            if (change.sequence() != expected) {
+                long now = System.nanoTime();
+                if (this.gapDetectedAt[partition] < 0) {
+                    this.gapDetectedAt[partition] = now;
+                }
+                if (now - this.gapDetectedAt[partition] < this.properties.gapTimeout().toNanos()) {
+                    break;
+                }
+            }
+            this.gapDetectedAt[partition] = -1;
+            ready.add(change);
+            expected = change.sequence() + 1;
+        }
+        return ready;
+    }
+
+    private void dispatch(List<CupomChange> changes) {
+        this.listeners.orderedStream().forEach(listener -> {
+            try {
+                listener.onChanges(changes);
+            } catch (RuntimeException ex) {
+                log.warn("Falha ao entregar alterações de cupom para {}", listener.getClass().getSimpleName(), ex);
+            }
+        });
+    }
+}
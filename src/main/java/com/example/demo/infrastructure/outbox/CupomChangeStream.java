@@ -0,0 +1,154 @@
+package com.example.demo.infrastructure.outbox;
+
+import com.example.demo.domain.CupomChange;
+import com.example.demo.domain.CupomChangeListener;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+// Distribui o change feed via SSE: primeiro reenvia o histórico do outbox a partir de
+// "since" e depois passa a receber as alterações ao vivo entregues pelo poller.
+// O id de cada evento é a posição (OutboxPosition) do assinante logo após ele.
+// Cada assinante tem uma fila limitada esvaziada por uma virtual thread própria; o poller
+// só enfileira e nunca espera um cliente lento, que é desconectado quando a fila enche.
+@Component
+public class CupomChangeStream implements CupomChangeListener, AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(CupomChangeStream.class);
+
+    private final CupomChangeFeed changeFeed;
+    private final CupomChangePoller poller;
+    private final OutboxProperties properties;
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+    private final ExecutorService senders = Executors.newVirtualThreadPerTaskExecutor();
+
+    public CupomChangeStream(CupomChangeFeed changeFeed, CupomChangePoller poller, OutboxProperties properties) {
+        this.changeFeed = changeFeed;
+        this.poller = poller;
+        this.properties = properties;
+    }
+
+    public SseEmitter subscribe(OutboxPosition since) {
+        OutboxPosition start = since != null ? since : this.poller.dispatchedPosition();
+        if (start.partitions() != this.changeFeed.partitions()) {
+            throw new IllegalArgumentException("Posição com " + start.partitions() + " partições; o outbox tem "
+                    + this.changeFeed.partitions());
+        }
+        SseEmitter emitter = new SseEmitter(this.properties.streamTimeout().toMillis());
+        Subscriber subscriber = new Subscriber(emitter, start);
+
+        // Registrado antes da leitura do histórico: o que o poller entregar daqui em diante
+        // já cai na fila, e o que entregou antes está no outbox até dispatchedPosition
+        this.subscribers.add(subscriber);
+        emitter.onCompletion(() -> this.subscribers.remove(subscriber));
+        emitter.onTimeout(() -> this.subscribers.remove(subscriber));
+        emitter.onError(ex -> this.subscribers.remove(subscriber));
+
+        this.senders.execute(subscriber::run);
+        return emitter;
+    }
+
+    @Override
+    public void onChanges(List<CupomChange> changes) {
+        for (Subscriber subscriber : this.subscribers) {
+            for (CupomChange change : changes) {
+                if (!subscriber.pending.offer(change)) {
+                    log.info("Assinante do change feed desconectado: {} alterações pendentes", subscriber.pending.size());
+                    subscriber.drop(null);
+                    break;
+                }
+            }
+        }
+    }
+
+    int subscriberCount() {
+        return this.subscribers.size();
+    }
+
+    @Override
+    public void close() {
+        this.senders.shutdownNow();
+        this.subscribers.forEach(subscriber -> subscriber.emitter.complete());
+    }
+
+    private final class Subscriber {
+        private final SseEmitter emitter;
+        private final BlockingQueue<CupomChange> pending = new ArrayBlockingQueue<>(properties.streamBuffer());
+        // Só a thread do assinante lê e escreve
+        private OutboxPosition lastSent;
+
+        private Subscriber(SseEmitter emitter, OutboxPosition lastSent) {
+            this.emitter = emitter;
+            this.lastSent = lastSent;
+        }
+
+        private void run() {
+            try {
+                this.catchUp();
+                while (subscribers.contains(this)) {
+                    CupomChange change = this.pending.poll(1, TimeUnit.SECONDS);
+                    if (change != null) {
+                        this.send(change);
+                    }
+                }
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                this.drop(null);
+            } catch (IOException | RuntimeException ex) {
+                this.drop(ex);
+            }
+        }
+
+        // Lê do outbox até alcançar a posição já entregue pelo poller
+        private void catchUp() throws IOException {
+            int batchSize = properties.batchSize();
+            OutboxPosition upTo = poller.dispatchedPosition();
+            for (int partition = 0; partition < upTo.partitions(); partition++) {
+                long target = upTo.sequence(partition);
+                while (this.lastSent.sequence(partition) < target && subscribers.contains(this)) {
+                    List<CupomChange> batch = changeFeed.findBetween(partition, this.lastSent.sequence(partition), target, batchSize);
+                    if (batch.isEmpty()) {
+                        this.lastSent = this.lastSent.with(partition, target);
+                    }
+                    for (CupomChange change : batch) {
+                        this.send(change);
+                    }
+                }
+            }
+        }
+
+        // Repetidas entre o histórico e a fila são descartadas pela sequence da partição
+        private void send(CupomChange change) throws IOException {
+            int partition = changeFeed.partitionOf(change);
+            if (change.sequence() > this.lastSent.sequence(partition)) {
+                OutboxPosition position = this.lastSent.with(partition, change.sequence());
+                this.emitter.send(SseEmitter.event()
+                        .id(position.toString())
+                        .name(change.type().name())
+                        .data(change));
+                this.lastSent = position;
+            }
+        }
+
+        private void drop(Exception error) {
+            if (subscribers.remove(this)) {
+                if (error != null) {
+                    this.emitter.completeWithError(error);
+                } else {
+                    this.emitter.complete();
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package com.example.demo.infrastructure.outbox;
+
+import com.example.demo.domain.CupomChangeType;
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "cupom_outbox")
+@Data
+@NoArgsConstructor
+public class CupomOutboxEntity {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 16)
+    private CupomChangeType type;
+
+    @Column
+    private Long cupomId;
+
+    @Column(nullable = false, length = 6)
+    private String code;
+
+    @Column(nullable = false)
+    private String description;
+
+    @Column(nullable = false, precision = 10, scale = 2)
+    private BigDecimal discountValue;
+
+    @Column(nullable = false)
+    private LocalDateTime expirationDate;
+
+    @Column(nullable = false)
+    private boolean published;
+
+    @Column(nullable = false)
+    private LocalDateTime occurredAt;
+}
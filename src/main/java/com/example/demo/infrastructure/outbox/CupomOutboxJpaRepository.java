@@ -0,0 +1,25 @@
+package com.example.demo.infrastructure.outbox;
+
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface CupomOutboxJpaRepository extends JpaRepository<CupomOutboxEntity, Long> {
+
+    List<CupomOutboxEntity> findByIdGreaterThanOrderByIdAsc(Long id, Limit limit);
+
+    List<CupomOutboxEntity> findByIdGreaterThanAndIdLessThanEqualOrderByIdAsc(Long after, Long upTo, Limit limit);
+
+    @Query("SELECT COALESCE(MAX(o.id), 0) FROM CupomOutboxEntity o")
+    long findMaxId();
+
+    @Modifying
+    @Query("DELETE FROM CupomOutboxEntity o WHERE o.occurredAt < :cutoff")
+    int deleteOlderThan(LocalDateTime cutoff);
+}
@@ -0,0 +1,108 @@
+package com.example.demo.infrastructure.outbox;
+
+import com.example.demo.domain.CupomChange;
+import com.example.demo.domain.CupomChangeLog;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.Limit;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+
+// Outbox no datasource principal: uma partição só. Com sharding cada shard tem o seu (ShardedOutboxCupomChangeLog).
+@Component
+@ConditionalOnProperty(name = "cupom.sharding.enabled", havingValue = "false", matchIfMissing = true)
+public class OutboxCupomChangeLog implements CupomChangeLog, CupomChangeFeed {
+
+    private static final String INSERT =
+            "INSERT INTO cupom_outbox (type, cupom_id, code, description, discount_value, expiration_date, published, occurred_at) "
+                    + "VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private final CupomOutboxJpaRepository outboxJpaRepository;
+    private final JdbcTemplate jdbcTemplate;
+
+    public OutboxCupomChangeLog(CupomOutboxJpaRepository outboxJpaRepository, JdbcTemplate jdbcTemplate) {
+        this.outboxJpaRepository = outboxJpaRepository;
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public void append(CupomChange change) {
+        CupomOutboxEntity entity = new CupomOutboxEntity();
+        entity.setType(change.type());
+        entity.setCupomId(change.cupomId());
+        entity.setCode(change.code());
+        entity.setDescription(change.description());
+        entity.setDiscountValue(change.discountValue());
+        entity.setExpirationDate(change.expirationDate());
+        entity.setPublished(change.published());
+        entity.setOccurredAt(change.occurredAt());
+        this.outboxJpaRepository.save(entity);
+    }
+
+    @Override
+    public void appendAll(List<CupomChange> changes) {
+        // Mesma conexão da transação JPA corrente, em batch JDBC
+        this.jdbcTemplate.batchUpdate(INSERT, changes, changes.size(), (ps, change) -> {
+            ps.setString(1, change.type().name());
+            ps.setObject(2, change.cupomId());
+            ps.setString(3, change.code());
+            ps.setString(4, change.description());
+            ps.setBigDecimal(5, change.discountValue());
+            ps.setTimestamp(6, Timestamp.valueOf(change.expirationDate()));
+            ps.setBoolean(7, change.published());
+            ps.setTimestamp(8, Timestamp.valueOf(change.occurredAt()));
+        });
+    }
+
+    @Override
+    public int partitions() {
+        return 1;
+    }
+
+    @Override
+    public int partitionOf(CupomChange change) {
+        return 0;
+    }
+
+    @Override
+    public List<CupomChange> findAfter(int partition, long sequence, int limit) {
+        return this.outboxJpaRepository.findByIdGreaterThanOrderByIdAsc(sequence, Limit.of(limit))
+                .stream().map(this::toDomain).toList();
+    }
+
+    @Override
+    public List<CupomChange> findBetween(int partition, long afterSequence, long upToSequence, int limit) {
+        return this.outboxJpaRepository
+                .findByIdGreaterThanAndIdLessThanEqualOrderByIdAsc(afterSequence, upToSequence, Limit.of(limit))
+                .stream().map(this::toDomain).toList();
+    }
+
+    @Override
+    public long lastSequence(int partition) {
+        return this.outboxJpaRepository.findMaxId();
+    }
+
+    @Override
+    @Transactional
+    public int deleteOlderThan(LocalDateTime cutoff) {
+        return this.outboxJpaRepository.deleteOlderThan(cutoff);
+    }
+
+    private CupomChange toDomain(CupomOutboxEntity entity) {
+        return new CupomChange(
+                entity.getId(),
+                entity.getType(),
+                entity.getCupomId(),
+                entity.getCode(),
+                entity.getDescription(),
+                entity.getDiscountValue(),
+                entity.getExpirationDate(),
+                entity.isPublished(),
+                entity.getOccurredAt()
+        );
+    }
+}
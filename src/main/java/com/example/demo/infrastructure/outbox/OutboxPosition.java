@@ -0,0 +1,58 @@
+package com.example.demo.infrastructure.outbox;
+
+import java.util.Arrays;
+import java.util.stream.Collectors;
+
+// Última sequence entregue de cada partição do outbox. Serializada com as sequences separadas
+// por vírgula, então sem sharding é a própria sequence (id dos eventos SSE e parâmetro `since`).
+public final class OutboxPosition {
+
+    private final long[] sequences;
+
+    private OutboxPosition(long[] sequences) {
+        this.sequences = sequences;
+    }
+
+    public static OutboxPosition of(long... sequences) {
+        return new OutboxPosition(sequences.clone());
+    }
+
+    // Usado pelo Spring na conversão de `since` e do header Last-Event-ID
+    public static OutboxPosition valueOf(String value) {
+        String[] parts = value.split(",", -1);
+        long[] sequences = new long[parts.length];
+        for (int i = 0; i < parts.length; i++) {
+            sequences[i] = Long.parseLong(parts[i].trim());
+        }
+        return new OutboxPosition(sequences);
+    }
+
+    public int partitions() {
+        return this.sequences.length;
+    }
+
+    public long sequence(int partition) {
+        return this.sequences[partition];
+    }
+
+    public OutboxPosition with(int partition, long sequence) {
+        long[] copy = this.sequences.clone();
+        copy[partition] = sequence;
+        return new OutboxPosition(copy);
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        return other instanceof OutboxPosition position && Arrays.equals(this.sequences, position.sequences);
+    }
+
+    @Override
+    public int hashCode() {
+        return Arrays.hashCode(this.sequences);
+    }
+
+    @Override
+    public String toString() {
+        return Arrays.stream(this.sequences).mapToObj(Long::toString).collect(Collectors.joining(","));
+    }
+}
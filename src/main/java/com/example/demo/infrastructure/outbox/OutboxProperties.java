@@ -0,0 +1,23 @@
+package com.example.demo.infrastructure.outbox;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "cupom.outbox")
+public record OutboxProperties(
+        Integer batchSize,
+        Duration gapTimeout,
+        Duration retention,
+        Duration streamTimeout,
+        // Alterações pendentes por assinante SSE; acima disso o assinante lento é desconectado
+        Integer streamBuffer
+) {
+    public OutboxProperties {
+        batchSize = batchSize == null ? 500 : batchSize;
+        gapTimeout = gapTimeout == null ? Duration.ofSeconds(5) : gapTimeout;
+        retention = retention == null ? Duration.ofDays(7) : retention;
+        streamTimeout = streamTimeout == null ? Duration.ofMinutes(30) : streamTimeout;
+        streamBuffer = streamBuffer == null ? 10_000 : streamBuffer;
+    }
+}
@@ -0,0 +1,29 @@
+package com.example.demo.infrastructure.persistence;
+
+import org.springframework.dao.DataIntegrityViolationException;
+
+public final class CodeConstraint {
+
+    public static final String NAME = "uk_cupom_code";
+
+    private CodeConstraint() {
+    }
+
+    // Só a violação da constraint de código vira duplicidade; NOT NULL, tamanho etc. seguem como estão.
+    // O nome aparece na mensagem do driver (H2: "PUBLIC.UK_CUPOM_CODE_INDEX_x", Postgres: "uk_cupom_code")
+    public static boolean isViolatedBy(DataIntegrityViolationException ex) {
+        for (Throwable cause = ex; cause != null; cause = cause.getCause()) {
+            if (cause instanceof org.hibernate.exception.ConstraintViolationException violation
+                    && violation.getConstraintName() != null
+                    && violation.getConstraintName().toLowerCase().contains(NAME)) {
+                return true;
+            }
+            if (cause instanceof java.sql.SQLException sql
+                    && sql.getMessage() != null
+                    && sql.getMessage().toLowerCase().contains(NAME)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -18,7 +18,7 @@ public class CupomEntity {
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
-    @Column(unique = true, length = 6, nullable = false)
+    @Column(length = 6, nullable = false)
     private String code;
 
     @Version
@@ -1,19 +1,33 @@
 package com.example.demo.infrastructure.persistence;
 
-import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
-import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface CupomJpaRepository extends JpaRepository<CupomEntity, Long> {
     Optional<CupomEntity> findByCode(String code);
+    List<CupomEntity> findByCodeIn(Collection<String> codes);
     boolean existsByCode(String code);
 
-    @Lock(LockModeType.PESSIMISTIC_WRITE)
-    @Query("SELECT CASE WHEN COUNT(c) > 0 THEN true ELSE false END FROM CupomEntity c WHERE c.code = :code")
-    boolean existsByCodeWithLock(String code);
+    @Query("SELECT c.code FROM CupomEntity c WHERE c.code > :afterCode ORDER BY c.code")
+    List<String> findCodesAfter(String afterCode, Limit limit);
+
+    List<CupomEntity> findByCodeGreaterThanOrderByCodeAsc(String afterCode, Limit limit);
+
+    @Query("SELECT COALESCE(MAX(c.id), 0) FROM CupomEntity c")
+    long findMaxId();
+
+    List<CupomEntity> findByIdGreaterThanEqualAndIdLessThan(long fromId, long toId);
+
+    // Atendida por idx_cupons_active_expiration (V2)
+    @Query("SELECT c FROM CupomEntity c WHERE c.published = true AND c.deletedAt IS NULL "
+            + "AND c.expirationDate > :now AND c.expirationDate < :before ORDER BY c.expirationDate")
+    List<CupomEntity> findActiveExpiringBefore(LocalDateTime now, LocalDateTime before, Limit limit);
 }
@@ -2,45 +2,171 @@ package com.example.demo.infrastructure.persistence;
 
 import com.example.demo.domain.Cupom;
 import com.example.demo.domain.CupomRepository;
+import com.example.demo.domain.exceptions.DuplicateCodeException;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Repository;
 
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.function.Supplier;
 
 @Repository
+@ConditionalOnProperty(name = "cupom.sharding.enabled", havingValue = "false", matchIfMissing = true)
 public class CupomRepositoryImpl implements CupomRepository {
 
+    static final String INSERT_IF_ABSENT =
+            "INSERT INTO cupons (code, description, discount_value, expiration_date, published, deleted_at, version) "
+                    + "SELECT CAST(? AS VARCHAR(6)), CAST(? AS VARCHAR(255)), CAST(? AS NUMERIC(10, 2)), "
+                    + "CAST(? AS TIMESTAMP(6)), CAST(? AS BOOLEAN), NULL, 0 "
+                    + "WHERE NOT EXISTS (SELECT 1 FROM cupons WHERE code = ?)";
+
     private final CupomJpaRepository cupomJpaRepository;
+    private final JdbcTemplate jdbcTemplate;
 
-    public CupomRepositoryImpl(CupomJpaRepository cupomJpaRepository) {
+    public CupomRepositoryImpl(CupomJpaRepository cupomJpaRepository, JdbcTemplate jdbcTemplate) {
         this.cupomJpaRepository = cupomJpaRepository;
+        this.jdbcTemplate = jdbcTemplate;
     }
 
 
     @Override
     public Cupom save(Cupom cupom) {
-        CupomEntity cupomEntity = this.toEntity(cupom);
-        CupomEntity saved = this.cupomJpaRepository.save(cupomEntity);
-        return this.toDomain(saved);
+        return this.traced("save", cupom.getId(), cupom.getCode(), () -> {
+            CupomEntity cupomEntity = this.toEntity(cupom);
+            try {
+                // Com IDENTITY o insert é executado já no persist, então a violação aparece aqui
+                CupomEntity saved = this.cupomJpaRepository.save(cupomEntity);
+                return this.toDomain(saved);
+            } catch (DataIntegrityViolationException ex) {
+                if (CodeConstraint.isViolatedBy(ex)) {
+                    throw new DuplicateCodeException("Cupom com esse código já existe");
+                }
+                throw ex;
+            }
+        });
+    }
+
+    @Override
+    public List<Cupom> insertAllSkippingExisting(List<Cupom> cupons) {
+        return this.traced("insertAllSkippingExisting", null, null, () -> this.insertSkippingExisting(cupons));
+    }
+
+    private List<Cupom> insertSkippingExisting(List<Cupom> cupons) {
+        // Batch JDBC: com IDENTITY o Hibernate não agrupa inserts
+        int[][] counts = this.jdbcTemplate.batchUpdate(INSERT_IF_ABSENT, cupons, cupons.size(), (ps, cupom) -> {
+            ps.setString(1, cupom.getCode());
+            ps.setString(2, cupom.getDescription());
+            ps.setBigDecimal(3, cupom.getDiscountValue());
+            ps.setTimestamp(4, Timestamp.valueOf(cupom.getExpirationDate()));
+            ps.setBoolean(5, cupom.isPublished());
+            ps.setString(6, cupom.getCode());
+        });
+
+        List<String> inserted = new ArrayList<>(cupons.size());
+        int index = 0;
+        for (int[] batch : counts) {
+            for (int count : batch) {
+                if (count != 0) {
+                    inserted.add(cupons.get(index).getCode());
+                }
+                index++;
+            }
+        }
+        return inserted.isEmpty() ? List.of() : this.findAllByCodes(inserted);
     }
 
     @Override
     public Optional<Cupom> findById(Long id) {
-        return cupomJpaRepository.findById(id).map(this::toDomain);
+        return this.traced("findById", id, null, () -> cupomJpaRepository.findById(id).map(this::toDomain));
     }
 
     @Override
     public Optional<Cupom> findByCode(String code) {
-        return cupomJpaRepository.findByCode(code).map(this::toDomain);
+        return this.traced("findByCode", null, code, () -> cupomJpaRepository.findByCode(code).map(this::toDomain));
+    }
+
+    @Override
+    public List<Cupom> findAllByCodes(Collection<String> codes) {
+        return this.traced("findAllByCodes", null, null,
+                () -> cupomJpaRepository.findByCodeIn(codes).stream().map(this::toDomain).toList());
     }
 
     @Override
     public boolean existsByCode(String code) {
-        return cupomJpaRepository.existsByCode(code);
+        return this.traced("existsByCode", null, code, () -> cupomJpaRepository.existsByCode(code));
+    }
+
+    @Override
+    public List<String> findCodesAfter(String afterCode, int limit) {
+        return this.traced("findCodesAfter", null, afterCode,
+                () -> cupomJpaRepository.findCodesAfter(afterCode != null ? afterCode : "", Limit.of(limit)));
     }
 
     @Override
-    public boolean existsByCodeWithLock(String code) {
-        return cupomJpaRepository.existsByCodeWithLock(code);
+    public List<Cupom> findAllAfterCode(String afterCode, int limit) {
+        return this.traced("findAllAfterCode", null, afterCode, () ->
+                cupomJpaRepository.findByCodeGreaterThanOrderByCodeAsc(afterCode != null ? afterCode : "", Limit.of(limit))
+                        .stream()
+                        .map(this::toDomain)
+                        .toList());
+    }
+
+    @Override
+    public long findMaxId() {
+        return this.traced("findMaxId", null, null, cupomJpaRepository::findMaxId);
+    }
+
+    @Override
+    public List<Cupom> findAllByIdRange(long fromId, long toId) {
+        return this.traced("findAllByIdRange", fromId, null, () ->
+                cupomJpaRepository.findByIdGreaterThanEqualAndIdLessThan(fromId, toId).stream()
+                        .map(this::toDomain)
+                        .toList());
+    }
+
+    @Override
+    public List<Cupom> findActiveExpiringBefore(LocalDateTime now, LocalDateTime before, int limit) {
+        return this.traced("findActiveExpiringBefore", null, null, () ->
+                cupomJpaRepository.findActiveExpiringBefore(now, before, Limit.of(limit)).stream()
+                        .map(this::toDomain)
+                        .toList());
+    }
+
+    // Evento JFR da chamada; desligado, custa só a verificação de isEnabled
+    private <T> T traced(String method, Long id, String code, Supplier<T> call) {
+        RepositoryCallEvent event = new RepositoryCallEvent();
+        if (!event.isEnabled()) {
+            return call.get();
+        }
+
+        event.begin();
+        String outcome = "ERROR";
+        T result = null;
+        try {
+            result = call.get();
+            outcome = "OK";
+            return result;
+        } catch (RuntimeException ex) {
+            outcome = ex.getClass().getSimpleName();
+            throw ex;
+        } finally {
+            event.end();
+            if (event.shouldCommit()) {
+                event.method = method;
+                event.cupomId = id != null ? id : result instanceof Cupom saved && saved.getId() != null ? saved.getId() : 0;
+                event.code = code;
+                event.rows = RepositoryCallEvent.rowsOf(result);
+                event.outcome = outcome;
+                event.commit();
+            }
+        }
     }
 
     private CupomEntity toEntity(Cupom cupom) {
@@ -0,0 +1,48 @@
+package com.example.demo.infrastructure.persistence;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+import java.util.Collection;
+import java.util.Optional;
+
+// Evento JFR por chamada a CupomRepositoryImpl; rows é o número de cupons devolvidos
+@Name("cupom.RepositoryCall")
+@Label("Cupom Repository Call")
+@Category({"Cupom", "Repository"})
+@Description("Chamada ao repositório de cupons, com id/código, linhas devolvidas, resultado e duração")
+@StackTrace(false)
+class RepositoryCallEvent extends Event {
+
+    @Label("Method")
+    String method;
+
+    @Label("Cupom Id")
+    long cupomId;
+
+    @Label("Code")
+    String code;
+
+    @Label("Rows")
+    int rows;
+
+    @Label("Outcome")
+    String outcome;
+
+    static int rowsOf(Object result) {
+        if (result instanceof Collection<?> collection) {
+            return collection.size();
+        }
+        if (result instanceof Optional<?> optional) {
+            return optional.isPresent() ? 1 : 0;
+        }
+        if (result instanceof Boolean exists) {
+            return exists ? 1 : 0;
+        }
+        return result != null ? 1 : 0;
+    }
+}
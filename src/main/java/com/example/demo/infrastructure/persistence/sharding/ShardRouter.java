@@ -0,0 +1,49 @@
+package com.example.demo.infrastructure.persistence.sharding;
+
+// Roteamento por hash do código normalizado. O shard fica nos bits baixos do id
+// gerado, então findById encontra o shard sem consultar todos.
+public class ShardRouter {
+
+    static final int SHARD_BITS = 8;
+    static final int MAX_SHARDS = 1 << SHARD_BITS;
+    private static final long SHARD_MASK = MAX_SHARDS - 1;
+
+    private final int shardCount;
+
+    public ShardRouter(int shardCount) {
+        if (shardCount < 1 || shardCount > MAX_SHARDS) {
+            throw new IllegalArgumentException("Quantidade de shards deve estar entre 1 e " + MAX_SHARDS);
+        }
+        this.shardCount = shardCount;
+    }
+
+    public int shardCount() {
+        return shardCount;
+    }
+
+    public int shardForCode(String normalizedCode) {
+        // String.hashCode é especificado pela linguagem, então o roteamento é estável entre JVMs
+        return Math.floorMod(normalizedCode.hashCode(), shardCount);
+    }
+
+    public int shardForId(long id) {
+        return (int) (id & SHARD_MASK);
+    }
+
+    public long toGlobalId(long localId, int shard) {
+        return (localId << SHARD_BITS) | shard;
+    }
+
+    public long toLocalId(long id) {
+        return id >>> SHARD_BITS;
+    }
+
+    // Menor id local do shard cujo id global é >= globalId
+    public long firstLocalIdFrom(long globalId, int shard) {
+        return Math.max(0, Math.floorDiv(globalId - shard + MAX_SHARDS - 1, MAX_SHARDS));
+    }
+
+    public boolean isKnownShard(long id) {
+        return id > 0 && shardForId(id) < shardCount;
+    }
+}
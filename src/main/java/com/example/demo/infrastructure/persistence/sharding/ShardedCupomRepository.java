@@ -0,0 +1,292 @@
+package com.example.demo.infrastructure.persistence.sharding;
+
+import com.example.demo.domain.Cupom;
+import com.example.demo.domain.CupomRepository;
+import com.example.demo.domain.exceptions.DuplicateCodeException;
+import com.example.demo.infrastructure.persistence.CodeConstraint;
+import jakarta.persistence.OptimisticLockException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+
+import java.sql.PreparedStatement;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+// Escritas pelo Shards.forWrite: dentro da transação do caso de uso, no mesmo commit do outbox do shard
+public class ShardedCupomRepository implements CupomRepository {
+
+    private static final String COLUMNS =
+            "id, code, description, discount_value, expiration_date, published, deleted_at, version";
+
+    private final Shards shards;
+    private final ShardRouter router;
+
+    public ShardedCupomRepository(Shards shards) {
+        this.shards = shards;
+        this.router = shards.router();
+    }
+
+    @Override
+    public Cupom save(Cupom cupom) {
+        return cupom.getId() == null ? this.insert(cupom) : this.update(cupom);
+    }
+
+    @Override
+    public List<Cupom> insertAllSkippingExisting(List<Cupom> cupons) {
+        Map<Integer, List<Cupom>> cuponsByShard = new HashMap<>();
+        for (Cupom cupom : cupons) {
+            cuponsByShard.computeIfAbsent(this.router.shardForCode(cupom.getCode()), shard -> new ArrayList<>()).add(cupom);
+        }
+
+        List<String> inserted = new ArrayList<>(cupons.size());
+        cuponsByShard.forEach((shard, shardCupons) -> {
+            int[][] counts = this.shards.forWrite(shard).batchUpdate(
+                    "INSERT INTO cupons (code, description, discount_value, expiration_date, published, deleted_at, version) "
+                            + "SELECT CAST(? AS VARCHAR(6)), CAST(? AS VARCHAR(255)), CAST(? AS NUMERIC(10, 2)), "
+                            + "CAST(? AS TIMESTAMP(6)), CAST(? AS BOOLEAN), NULL, 0 "
+                            + "WHERE NOT EXISTS (SELECT 1 FROM cupons WHERE code = ?)",
+                    shardCupons,
+                    shardCupons.size(),
+                    (ps, cupom) -> {
+                        ps.setString(1, cupom.getCode());
+                        ps.setString(2, cupom.getDescription());
+                        ps.setBigDecimal(3, cupom.getDiscountValue());
+                        ps.setTimestamp(4, Timestamp.valueOf(cupom.getExpirationDate()));
+                        ps.setBoolean(5, cupom.isPublished());
+                        ps.setString(6, cupom.getCode());
+                    }
+            );
+            int index = 0;
+            for (int[] batch : counts) {
+                for (int count : batch) {
+                    if (count != 0) {
+                        inserted.add(shardCupons.get(index).getCode());
+                    }
+                    index++;
+                }
+            }
+        });
+        return inserted.isEmpty() ? List.of() : this.findAllByCodes(inserted);
+    }
+
+    @Override
+    public Optional<Cupom> findById(Long id) {
+        if (id == null || !this.router.isKnownShard(id)) {
+            return Optional.empty();
+        }
+        int shard = this.router.shardForId(id);
+        return this.shards.jdbc(shard)
+                .query("SELECT " + COLUMNS + " FROM cupons WHERE id = ?", this.rowMapper(shard), this.router.toLocalId(id))
+                .stream()
+                .findFirst();
+    }
+
+    @Override
+    public Optional<Cupom> findByCode(String code) {
+        int shard = this.router.shardForCode(code);
+        return this.shards.jdbc(shard)
+                .query("SELECT " + COLUMNS + " FROM cupons WHERE code = ?", this.rowMapper(shard), code)
+                .stream()
+                .findFirst();
+    }
+
+    @Override
+    public List<Cupom> findAllByCodes(Collection<String> codes) {
+        Map<Integer, List<String>> codesByShard = new HashMap<>();
+        for (String code : codes) {
+            codesByShard.computeIfAbsent(this.router.shardForCode(code), shard -> new ArrayList<>()).add(code);
+        }
+
+        // Uma consulta IN por shard envolvido, nunca por código
+        List<Cupom> result = new ArrayList<>(codes.size());
+        codesByShard.forEach((shard, shardCodes) -> result.addAll(this.shards.named(shard).query(
+                "SELECT " + COLUMNS + " FROM cupons WHERE code IN (:codes)",
+                new MapSqlParameterSource("codes", shardCodes),
+                this.rowMapper(shard)
+        )));
+        return result;
+    }
+
+    @Override
+    public List<Cupom> findAllAfterCode(String afterCode, int limit) {
+        String after = afterCode != null ? afterCode : "";
+        List<Cupom> merged = new ArrayList<>();
+        for (int shard = 0; shard < this.shards.count(); shard++) {
+            merged.addAll(this.shards.jdbc(shard).query(
+                    "SELECT " + COLUMNS + " FROM cupons WHERE code > ? ORDER BY code LIMIT ?",
+                    this.rowMapper(shard),
+                    after,
+                    limit
+            ));
+        }
+        merged.sort(Comparator.comparing(Cupom::getCode));
+        return merged.size() > limit ? List.copyOf(merged.subList(0, limit)) : merged;
+    }
+
+    @Override
+    public long findMaxId() {
+        long max = 0;
+        for (int shard = 0; shard < this.shards.count(); shard++) {
+            Long local = this.shards.jdbc(shard).queryForObject("SELECT MAX(id) FROM cupons", Long.class);
+            if (local != null) {
+                max = Math.max(max, this.router.toGlobalId(local, shard));
+            }
+        }
+        return max;
+    }
+
+    @Override
+    public List<Cupom> findAllByIdRange(long fromId, long toId) {
+        // O id global é (local << SHARD_BITS) | shard: o intervalo vira um intervalo de ids locais em cada shard
+        List<Cupom> result = new ArrayList<>();
+        for (int shard = 0; shard < this.shards.count(); shard++) {
+            result.addAll(this.shards.jdbc(shard).query(
+                    "SELECT " + COLUMNS + " FROM cupons WHERE id >= ? AND id < ?",
+                    this.rowMapper(shard),
+                    this.router.firstLocalIdFrom(fromId, shard),
+                    this.router.firstLocalIdFrom(toId, shard)
+            ));
+        }
+        return result;
+    }
+
+    @Override
+    public List<Cupom> findActiveExpiringBefore(LocalDateTime now, LocalDateTime before, int limit) {
+        // Cada shard devolve seus `limit` primeiros pela ordem de expiração; o merge pega o topo global
+        List<Cupom> merged = new ArrayList<>();
+        for (int shard = 0; shard < this.shards.count(); shard++) {
+            merged.addAll(this.shards.jdbc(shard).query(
+                    "SELECT " + COLUMNS + " FROM cupons WHERE published = TRUE AND deleted_at IS NULL "
+                            + "AND expiration_date > ? AND expiration_date < ? ORDER BY expiration_date LIMIT ?",
+                    this.rowMapper(shard),
+                    Timestamp.valueOf(now),
+                    Timestamp.valueOf(before),
+                    limit
+            ));
+        }
+        merged.sort(Comparator.comparing(Cupom::getExpirationDate));
+        return merged.size() > limit ? List.copyOf(merged.subList(0, limit)) : merged;
+    }
+
+    @Override
+    public boolean existsByCode(String code) {
+        return this.shards.jdbc(this.router.shardForCode(code))
+                .queryForList("SELECT 1 FROM cupons WHERE code = ?", Integer.class, code)
+                .stream()
+                .findAny()
+                .isPresent();
+    }
+
+    @Override
+    public List<String> findCodesAfter(String afterCode, int limit) {
+        // Cada shard devolve no máximo `limit` códigos ordenados; o merge mantém a ordem global
+        String after = afterCode != null ? afterCode : "";
+        List<String> merged = new ArrayList<>();
+        for (int shard = 0; shard < this.shards.count(); shard++) {
+            merged.addAll(this.shards.jdbc(shard).queryForList(
+                    "SELECT code FROM cupons WHERE code > ? ORDER BY code LIMIT ?", String.class, after, limit
+            ));
+        }
+        merged.sort(Comparator.naturalOrder());
+        return merged.size() > limit ? List.copyOf(merged.subList(0, limit)) : merged;
+    }
+
+    private Cupom insert(Cupom cupom) {
+        int shard = this.router.shardForCode(cupom.getCode());
+        KeyHolder keyHolder = new GeneratedKeyHolder();
+
+        // A constraint uk_cupom_code do shard dono garante a unicidade global do código
+        try {
+            this.insert(shard, cupom, keyHolder);
+        } catch (DataIntegrityViolationException ex) {
+            if (CodeConstraint.isViolatedBy(ex)) {
+                throw new DuplicateCodeException("Cupom com esse código já existe");
+            }
+            throw ex;
+        }
+
+        Cupom saved = this.copyOf(cupom, 0L);
+        saved.setId(this.router.toGlobalId(keyHolder.getKey().longValue(), shard));
+        return saved;
+    }
+
+    private void insert(int shard, Cupom cupom, KeyHolder keyHolder) {
+        this.shards.forWrite(shard).update(connection -> {
+            PreparedStatement ps = connection.prepareStatement(
+                    "INSERT INTO cupons (code, description, discount_value, expiration_date, published, deleted_at, version) "
+                            + "VALUES (?, ?, ?, ?, ?, ?, 0)",
+                    Statement.RETURN_GENERATED_KEYS
+            );
+            ps.setString(1, cupom.getCode());
+            ps.setString(2, cupom.getDescription());
+            ps.setBigDecimal(3, cupom.getDiscountValue());
+            ps.setTimestamp(4, Timestamp.valueOf(cupom.getExpirationDate()));
+            ps.setBoolean(5, cupom.isPublished());
+            ps.setTimestamp(6, cupom.getDeletedAt() != null ? Timestamp.valueOf(cupom.getDeletedAt()) : null);
+            return ps;
+        }, keyHolder);
+    }
+
+    private Cupom update(Cupom cupom) {
+        int shard = this.router.shardForId(cupom.getId());
+        int updated = this.shards.forWrite(shard).update(
+                "UPDATE cupons SET description = ?, discount_value = ?, expiration_date = ?, published = ?, "
+                        + "deleted_at = ?, version = version + 1 WHERE id = ? AND version = ?",
+                cupom.getDescription(),
+                cupom.getDiscountValue(),
+                Timestamp.valueOf(cupom.getExpirationDate()),
+                cupom.isPublished(),
+                cupom.getDeletedAt() != null ? Timestamp.valueOf(cupom.getDeletedAt()) : null,
+                this.router.toLocalId(cupom.getId()),
+                cupom.getVersion()
+        );
+
+        if (updated == 0) {
+            throw new OptimisticLockException("Cupom " + cupom.getId() + " foi modificado por outra transação");
+        }
+
+        Cupom saved = this.copyOf(cupom, cupom.getVersion() + 1);
+        saved.setId(cupom.getId());
+        return saved;
+    }
+
+    private Cupom copyOf(Cupom cupom, Long version) {
+        return new Cupom(
+                cupom.getCode(),
+                cupom.getDescription(),
+                cupom.getDiscountValue(),
+                cupom.getExpirationDate(),
+                cupom.isPublished(),
+                cupom.getDeletedAt(),
+                version
+        );
+    }
+
+    private RowMapper<Cupom> rowMapper(int shard) {
+        return (rs, rowNum) -> {
+            Timestamp deletedAt = rs.getTimestamp("deleted_at");
+            Cupom cupom = new Cupom(
+                    rs.getString("code"),
+                    rs.getString("description"),
+                    rs.getBigDecimal("discount_value"),
+                    rs.getTimestamp("expiration_date").toLocalDateTime(),
+                    rs.getBoolean("published"),
+                    deletedAt != null ? deletedAt.toLocalDateTime() : null,
+                    rs.getLong("version")
+            );
+            cupom.setId(this.router.toGlobalId(rs.getLong("id"), shard));
+            return cupom;
+        };
+    }
+}
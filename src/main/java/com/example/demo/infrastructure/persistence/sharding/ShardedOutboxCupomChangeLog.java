@@ -0,0 +1,106 @@
+package com.example.demo.infrastructure.persistence.sharding;
+
+import com.example.demo.domain.CupomChange;
+import com.example.demo.domain.CupomChangeLog;
+import com.example.demo.domain.CupomChangeType;
+import com.example.demo.infrastructure.outbox.CupomChangeFeed;
+import org.springframework.jdbc.core.RowMapper;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// Cada alteração vai para o `cupom_outbox` do shard dono do código, na transação do shard aberta
+// pela escrita do cupom. A sequence é o IDENTITY do shard: para o poller cada shard é uma partição.
+public class ShardedOutboxCupomChangeLog implements CupomChangeLog, CupomChangeFeed {
+
+    private static final String INSERT =
+            "INSERT INTO cupom_outbox (type, cupom_id, code, description, discount_value, expiration_date, published, occurred_at) "
+                    + "VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final String COLUMNS =
+            "id, type, cupom_id, code, description, discount_value, expiration_date, published, occurred_at";
+
+    private static final RowMapper<CupomChange> ROW_MAPPER = (rs, rowNum) -> new CupomChange(
+            rs.getLong("id"),
+            CupomChangeType.valueOf(rs.getString("type")),
+            rs.getObject("cupom_id", Long.class),
+            rs.getString("code"),
+            rs.getString("description"),
+            rs.getBigDecimal("discount_value"),
+            rs.getTimestamp("expiration_date").toLocalDateTime(),
+            rs.getBoolean("published"),
+            rs.getTimestamp("occurred_at").toLocalDateTime()
+    );
+
+    private final Shards shards;
+
+    public ShardedOutboxCupomChangeLog(Shards shards) {
+        this.shards = shards;
+    }
+
+    @Override
+    public void append(CupomChange change) {
+        this.appendAll(List.of(change));
+    }
+
+    @Override
+    public void appendAll(List<CupomChange> changes) {
+        Map<Integer, List<CupomChange>> changesByShard = new HashMap<>();
+        for (CupomChange change : changes) {
+            changesByShard.computeIfAbsent(this.partitionOf(change), shard -> new ArrayList<>()).add(change);
+        }
+
+        changesByShard.forEach((shard, shardChanges) -> this.shards.forWrite(shard).batchUpdate(
+                INSERT, shardChanges, shardChanges.size(), (ps, change) -> {
+                    ps.setString(1, change.type().name());
+                    ps.setObject(2, change.cupomId());
+                    ps.setString(3, change.code());
+                    ps.setString(4, change.description());
+                    ps.setBigDecimal(5, change.discountValue());
+                    ps.setTimestamp(6, Timestamp.valueOf(change.expirationDate()));
+                    ps.setBoolean(7, change.published());
+                    ps.setTimestamp(8, Timestamp.valueOf(change.occurredAt()));
+                }));
+    }
+
+    @Override
+    public int partitions() {
+        return this.shards.count();
+    }
+
+    @Override
+    public int partitionOf(CupomChange change) {
+        return this.shards.router().shardForCode(change.code());
+    }
+
+    @Override
+    public List<CupomChange> findAfter(int partition, long sequence, int limit) {
+        return this.shards.jdbc(partition).query(
+                "SELECT " + COLUMNS + " FROM cupom_outbox WHERE id > ? ORDER BY id LIMIT ?",
+                ROW_MAPPER, sequence, limit);
+    }
+
+    @Override
+    public List<CupomChange> findBetween(int partition, long afterSequence, long upToSequence, int limit) {
+        return this.shards.jdbc(partition).query(
+                "SELECT " + COLUMNS + " FROM cupom_outbox WHERE id > ? AND id <= ? ORDER BY id LIMIT ?",
+                ROW_MAPPER, afterSequence, upToSequence, limit);
+    }
+
+    @Override
+    public long lastSequence(int partition) {
+        return this.shards.jdbc(partition).queryForObject("SELECT COALESCE(MAX(id), 0) FROM cupom_outbox", Long.class);
+    }
+
+    @Override
+    public int deleteOlderThan(LocalDateTime cutoff) {
+        int removed = 0;
+        for (int shard = 0; shard < this.shards.count(); shard++) {
+            removed += this.shards.jdbc(shard).update("DELETE FROM cupom_outbox WHERE occurred_at < ?", Timestamp.valueOf(cutoff));
+        }
+        return removed;
+    }
+}
@@ -0,0 +1,49 @@
+package com.example.demo.infrastructure.persistence.sharding;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+import java.util.List;
+
+// Ativado com cupom.sharding.enabled=true e cupom.sharding.urls=<url shard 0>,<url shard 1>,...
+@Configuration
+@EnableConfigurationProperties(ShardingProperties.class)
+@ConditionalOnProperty(name = "cupom.sharding.enabled", havingValue = "true")
+public class ShardingConfig {
+
+    @Bean(destroyMethod = "close")
+    public Shards shards(ShardingProperties properties) {
+        if (properties.urls().isEmpty()) {
+            throw new IllegalStateException("cupom.sharding.urls deve ter ao menos um datasource");
+        }
+
+        List<DataSource> dataSources = properties.urls().stream()
+                .map(url -> (DataSource) DataSourceBuilder.create()
+                        .type(HikariDataSource.class)
+                        .url(url)
+                        .username(properties.username())
+                        .password(properties.password())
+                        .build())
+                .toList();
+
+        Shards shards = new Shards(dataSources);
+        shards.migrateSchema();
+        return shards;
+    }
+
+    @Bean
+    public ShardedCupomRepository shardedCupomRepository(Shards shards) {
+        return new ShardedCupomRepository(shards);
+    }
+
+    // Substitui o OutboxCupomChangeLog do datasource principal: o poller lê cada shard como uma partição
+    @Bean
+    public ShardedOutboxCupomChangeLog shardedOutboxCupomChangeLog(Shards shards) {
+        return new ShardedOutboxCupomChangeLog(shards);
+    }
+}
@@ -0,0 +1,19 @@
+package com.example.demo.infrastructure.persistence.sharding;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.List;
+
+@ConfigurationProperties(prefix = "cupom.sharding")
+public record ShardingProperties(
+        boolean enabled,
+        List<String> urls,
+        String username,
+        String password
+) {
+    public ShardingProperties {
+        urls = urls == null ? List.of() : List.copyOf(urls);
+        username = username == null ? "sa" : username;
+        password = password == null ? "" : password;
+    }
+}
@@ -0,0 +1,146 @@
+package com.example.demo.infrastructure.persistence.sharding;
+
+import org.flywaydb.core.Flyway;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.CannotGetJdbcConnectionException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.datasource.ConnectionHolder;
+import org.springframework.transaction.TransactionSystemException;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.List;
+
+// Datasources dos shards, compartilhados por ShardedCupomRepository e ShardedOutboxCupomChangeLog.
+// Uma escrita feita dentro de uma transação Spring (a do caso de uso) abre no shard uma transação
+// que a acompanha: cupom e evento do outbox do shard dono são confirmados ou desfeitos juntos.
+// Um lote que toca vários shards é atômico em cada shard, não entre eles.
+public class Shards implements AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(Shards.class);
+
+    private final List<DataSource> dataSources;
+    private final List<JdbcTemplate> templates;
+    private final List<NamedParameterJdbcTemplate> namedTemplates;
+    private final ShardRouter router;
+
+    public Shards(List<DataSource> dataSources) {
+        this.dataSources = List.copyOf(dataSources);
+        this.router = new ShardRouter(dataSources.size());
+        this.templates = this.dataSources.stream().map(JdbcTemplate::new).toList();
+        this.namedTemplates = this.templates.stream().map(NamedParameterJdbcTemplate::new).toList();
+    }
+
+    public int count() {
+        return this.dataSources.size();
+    }
+
+    public ShardRouter router() {
+        return this.router;
+    }
+
+    // Dentro de uma transação do shard já aberta, a leitura usa a mesma conexão
+    public JdbcTemplate jdbc(int shard) {
+        return this.templates.get(shard);
+    }
+
+    public NamedParameterJdbcTemplate named(int shard) {
+        return this.namedTemplates.get(shard);
+    }
+
+    public JdbcTemplate forWrite(int shard) {
+        this.joinTransaction(this.dataSources.get(shard));
+        return this.templates.get(shard);
+    }
+
+    // `cupons`, seus índices e `cupom_outbox` (db/shard-migration), com histórico próprio para não
+    // conflitar com shards já migrados por db/migration; shards criados antes do Flyway recebem baseline na V1
+    public void migrateSchema() {
+        for (DataSource dataSource : this.dataSources) {
+            Flyway.configure()
+                    .dataSource(dataSource)
+                    .locations("classpath:db/shard-migration")
+                    .table("flyway_shard_schema_history")
+                    .baselineOnMigrate(true)
+                    .baselineVersion("1")
+                    .load()
+                    .migrate();
+        }
+    }
+
+    @Override
+    public void close() throws Exception {
+        for (DataSource dataSource : this.dataSources) {
+            if (dataSource instanceof AutoCloseable closeable) {
+                closeable.close();
+            }
+        }
+    }
+
+    // Sem transação corrente cada comando confirma sozinho, como antes
+    private void joinTransaction(DataSource dataSource) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()
+                || TransactionSynchronizationManager.hasResource(dataSource)) {
+            return;
+        }
+
+        Connection connection;
+        try {
+            connection = dataSource.getConnection();
+        } catch (SQLException ex) {
+            throw new CannotGetJdbcConnectionException("Falha ao obter conexão do shard", ex);
+        }
+        try {
+            connection.setAutoCommit(false);
+        } catch (SQLException ex) {
+            close(connection);
+            throw new CannotGetJdbcConnectionException("Falha ao abrir transação no shard", ex);
+        }
+
+        ConnectionHolder holder = new ConnectionHolder(connection);
+        holder.setSynchronizedWithTransaction(true);
+        TransactionSynchronizationManager.bindResource(dataSource, holder);
+        TransactionSynchronizationManager.registerSynchronization(new ShardTransaction(dataSource, connection));
+    }
+
+    private static void close(Connection connection) {
+        try {
+            connection.close();
+        } catch (SQLException ex) {
+            log.warn("Falha ao devolver conexão do shard", ex);
+        }
+    }
+
+    // O shard confirma no beforeCommit: se falhar, a transação do caso de uso também é desfeita
+    private record ShardTransaction(DataSource dataSource, Connection connection) implements TransactionSynchronization {
+
+        @Override
+        public void beforeCommit(boolean readOnly) {
+            try {
+                this.connection.commit();
+            } catch (SQLException ex) {
+                throw new TransactionSystemException("Falha ao confirmar a transação do shard", ex);
+            }
+        }
+
+        @Override
+        public void afterCompletion(int status) {
+            TransactionSynchronizationManager.unbindResourceIfPossible(this.dataSource);
+            try {
+                if (status != STATUS_COMMITTED) {
+                    this.connection.rollback();
+                }
+                this.connection.setAutoCommit(true);
+            } catch (SQLException ex) {
+                log.warn("Falha ao encerrar a transação do shard", ex);
+            } finally {
+                close(this.connection);
+            }
+        }
+    }
+}
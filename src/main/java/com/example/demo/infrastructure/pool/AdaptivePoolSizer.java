@@ -0,0 +1,103 @@
+package com.example.demo.infrastructure.pool;
+
+import com.zaxxer.hikari.HikariConfigMXBean;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+
+// Ajusta maximumPoolSize entre minSize e maxSize pela espera média por conexão no intervalo:
+// cresce em `step` quando a espera passa do alvo e encolhe 1 após vários intervalos ociosos.
+@Component
+@ConditionalOnProperty(name = "cupom.pool.adaptive.enabled", havingValue = "true")
+public class AdaptivePoolSizer {
+
+    private static final Logger log = LoggerFactory.getLogger(AdaptivePoolSizer.class);
+
+    private final HikariDataSource dataSource;
+    private final MeterRegistry meterRegistry;
+    private final PoolProperties properties;
+
+    private long lastCount;
+    private double lastTotalNanos;
+    private int calmTicks;
+    private volatile double lastMeanWaitMillis;
+    private volatile int resizes;
+
+    public AdaptivePoolSizer(HikariDataSource dataSource, MeterRegistry meterRegistry, PoolProperties properties) {
+        this.dataSource = dataSource;
+        this.meterRegistry = meterRegistry;
+        this.properties = properties;
+    }
+
+    @Scheduled(fixedDelayString = "${cupom.pool.adaptive.interval-ms:10000}")
+    public synchronized void adjust() {
+        HikariPoolMXBean pool = this.dataSource.getHikariPoolMXBean();
+        if (pool == null) {
+            return;
+        }
+
+        double meanWaitNanos = this.meanWaitSinceLastTick();
+        this.lastMeanWaitMillis = meanWaitNanos / 1_000_000d;
+
+        HikariConfigMXBean config = this.dataSource.getHikariConfigMXBean();
+        int current = config.getMaximumPoolSize();
+        long target = this.properties.targetWait().toNanos();
+
+        if ((meanWaitNanos > target || pool.getThreadsAwaitingConnection() > 0) && current < this.properties.maxSize()) {
+            this.resize(config, Math.min(this.properties.maxSize(), current + this.properties.step()), meanWaitNanos);
+            this.calmTicks = 0;
+        } else if (meanWaitNanos < target / 4d && pool.getActiveConnections() < current / 2) {
+            if (++this.calmTicks >= this.properties.shrinkAfterTicks() && current > this.properties.minSize()) {
+                this.resize(config, current - 1, meanWaitNanos);
+                this.calmTicks = 0;
+            }
+        } else {
+            this.calmTicks = 0;
+        }
+    }
+
+    public double lastMeanWaitMillis() {
+        return this.lastMeanWaitMillis;
+    }
+
+    public int resizes() {
+        return this.resizes;
+    }
+
+    private double meanWaitSinceLastTick() {
+        Timer acquire = this.meterRegistry.find("hikaricp.connections.acquire")
+                .tag("pool", this.dataSource.getPoolName())
+                .timer();
+        if (acquire == null) {
+            return 0;
+        }
+
+        long count = acquire.count();
+        double total = acquire.totalTime(TimeUnit.NANOSECONDS);
+        long deltaCount = count - this.lastCount;
+        double deltaTotal = total - this.lastTotalNanos;
+        this.lastCount = count;
+        this.lastTotalNanos = total;
+        return deltaCount > 0 ? deltaTotal / deltaCount : 0;
+    }
+
+    private void resize(HikariConfigMXBean config, int size, double meanWaitNanos) {
+        log.info("Pool {}: maximumPoolSize {} -> {} (espera média {} ms)",
+                this.dataSource.getPoolName(), config.getMaximumPoolSize(), size,
+                String.format("%.2f", meanWaitNanos / 1_000_000d));
+        // minimumIdle acima do máximo manteria conexões que o pool não pode mais usar
+        if (config.getMinimumIdle() > size) {
+            config.setMinimumIdle(size);
+        }
+        config.setMaximumPoolSize(size);
+        this.resizes++;
+    }
+}
@@ -0,0 +1,73 @@
+package com.example.demo.infrastructure.pool;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.TransactionExecution;
+import org.springframework.transaction.TransactionExecutionListener;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.TimeUnit;
+
+// Tempo de posse da conexão por caso de uso. O Hibernate segura a conexão do primeiro
+// comando até o fim da transação, então a duração da transação é o limite superior.
+@Component
+public class ConnectionHoldTimeRecorder implements TransactionExecutionListener {
+
+    static final String METER = "cupom.connection.hold";
+
+    private final MeterRegistry meterRegistry;
+    private final ThreadLocal<Deque<Long>> startedAt = ThreadLocal.withInitial(ArrayDeque::new);
+
+    public ConnectionHoldTimeRecorder(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public void afterBegin(TransactionExecution transaction, Throwable beginFailure) {
+        if (beginFailure == null && transaction.isNewTransaction()) {
+            this.startedAt.get().push(System.nanoTime());
+        }
+    }
+
+    @Override
+    public void afterCommit(TransactionExecution transaction, Throwable commitFailure) {
+        this.record(transaction, commitFailure == null ? "commit" : "commit-failed");
+    }
+
+    @Override
+    public void afterRollback(TransactionExecution transaction, Throwable rollbackFailure) {
+        this.record(transaction, "rollback");
+    }
+
+    private void record(TransactionExecution transaction, String outcome) {
+        Deque<Long> stack = this.startedAt.get();
+        if (!transaction.isNewTransaction() || stack.isEmpty()) {
+            return;
+        }
+        long elapsed = System.nanoTime() - stack.pop();
+        if (stack.isEmpty()) {
+            this.startedAt.remove();
+        }
+
+        Timer.builder(METER)
+                .description("Tempo de posse da conexão por transação de caso de uso")
+                .tag("usecase", useCaseName(transaction.getTransactionName()))
+                .tag("outcome", outcome)
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .publishPercentileHistogram()
+                .register(this.meterRegistry)
+                .record(elapsed, TimeUnit.NANOSECONDS);
+    }
+
+    // "com.example...CreateCupomUseCase.execute" -> "CreateCupomUseCase.execute"
+    static String useCaseName(String transactionName) {
+        if (transactionName == null || transactionName.isEmpty()) {
+            return "unnamed";
+        }
+        int method = transactionName.lastIndexOf('.');
+        int type = method > 0 ? transactionName.lastIndexOf('.', method - 1) : -1;
+        return transactionName.substring(type + 1);
+    }
+}
@@ -0,0 +1,9 @@
+package com.example.demo.infrastructure.pool;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@EnableConfigurationProperties(PoolProperties.class)
+public class PoolConfig {
+}
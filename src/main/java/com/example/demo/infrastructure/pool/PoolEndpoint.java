@@ -0,0 +1,101 @@
+package com.example.demo.infrastructure.pool;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.distribution.HistogramSnapshot;
+import io.micrometer.core.instrument.distribution.ValueAtPercentile;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+
+// GET /actuator/pool: estado do Hikari, tempo de aquisição e de posse por caso de uso
+@Component
+@Endpoint(id = "pool")
+public class PoolEndpoint {
+
+    private final HikariDataSource dataSource;
+    private final MeterRegistry meterRegistry;
+    private final ObjectProvider<AdaptivePoolSizer> adaptivePoolSizer;
+
+    public PoolEndpoint(HikariDataSource dataSource, MeterRegistry meterRegistry, ObjectProvider<AdaptivePoolSizer> adaptivePoolSizer) {
+        this.dataSource = dataSource;
+        this.meterRegistry = meterRegistry;
+        this.adaptivePoolSizer = adaptivePoolSizer;
+    }
+
+    @ReadOperation
+    public PoolReport report() {
+        HikariPoolMXBean pool = this.dataSource.getHikariPoolMXBean();
+        String poolName = this.dataSource.getPoolName();
+
+        Map<String, TimerSummary> holdByUseCase = new TreeMap<>();
+        for (Timer timer : this.meterRegistry.find(ConnectionHoldTimeRecorder.METER).timers()) {
+            holdByUseCase.put(
+                    timer.getId().getTag("usecase") + " (" + timer.getId().getTag("outcome") + ")",
+                    TimerSummary.of(timer)
+            );
+        }
+
+        AdaptivePoolSizer sizer = this.adaptivePoolSizer.getIfAvailable();
+        return new PoolReport(
+                poolName,
+                pool != null ? pool.getActiveConnections() : 0,
+                pool != null ? pool.getIdleConnections() : 0,
+                pool != null ? pool.getThreadsAwaitingConnection() : 0,
+                pool != null ? pool.getTotalConnections() : 0,
+                this.dataSource.getHikariConfigMXBean().getMaximumPoolSize(),
+                this.dataSource.getHikariConfigMXBean().getMinimumIdle(),
+                TimerSummary.of(this.hikariTimer("hikaricp.connections.acquire", poolName)),
+                TimerSummary.of(this.hikariTimer("hikaricp.connections.usage", poolName)),
+                holdByUseCase,
+                sizer != null ? new AdaptiveState(sizer.lastMeanWaitMillis(), sizer.resizes()) : null
+        );
+    }
+
+    private Timer hikariTimer(String name, String poolName) {
+        return this.meterRegistry.find(name).tag("pool", poolName).timer();
+    }
+
+    public record PoolReport(
+            String pool,
+            int active,
+            int idle,
+            int pending,
+            int total,
+            int maximumPoolSize,
+            int minimumIdle,
+            TimerSummary acquire,
+            TimerSummary usage,
+            Map<String, TimerSummary> holdByUseCase,
+            AdaptiveState adaptive
+    ) { }
+
+    public record TimerSummary(long count, double meanMs, double maxMs, Map<String, Double> percentilesMs) {
+        static TimerSummary of(Timer timer) {
+            if (timer == null) {
+                return null;
+            }
+            HistogramSnapshot snapshot = timer.takeSnapshot();
+            Map<String, Double> percentiles = new LinkedHashMap<>();
+            for (ValueAtPercentile value : snapshot.percentileValues()) {
+                percentiles.put("p" + Math.round(value.percentile() * 100), value.value(TimeUnit.MILLISECONDS));
+            }
+            return new TimerSummary(
+                    snapshot.count(),
+                    snapshot.mean(TimeUnit.MILLISECONDS),
+                    snapshot.max(TimeUnit.MILLISECONDS),
+                    percentiles
+            );
+        }
+    }
+
+    public record AdaptiveState(double lastMeanWaitMs, int resizes) { }
+}
@@ -0,0 +1,23 @@
+package com.example.demo.infrastructure.pool;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "cupom.pool.adaptive")
+public record PoolProperties(
+        boolean enabled,
+        Integer minSize,
+        Integer maxSize,
+        Integer step,
+        Duration targetWait,
+        Integer shrinkAfterTicks
+) {
+    public PoolProperties {
+        minSize = minSize == null ? 5 : minSize;
+        maxSize = maxSize == null ? 30 : maxSize;
+        step = step == null ? 2 : step;
+        targetWait = targetWait == null ? Duration.ofMillis(5) : targetWait;
+        shrinkAfterTicks = shrinkAfterTicks == null ? 6 : shrinkAfterTicks;
+    }
+}
@@ -0,0 +1,125 @@
+package com.example.demo.infrastructure.ratelimit;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Limite por cliente na frente do CupomController, com orçamentos separados: escritas
+// (criar, gerar, deletar) não consomem o orçamento das leituras do checkout (consultas,
+// validate e apply). A recusa responde 429 aqui mesmo, sem chegar aos casos de uso.
+// O cliente é o IP; o cabeçalho cupom.rate-limit.client-header só é usado quando configurado (gateway confiável).
+// Cada orçamento guarda no máximo cupom.rate-limit.max-clients baldes; acima disso, clientes novos dividem um só.
+@Component
+@ConditionalOnProperty(name = "cupom.rate-limit.enabled", havingValue = "true")
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    private static final String BODY_PREFIX = "{\"message\":\"Limite de requisições excedido\",\"status\":429,\"timestamp\":\"";
+
+    private final RateLimitProperties properties;
+    private final Map<String, TokenBucket> readBuckets = new ConcurrentHashMap<>();
+    private final Map<String, TokenBucket> writeBuckets = new ConcurrentHashMap<>();
+    private final TokenBucket readOverflow;
+    private final TokenBucket writeOverflow;
+    private final Counter readRejected;
+    private final Counter writeRejected;
+
+    public RateLimitFilter(RateLimitProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        long now = System.nanoTime();
+        this.readOverflow = new TokenBucket(properties.readPerSecond(), properties.readBurst(), now);
+        this.writeOverflow = new TokenBucket(properties.writePerSecond(), properties.writeBurst(), now);
+        this.readRejected = Counter.builder("cupom.ratelimit.rejected").tag("budget", "read").register(meterRegistry);
+        this.writeRejected = Counter.builder("cupom.ratelimit.rejected").tag("budget", "write").register(meterRegistry);
+        Gauge.builder("cupom.ratelimit.clients", this, RateLimitFilter::trackedClients).register(meterRegistry);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        String path = request.getRequestURI();
+        return !(path.equals("/cupom") || path.startsWith("/cupom/"));
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        boolean write = isWrite(request);
+        String client = this.clientOf(request);
+        long now = System.nanoTime();
+
+        TokenBucket bucket = write
+                ? this.bucketFor(this.writeBuckets, this.writeOverflow, client, this.properties.writePerSecond(), this.properties.writeBurst(), now)
+                : this.bucketFor(this.readBuckets, this.readOverflow, client, this.properties.readPerSecond(), this.properties.readBurst(), now);
+        long waitNanos = bucket.tryAcquire(now);
+        if (waitNanos == 0) {
+            chain.doFilter(request, response);
+            return;
+        }
+
+        (write ? this.writeRejected : this.readRejected).increment();
+        response.setStatus(429);
+        response.setHeader("Retry-After", Long.toString(Math.max(1, (waitNanos + 999_999_999) / 1_000_000_000)));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setCharacterEncoding("UTF-8");
+        response.getWriter().write(BODY_PREFIX + LocalDateTime.now() + "\"}");
+    }
+
+    // O limite é aproximado (size e computeIfAbsent não são atômicos juntos), mas impede que
+    // IPs ou cabeçalhos variados façam os mapas crescerem sem fim
+    private TokenBucket bucketFor(Map<String, TokenBucket> buckets, TokenBucket overflow, String client,
+                                  double perSecond, int burst, long now) {
+        TokenBucket bucket = buckets.get(client);
+        if (bucket != null) {
+            return bucket;
+        }
+        if (buckets.size() >= this.properties.maxClients()) {
+            return overflow;
+        }
+        return buckets.computeIfAbsent(client, key -> new TokenBucket(perSecond, burst, now));
+    }
+
+    // Baldes cheios equivalem a baldes novos. Remover um que outra thread acabou de pegar
+    // perde no máximo aquele consumo, então não há coordenação com as requisições.
+    @Scheduled(fixedDelayString = "${cupom.rate-limit.evict-interval-ms:60000}")
+    public void evictIdle() {
+        long now = System.nanoTime();
+        this.readBuckets.values().removeIf(bucket -> bucket.isFull(now));
+        this.writeBuckets.values().removeIf(bucket -> bucket.isFull(now));
+    }
+
+    int trackedClients() {
+        return this.readBuckets.size() + this.writeBuckets.size();
+    }
+
+    static boolean isWrite(HttpServletRequest request) {
+        String method = request.getMethod();
+        if ("DELETE".equals(method)) {
+            return true;
+        }
+        String path = request.getRequestURI();
+        return "POST".equals(method) && (path.equals("/cupom") || path.equals("/cupom/generate"));
+    }
+
+    private String clientOf(HttpServletRequest request) {
+        if (this.properties.clientHeader() != null) {
+            String client = request.getHeader(this.properties.clientHeader());
+            if (client != null && !client.isBlank()) {
+                return client;
+            }
+        }
+        return request.getRemoteAddr();
+    }
+}
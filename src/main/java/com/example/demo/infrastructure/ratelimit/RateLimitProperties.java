@@ -0,0 +1,24 @@
+package com.example.demo.infrastructure.ratelimit;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@ConfigurationProperties(prefix = "cupom.rate-limit")
+public record RateLimitProperties(
+        boolean enabled,
+        Double readPerSecond,
+        Integer readBurst,
+        Double writePerSecond,
+        Integer writeBurst,
+        // Só com gateway na frente: sem ele, qualquer chamador escolhe o próprio balde
+        String clientHeader,
+        Integer maxClients
+) {
+    public RateLimitProperties {
+        readPerSecond = readPerSecond == null ? 200.0 : readPerSecond;
+        readBurst = readBurst == null ? 400 : readBurst;
+        writePerSecond = writePerSecond == null ? 20.0 : writePerSecond;
+        writeBurst = writeBurst == null ? 40 : writeBurst;
+        clientHeader = clientHeader == null || clientHeader.isBlank() ? null : clientHeader;
+        maxClients = maxClients == null ? 100_000 : maxClients;
+    }
+}
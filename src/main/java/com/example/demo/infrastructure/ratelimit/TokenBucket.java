@@ -0,0 +1,39 @@
+package com.example.demo.infrastructure.ratelimit;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+// Token bucket guardado como um único long (GCRA): o instante teórico em que o balde volta a
+// ficar cheio. Consumir um token empurra esse instante em `interval`; o pedido é recusado se
+// ele passaria de `now + capacidade * interval`. Uma CAS por requisição, sem lock.
+final class TokenBucket {
+
+    private final long intervalNanos;
+    private final long toleranceNanos;
+    private final AtomicLong fullAt;
+
+    TokenBucket(double tokensPerSecond, int burst, long now) {
+        this.intervalNanos = Math.max(1, (long) (1_000_000_000L / tokensPerSecond));
+        this.toleranceNanos = this.intervalNanos * burst;
+        this.fullAt = new AtomicLong(now);
+    }
+
+    // 0 se o token foi consumido; senão os nanos até haver um token disponível
+    long tryAcquire(long now) {
+        while (true) {
+            long current = this.fullAt.get();
+            long next = Math.max(current, now) + this.intervalNanos;
+            long excess = next - now - this.toleranceNanos;
+            if (excess > 0) {
+                return excess;
+            }
+            if (this.fullAt.compareAndSet(current, next)) {
+                return 0;
+            }
+        }
+    }
+
+    // Cheio: equivale a um balde novo e pode ser descartado
+    boolean isFull(long now) {
+        return this.fullAt.get() - now <= 0;
+    }
+}
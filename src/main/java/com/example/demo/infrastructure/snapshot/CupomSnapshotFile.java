@@ -0,0 +1,138 @@
+package com.example.demo.infrastructure.snapshot;
+
+import com.example.demo.domain.CupomState;
+import com.example.demo.infrastructure.index.PackedCode;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.stream.IntStream;
+
+// Formato do snapshot (big endian):
+//   cabeçalho  MAGIC int, count int, sequence long, writtenAt (epoch ms) long, reservado long
+//   registros  count x 48 bytes ordenados por código:
+//              código empacotado, id, desconto em centavos, expiração (epoch µs UTC), version, flags
+//   índice     count x int: posição do registro, ordenado por id
+final class CupomSnapshotFile {
+
+    static final int MAGIC = 0x43505331;
+    static final int HEADER_BYTES = 32;
+    static final int RECORD_BYTES = 48;
+    static final long PUBLISHED = 1;
+
+    private CupomSnapshotFile() {
+    }
+
+    static long toEpochMicros(LocalDateTime dateTime) {
+        return dateTime.toEpochSecond(ZoneOffset.UTC) * 1_000_000 + dateTime.getNano() / 1_000;
+    }
+
+    static LocalDateTime fromEpochMicros(long micros) {
+        return LocalDateTime.ofEpochSecond(Math.floorDiv(micros, 1_000_000), (int) Math.floorMod(micros, 1_000_000) * 1_000, ZoneOffset.UTC);
+    }
+
+    // Grava num arquivo temporário e troca o anterior com um move atômico:
+    // quem já mapeou o arquivo antigo continua lendo o inode antigo
+    static final class Writer implements AutoCloseable {
+
+        private final Path target;
+        private final Path temp;
+        private final FileChannel channel;
+        private final ByteBuffer buffer = ByteBuffer.allocateDirect(64 * 1024);
+        private final long sequence;
+        private long[] ids = new long[1024];
+        private long lastCode = -1;
+        private int count;
+        private boolean finished;
+
+        Writer(Path target, long sequence) throws IOException {
+            this.target = target;
+            this.sequence = sequence;
+            Path parent = target.toAbsolutePath().getParent();
+            Files.createDirectories(parent);
+            this.temp = Files.createTempFile(parent, target.getFileName().toString(), ".tmp");
+            this.channel = FileChannel.open(this.temp, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+            this.channel.position(HEADER_BYTES);
+        }
+
+        // Os estados devem chegar em ordem crescente de código
+        void append(CupomState state) throws IOException {
+            long code = PackedCode.encode(state.code());
+            if (code <= this.lastCode) {
+                throw new IllegalArgumentException("Snapshot exige códigos distintos em ordem crescente: " + state.code());
+            }
+            this.lastCode = code;
+
+            if (this.buffer.remaining() < RECORD_BYTES) {
+                this.flush();
+            }
+            this.buffer.putLong(code)
+                    .putLong(state.id())
+                    .putLong(state.discountCents())
+                    .putLong(toEpochMicros(state.expirationDate()))
+                    .putLong(state.version())
+                    .putLong(state.published() ? PUBLISHED : 0);
+
+            if (this.count == this.ids.length) {
+                this.ids = Arrays.copyOf(this.ids, this.count * 2);
+            }
+            this.ids[this.count++] = state.id();
+        }
+
+        int count() {
+            return this.count;
+        }
+
+        void finish() throws IOException {
+            long[] ids = this.ids;
+            int[] byId = IntStream.range(0, this.count).boxed()
+                    .sorted(Comparator.comparingLong(index -> ids[index]))
+                    .mapToInt(Integer::intValue)
+                    .toArray();
+            for (int index : byId) {
+                if (this.buffer.remaining() < Integer.BYTES) {
+                    this.flush();
+                }
+                this.buffer.putInt(index);
+            }
+            this.flush();
+
+            this.buffer.putInt(MAGIC)
+                    .putInt(this.count)
+                    .putLong(this.sequence)
+                    .putLong(System.currentTimeMillis())
+                    .putLong(0);
+            this.buffer.flip();
+            this.channel.write(this.buffer, 0);
+            this.channel.force(true);
+            this.channel.close();
+
+            Files.move(this.temp, this.target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            this.finished = true;
+        }
+
+        private void flush() throws IOException {
+            this.buffer.flip();
+            while (this.buffer.hasRemaining()) {
+                this.channel.write(this.buffer);
+            }
+            this.buffer.clear();
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (!this.finished) {
+                this.channel.close();
+                Files.deleteIfExists(this.temp);
+            }
+        }
+    }
+}
@@ -0,0 +1,117 @@
+package com.example.demo.infrastructure.snapshot;
+
+import com.example.demo.domain.CupomState;
+import com.example.demo.infrastructure.index.PackedCode;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Optional;
+
+import static com.example.demo.infrastructure.snapshot.CupomSnapshotFile.*;
+
+// Snapshot mapeado em memória somente leitura. As buscas são binárias direto sobre o
+// mapeamento: nada é copiado para o heap além do CupomState devolvido.
+final class MappedCupomSnapshot {
+
+    private final MappedByteBuffer buffer;
+    private final int count;
+    private final long sequence;
+    private final long writtenAt;
+    private final int idIndexOffset;
+
+    private MappedCupomSnapshot(MappedByteBuffer buffer) {
+        this.buffer = buffer;
+        this.count = buffer.getInt(4);
+        this.sequence = buffer.getLong(8);
+        this.writtenAt = buffer.getLong(16);
+        this.idIndexOffset = HEADER_BYTES + this.count * RECORD_BYTES;
+    }
+
+    static MappedCupomSnapshot open(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size < HEADER_BYTES || size > Integer.MAX_VALUE) {
+                throw new IOException("Snapshot com tamanho inválido: " + size);
+            }
+            // O mapeamento continua válido depois de fechar o canal
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+            int count = buffer.getInt(4);
+            if (buffer.getInt(0) != MAGIC || count < 0 || size != HEADER_BYTES + (long) count * (RECORD_BYTES + Integer.BYTES)) {
+                throw new IOException("Snapshot corrompido ou de outra versão: " + path);
+            }
+            return new MappedCupomSnapshot(buffer);
+        }
+    }
+
+    int count() {
+        return this.count;
+    }
+
+    // Última alteração do outbox já refletida no arquivo
+    long sequence() {
+        return this.sequence;
+    }
+
+    long writtenAt() {
+        return this.writtenAt;
+    }
+
+    Optional<CupomState> findByCode(String code) {
+        long key = PackedCode.encode(code);
+        if (key < 0) {
+            return Optional.empty();
+        }
+        int low = 0;
+        int high = this.count - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            long current = this.buffer.getLong(recordOffset(mid));
+            if (current < key) {
+                low = mid + 1;
+            } else if (current > key) {
+                high = mid - 1;
+            } else {
+                return Optional.of(this.stateAt(mid));
+            }
+        }
+        return Optional.empty();
+    }
+
+    Optional<CupomState> findById(long id) {
+        int low = 0;
+        int high = this.count - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            int record = this.buffer.getInt(this.idIndexOffset + mid * Integer.BYTES);
+            long current = this.buffer.getLong(recordOffset(record) + 8);
+            if (current < id) {
+                low = mid + 1;
+            } else if (current > id) {
+                high = mid - 1;
+            } else {
+                return Optional.of(this.stateAt(record));
+            }
+        }
+        return Optional.empty();
+    }
+
+    private CupomState stateAt(int record) {
+        int offset = recordOffset(record);
+        return new CupomState(
+                this.buffer.getLong(offset + 8),
+                PackedCode.decode(this.buffer.getLong(offset)),
+                this.buffer.getLong(offset + 16),
+                fromEpochMicros(this.buffer.getLong(offset + 24)),
+                (this.buffer.getLong(offset + 40) & PUBLISHED) != 0,
+                false,
+                this.buffer.getLong(offset + 32)
+        );
+    }
+
+    private static int recordOffset(int record) {
+        return HEADER_BYTES + record * RECORD_BYTES;
+    }
+}
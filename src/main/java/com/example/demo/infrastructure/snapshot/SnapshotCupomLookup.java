@@ -0,0 +1,244 @@
+package com.example.demo.infrastructure.snapshot;
+
+import com.example.demo.domain.Cupom;
+import com.example.demo.domain.CupomChange;
+import com.example.demo.domain.CupomChangeListener;
+import com.example.demo.domain.CupomLookup;
+import com.example.demo.domain.CupomRepository;
+import com.example.demo.domain.CupomState;
+import com.example.demo.infrastructure.lookup.ConditionalOnLookupMode;
+import com.example.demo.infrastructure.lookup.CupomLookupMode;
+import com.example.demo.infrastructure.lookup.RepositoryCupomLookup;
+import com.example.demo.infrastructure.outbox.CupomChangeFeed;
+import com.example.demo.infrastructure.outbox.CupomChangePoller;
+import com.example.demo.infrastructure.outbox.OutboxProperties;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Primary;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Responde buscas por código/id a partir de um snapshot mapeado em memória dos cupons
+// não deletados e não expirados, gravado periodicamente. Na subida o snapshot anterior
+// é mapeado e já atende enquanto o outbox posterior a ele é reaplicado em segundo plano.
+// Cupons deletados depois do snapshot ficam marcados e, como as faltas, vão ao banco.
+// O arquivo guarda uma única sequence, então exige o outbox sem sharding.
+@Component
+@Primary
+@ConditionalOnLookupMode(CupomLookupMode.SNAPSHOT)
+public class SnapshotCupomLookup implements CupomLookup, CupomChangeListener {
+
+    private static final Logger log = LoggerFactory.getLogger(SnapshotCupomLookup.class);
+
+    private final RepositoryCupomLookup delegate;
+    private final CupomRepository cupomRepository;
+    private final CupomChangeFeed changeFeed;
+    private final CupomChangePoller poller;
+    private final OutboxProperties outboxProperties;
+    private final Path path;
+    private final int pageSize;
+
+    private volatile MappedCupomSnapshot snapshot;
+    private volatile boolean reconciled;
+    // id/código deletado -> sequence da deleção no outbox
+    private final Map<Long, Long> deletedIds = new ConcurrentHashMap<>();
+    private final Map<String, Long> deletedCodes = new ConcurrentHashMap<>();
+
+    public SnapshotCupomLookup(
+            RepositoryCupomLookup delegate,
+            CupomRepository cupomRepository,
+            CupomChangeFeed changeFeed,
+            CupomChangePoller poller,
+            OutboxProperties outboxProperties,
+            @Value("${cupom.snapshot.path:data/cupons.snapshot}") Path path,
+            @Value("${cupom.snapshot.page-size:10000}") int pageSize
+    ) {
+        if (changeFeed.partitions() != 1) {
+            throw new IllegalStateException("cupom.lookup.mode=snapshot não é suportado com cupom.sharding.enabled=true");
+        }
+        this.delegate = delegate;
+        this.cupomRepository = cupomRepository;
+        this.changeFeed = changeFeed;
+        this.poller = poller;
+        this.outboxProperties = outboxProperties;
+        this.path = path;
+        this.pageSize = pageSize;
+    }
+
+    @PostConstruct
+    void open() {
+        MappedCupomSnapshot mapped = this.map();
+        if (mapped == null) {
+            this.reconciled = true;
+            return;
+        }
+        this.snapshot = mapped;
+        log.info("Snapshot {} mapeado: {} cupons até a sequence {}", this.path, mapped.count(), mapped.sequence());
+        Thread.ofPlatform().daemon().name("cupom-snapshot-reconcile").start(() -> this.reconcile(mapped));
+    }
+
+    private MappedCupomSnapshot map() {
+        if (!Files.exists(this.path)) {
+            return null;
+        }
+        try {
+            MappedCupomSnapshot mapped = MappedCupomSnapshot.open(this.path);
+            // Mais velho que a retenção do outbox: as deleções desde então podem ter sido purgadas
+            long maxAge = this.outboxProperties.retention().toMillis();
+            if (System.currentTimeMillis() - mapped.writtenAt() > maxAge) {
+                log.info("Snapshot {} ignorado: mais antigo que a retenção do outbox", this.path);
+                return null;
+            }
+            return mapped;
+        } catch (IOException ex) {
+            log.warn("Snapshot {} ignorado: {}", this.path, ex.getMessage());
+            return null;
+        }
+    }
+
+    // Reaplica as deleções registradas no outbox depois do snapshot
+    void reconcile(MappedCupomSnapshot mapped) {
+        long start = System.nanoTime();
+        long sequence = mapped.sequence();
+        int applied = 0;
+        try {
+            // Outbox atrás do snapshot: o arquivo veio de outro banco (ou de um banco recriado)
+            if (this.changeFeed.lastSequence(0) < sequence) {
+                log.warn("Snapshot com sequence {} à frente do outbox; consultas vão direto ao banco", sequence);
+                this.snapshot = null;
+                this.reconciled = true;
+                return;
+            }
+            List<CupomChange> batch;
+            do {
+                batch = this.changeFeed.findAfter(0, sequence, this.outboxProperties.batchSize());
+                this.onChanges(batch);
+                applied += batch.size();
+                sequence = batch.isEmpty() ? sequence : batch.get(batch.size() - 1).sequence();
+            } while (batch.size() == this.outboxProperties.batchSize());
+            this.reconciled = true;
+            log.info("Snapshot reconciliado com o outbox: {} alterações em {} ms", applied, (System.nanoTime() - start) / 1_000_000);
+        } catch (RuntimeException ex) {
+            // Sem a reconciliação o snapshot pode servir cupons já deletados: volta ao banco
+            log.warn("Falha ao reconciliar o snapshot; consultas vão direto ao banco", ex);
+            this.snapshot = null;
+            this.reconciled = true;
+        }
+    }
+
+    public boolean isServing() {
+        return this.snapshot != null;
+    }
+
+    public boolean isReconciled() {
+        return this.reconciled;
+    }
+
+    @Override
+    public void onChanges(List<CupomChange> changes) {
+        for (CupomChange change : changes) {
+            if (change.type().removesCupom()) {
+                long sequence = change.sequence() != null ? change.sequence() : Long.MAX_VALUE;
+                if (change.cupomId() != null) {
+                    this.deletedIds.merge(change.cupomId(), sequence, Math::max);
+                }
+                if (change.code() != null) {
+                    this.deletedCodes.merge(change.code(), sequence, Math::max);
+                }
+            }
+        }
+    }
+
+    @Override
+    public Optional<CupomState> findById(long id) {
+        MappedCupomSnapshot current = this.snapshot;
+        if (current != null && !this.deletedIds.containsKey(id)) {
+            Optional<CupomState> state = current.findById(id);
+            if (state.isPresent()) {
+                return state;
+            }
+        }
+        return this.delegate.findById(id);
+    }
+
+    @Override
+    public List<CupomState> findAllByCodes(Collection<String> codes) {
+        MappedCupomSnapshot current = this.snapshot;
+        if (current == null) {
+            return this.delegate.findAllByCodes(codes);
+        }
+
+        List<CupomState> found = new ArrayList<>(codes.size());
+        List<String> misses = new ArrayList<>();
+        for (String code : codes) {
+            Optional<CupomState> state = this.deletedCodes.containsKey(code) ? Optional.empty() : current.findByCode(code);
+            if (state.isPresent()) {
+                found.add(state.get());
+            } else {
+                misses.add(code);
+            }
+        }
+        if (!misses.isEmpty()) {
+            found.addAll(this.delegate.findAllByCodes(misses));
+        }
+        return found;
+    }
+
+    @Scheduled(
+            initialDelayString = "${cupom.snapshot.interval-ms:300000}",
+            fixedDelayString = "${cupom.snapshot.interval-ms:300000}"
+    )
+    public void refresh() {
+        try {
+            this.write();
+        } catch (IOException | UncheckedIOException ex) {
+            log.warn("Falha ao gravar o snapshot {}", this.path, ex);
+        }
+    }
+
+    // Grava um snapshot novo e passa a servir dele
+    synchronized void write() throws IOException {
+        long start = System.nanoTime();
+        // Tudo até aqui já foi confirmado e entregue pelo poller; o que vier depois é reaplicado
+        long sequence = this.poller.dispatchedPosition().sequence(0);
+        LocalDateTime now = LocalDateTime.now();
+
+        int count;
+        try (CupomSnapshotFile.Writer writer = new CupomSnapshotFile.Writer(this.path, sequence)) {
+            String after = null;
+            List<Cupom> page;
+            do {
+                page = this.cupomRepository.findAllAfterCode(after, this.pageSize);
+                for (Cupom cupom : page) {
+                    if (!cupom.isDeleted() && !cupom.isExpired(now)) {
+                        writer.append(CupomState.of(cupom));
+                    }
+                }
+                after = page.isEmpty() ? after : page.get(page.size() - 1).getCode();
+            } while (page.size() == this.pageSize);
+            count = writer.count();
+            writer.finish();
+        }
+
+        MappedCupomSnapshot mapped = MappedCupomSnapshot.open(this.path);
+        this.snapshot = mapped;
+        // Deleções já refletidas no novo arquivo não precisam mais de marca
+        this.deletedIds.values().removeIf(deletedAt -> deletedAt <= mapped.sequence());
+        this.deletedCodes.values().removeIf(deletedAt -> deletedAt <= mapped.sequence());
+        log.info("Snapshot {} gravado: {} cupons em {} ms", this.path, count, (System.nanoTime() - start) / 1_000_000);
+    }
+}
@@ -0,0 +1,33 @@
+package com.example.demo.infrastructure.web;
+
+import com.example.demo.infrastructure.outbox.CupomChangeStream;
+import com.example.demo.infrastructure.outbox.OutboxPosition;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+@RestController
+@RequestMapping("/cupom")
+public class CupomChangesController {
+    private final CupomChangeStream cupomChangeStream;
+
+    public CupomChangesController(CupomChangeStream cupomChangeStream) {
+        this.cupomChangeStream = cupomChangeStream;
+    }
+
+    // since (ou o header Last-Event-ID na reconexão) é o id do último evento recebido pelo cliente:
+    // a sequence, ou uma sequence por shard separadas por vírgula com sharding
+    @GetMapping(path = "/changes", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter changes(
+            @RequestParam(required = false) OutboxPosition since,
+            @RequestHeader(name = "Last-Event-ID", required = false) OutboxPosition lastEventId
+    ) {
+        try {
+            return cupomChangeStream.subscribe(since != null ? since : lastEventId);
+        } catch (IllegalArgumentException ex) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, ex.getMessage());
+        }
+    }
+}
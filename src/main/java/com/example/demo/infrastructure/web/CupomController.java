@@ -1,15 +1,39 @@
 package com.example.demo.infrastructure.web;
 
+import com.example.demo.application.dtos.ApplyDiscountsDto;
+import com.example.demo.application.dtos.CartPriceResponse;
+import com.example.demo.application.dtos.CodeValidationResponse;
 import com.example.demo.application.dtos.CreateCupomDto;
 import com.example.demo.application.dtos.CupomResponse;
+import com.example.demo.application.dtos.GenerateCuponsDto;
+import com.example.demo.application.dtos.ValidateCodesDto;
+import com.example.demo.application.usecases.ApplyDiscountsUseCase;
 import com.example.demo.application.usecases.CreateCupomUseCase;
 import com.example.demo.application.usecases.DeleteCupomUseCase;
+import com.example.demo.application.usecases.FindCodesByPrefixUseCase;
+import com.example.demo.application.usecases.FindCupomStatusUseCase;
 import com.example.demo.application.usecases.FindCupomUseCase;
+import com.example.demo.application.usecases.FindTopDiscountsUseCase;
+import com.example.demo.application.usecases.GenerateCuponsUseCase;
+import com.example.demo.application.usecases.SearchCuponsUseCase;
+import com.example.demo.application.usecases.ValidateCodesUseCase;
+import com.example.demo.domain.ActiveDiscount;
+import com.example.demo.domain.CodePrefixMatch;
 import com.example.demo.domain.Cupom;
+import com.example.demo.domain.CupomSearchHit;
 import jakarta.validation.Valid;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
 import java.util.Optional;
 
 @RestController
@@ -18,11 +42,25 @@ public class CupomController {
     private final CreateCupomUseCase createCouponUseCase;
     private final DeleteCupomUseCase deleteCouponUseCase;
     private final FindCupomUseCase findCouponUseCase;
+    private final ValidateCodesUseCase validateCodesUseCase;
+    private final GenerateCuponsUseCase generateCuponsUseCase;
+    private final SearchCuponsUseCase searchCuponsUseCase;
+    private final FindCodesByPrefixUseCase findCodesByPrefixUseCase;
+    private final FindTopDiscountsUseCase findTopDiscountsUseCase;
+    private final ApplyDiscountsUseCase applyDiscountsUseCase;
+    private final FindCupomStatusUseCase findCupomStatusUseCase;
 
-    public CupomController(CreateCupomUseCase createCouponUseCase, DeleteCupomUseCase deleteCouponUseCase, FindCupomUseCase findCouponUseCase) {
+    public CupomController(CreateCupomUseCase createCouponUseCase, DeleteCupomUseCase deleteCouponUseCase, FindCupomUseCase findCouponUseCase, ValidateCodesUseCase validateCodesUseCase, GenerateCuponsUseCase generateCuponsUseCase, SearchCuponsUseCase searchCuponsUseCase, FindCodesByPrefixUseCase findCodesByPrefixUseCase, FindTopDiscountsUseCase findTopDiscountsUseCase, ApplyDiscountsUseCase applyDiscountsUseCase, FindCupomStatusUseCase findCupomStatusUseCase) {
         this.createCouponUseCase = createCouponUseCase;
         this.deleteCouponUseCase = deleteCouponUseCase;
         this.findCouponUseCase = findCouponUseCase;
+        this.validateCodesUseCase = validateCodesUseCase;
+        this.generateCuponsUseCase = generateCuponsUseCase;
+        this.searchCuponsUseCase = searchCuponsUseCase;
+        this.findCodesByPrefixUseCase = findCodesByPrefixUseCase;
+        this.findTopDiscountsUseCase = findTopDiscountsUseCase;
+        this.applyDiscountsUseCase = applyDiscountsUseCase;
+        this.findCupomStatusUseCase = findCupomStatusUseCase;
     }
 
 
@@ -32,12 +70,70 @@ public class CupomController {
         return createCouponUseCase.execute(request);
     }
 
+    @PostMapping("/validate")
+    public List<CodeValidationResponse> validate(@Valid @RequestBody ValidateCodesDto request) {
+        return validateCodesUseCase.execute(request);
+    }
+
+    @PostMapping("/apply")
+    public List<CartPriceResponse> apply(@Valid @RequestBody ApplyDiscountsDto request) {
+        return applyDiscountsUseCase.execute(request);
+    }
+
+    // Um código por linha, enviado conforme cada lote é persistido
+    @PostMapping("/generate")
+    public ResponseEntity<StreamingResponseBody> generate(@Valid @RequestBody GenerateCuponsDto request) {
+        generateCuponsUseCase.validate(request);
+
+        StreamingResponseBody body = outputStream -> {
+            Writer writer = new OutputStreamWriter(outputStream, StandardCharsets.UTF_8);
+            generateCuponsUseCase.execute(request, codes -> {
+                try {
+                    for (String code : codes) {
+                        writer.write(code);
+                        writer.write('\n');
+                    }
+                    writer.flush();
+                } catch (IOException ex) {
+                    throw new UncheckedIOException(ex);
+                }
+            });
+        };
+
+        return ResponseEntity.status(HttpStatus.CREATED)
+                .contentType(MediaType.TEXT_PLAIN)
+                .body(body);
+    }
+
+    // Busca textual na descrição pelo índice de trigramas em memória, sem consultar o banco
+    @GetMapping("/search")
+    public List<CupomSearchHit> search(@RequestParam String q, @RequestParam(required = false) Integer limit) {
+        return searchCuponsUseCase.execute(q, limit);
+    }
+
+    // Autocompletar de códigos, também servido só da memória
+    @GetMapping("/code-prefix/{prefix}")
+    public List<CodePrefixMatch> findByCodePrefix(@PathVariable String prefix, @RequestParam(required = false) Integer limit) {
+        return findCodesByPrefixUseCase.execute(prefix, limit);
+    }
+
+    @GetMapping("/top")
+    public List<ActiveDiscount> top(@RequestParam(required = false) Integer n) {
+        return findTopDiscountsUseCase.execute(n);
+    }
+
     @DeleteMapping("/{id}")
     @ResponseStatus(HttpStatus.NO_CONTENT)
     public void delete(@PathVariable Long id) {
         deleteCouponUseCase.execute(id);
     }
 
+    // Status pelo id via CupomLookup (snapshot/fora do heap quando ligados), sem a descrição
+    @GetMapping("/{id}/status")
+    public CodeValidationResponse status(@PathVariable Long id) {
+        return findCupomStatusUseCase.execute(id);
+    }
+
     @GetMapping("/{id}")
     public Optional<Cupom> findById(@PathVariable Long id) {
         return findCouponUseCase.execute(id);
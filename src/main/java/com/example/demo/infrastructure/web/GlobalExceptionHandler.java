@@ -4,6 +4,7 @@ package com.example.demo.infrastructure.web;
 import com.example.demo.application.execeptions.CodeAlreadyExists;
 import com.example.demo.application.execeptions.CupomConcurrencyException;
 import com.example.demo.application.execeptions.CupomNotFound;
+import com.example.demo.application.execeptions.CupomValidationException;
 import com.example.demo.application.usecases.ErrorResponse;
 import com.example.demo.domain.exceptions.CoupomAlreadyDeletedException;
 import com.example.demo.domain.exceptions.InvalidCodeException;
@@ -27,6 +28,13 @@ public class GlobalExceptionHandler {
                 .body(ErrorResponse.of(ex.getMessage(), 400));
     }
 
+    @ExceptionHandler(CupomValidationException.class)
+    public ResponseEntity<ErrorResponse> handleValidation(CupomValidationException ex) {
+        return ResponseEntity
+                .badRequest()
+                .body(ErrorResponse.of(ex.getMessage(), 400));
+    }
+
     @ExceptionHandler(CupomConcurrencyException.class)
     public ResponseEntity<ErrorResponse> handleInvalidCode(CupomConcurrencyException ex) {
         return ResponseEntity
@@ -0,0 +1,25 @@
+-- Esquema que o Hibernate gerava a partir de CupomEntity e CupomOutboxEntity.
+-- Bancos já existentes recebem baseline nesta versão (spring.flyway.baseline-on-migrate).
+CREATE TABLE cupons (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    code VARCHAR(6) NOT NULL,
+    description VARCHAR(255) NOT NULL,
+    discount_value NUMERIC(10, 2) NOT NULL,
+    expiration_date TIMESTAMP(6) NOT NULL,
+    published BOOLEAN NOT NULL,
+    deleted_at TIMESTAMP(6),
+    version BIGINT,
+    CONSTRAINT uk_cupom_code UNIQUE (code)
+);
+
+CREATE TABLE cupom_outbox (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    type VARCHAR(16) NOT NULL,
+    cupom_id BIGINT,
+    code VARCHAR(6) NOT NULL,
+    description VARCHAR(255) NOT NULL,
+    discount_value NUMERIC(10, 2) NOT NULL,
+    expiration_date TIMESTAMP(6) NOT NULL,
+    published BOOLEAN NOT NULL,
+    occurred_at TIMESTAMP(6) NOT NULL
+);
@@ -0,0 +1,6 @@
+-- Cupons ativos: published = TRUE AND deleted_at IS NULL, com faixa e ordenação por expiration_date.
+-- As colunas de igualdade vêm antes para que a faixa em expiration_date seja lida em ordem do índice.
+CREATE INDEX idx_cupons_active_expiration ON cupons (published, deleted_at, expiration_date);
+
+-- Ordenação/faixa por expiração sem filtro de status (ex.: arquivamento de expirados)
+CREATE INDEX idx_cupons_expiration ON cupons (expiration_date);
@@ -0,0 +1,18 @@
+-- Cupons deletados ou expirados há mais que a retenção, movidos de `cupons` pelo CupomArchiver.
+-- Sem unicidade de código: depois de arquivado, o código pode ser usado por um cupom novo.
+CREATE TABLE cupons_archive (
+    id BIGINT PRIMARY KEY,
+    code VARCHAR(6) NOT NULL,
+    description VARCHAR(255) NOT NULL,
+    discount_value NUMERIC(10, 2) NOT NULL,
+    expiration_date TIMESTAMP(6) NOT NULL,
+    published BOOLEAN NOT NULL,
+    deleted_at TIMESTAMP(6),
+    version BIGINT,
+    archived_at TIMESTAMP(6) NOT NULL
+);
+
+CREATE INDEX idx_cupons_archive_code ON cupons_archive (code);
+
+-- Faixa por data de deleção para o arquivamento dos deletados
+CREATE INDEX idx_cupons_deleted_at ON cupons (deleted_at);
@@ -0,0 +1,13 @@
+-- Shards guardam só `cupons`: outbox e arquivo ficam no datasource principal (db/migration).
+-- Shards criados antes do Flyway recebem baseline nesta versão.
+CREATE TABLE cupons (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    code VARCHAR(6) NOT NULL,
+    description VARCHAR(255) NOT NULL,
+    discount_value NUMERIC(10, 2) NOT NULL,
+    expiration_date TIMESTAMP(6) NOT NULL,
+    published BOOLEAN NOT NULL,
+    deleted_at TIMESTAMP(6),
+    version BIGINT,
+    CONSTRAINT uk_cupom_code UNIQUE (code)
+);
@@ -0,0 +1,7 @@
+-- Mesmos índices de `cupons` do datasource principal (V2 e V3 de db/migration).
+-- IF NOT EXISTS: shards já migrados com db/migration têm esses índices.
+CREATE INDEX IF NOT EXISTS idx_cupons_active_expiration ON cupons (published, deleted_at, expiration_date);
+
+CREATE INDEX IF NOT EXISTS idx_cupons_expiration ON cupons (expiration_date);
+
+CREATE INDEX IF NOT EXISTS idx_cupons_deleted_at ON cupons (deleted_at);
@@ -0,0 +1,13 @@
+-- Cada shard tem o próprio outbox, gravado na mesma transação de `cupons`, com sequence (IDENTITY) própria.
+-- IF NOT EXISTS: shards já migrados com db/migration têm essa tabela.
+CREATE TABLE IF NOT EXISTS cupom_outbox (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    type VARCHAR(16) NOT NULL,
+    cupom_id BIGINT,
+    code VARCHAR(6) NOT NULL,
+    description VARCHAR(255) NOT NULL,
+    discount_value NUMERIC(10, 2) NOT NULL,
+    expiration_date TIMESTAMP(6) NOT NULL,
+    published BOOLEAN NOT NULL,
+    occurred_at TIMESTAMP(6) NOT NULL
+);
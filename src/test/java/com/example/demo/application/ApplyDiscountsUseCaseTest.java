@@ -0,0 +1,103 @@
+package com.example.demo.application;
+
+import com.example.demo.application.dtos.ApplyDiscountsDto;
+import com.example.demo.application.dtos.ApplyDiscountsDto.CartDto;
+import com.example.demo.application.dtos.CartPriceResponse;
+import com.example.demo.application.execeptions.CupomValidationException;
+import com.example.demo.application.usecases.ApplyDiscountsUseCase;
+import com.example.demo.domain.Cupom;
+import com.example.demo.domain.CupomLookup;
+import com.example.demo.domain.CupomState;
+import com.example.demo.domain.CupomStatus;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@DisplayName("ApplyDiscountsUseCase Tests")
+@ExtendWith(MockitoExtension.class)
+class ApplyDiscountsUseCaseTest {
+
+    @Mock
+    private CupomLookup cupomLookup;
+
+    private ApplyDiscountsUseCase applyUseCase;
+
+    @BeforeEach
+    void setUp() {
+        applyUseCase = new ApplyDiscountsUseCase(cupomLookup);
+    }
+
+    private CupomState cupom(String code, String discount, LocalDateTime expirationDate, LocalDateTime deletedAt) {
+        Cupom cupom = new Cupom(code, "Cupom " + code, new BigDecimal(discount), expirationDate, true, deletedAt, 0L);
+        cupom.setId((long) code.hashCode());
+        return CupomState.of(cupom);
+    }
+
+    @Test
+    @DisplayName("Deve aplicar o desconto apenas de cupons válidos, com uma única consulta")
+    @SuppressWarnings("unchecked")
+    void shouldApplyOnlyValidCuponsWithSingleQuery() {
+        LocalDateTime future = LocalDateTime.now().plusDays(7);
+        when(cupomLookup.findAllByCodes(any())).thenReturn(List.of(
+                cupom("OFF150", "15.00", future, null),
+                cupom("EXPIR1", "10.00", LocalDateTime.now().minusDays(1), null)
+        ));
+
+        List<CartPriceResponse> responses = applyUseCase.execute(new ApplyDiscountsDto(List.of(
+                new CartDto("OFF-150", 10_000L),
+                new CartDto("OFF150", 1_000L),
+                new CartDto("EXPIR1", 5_000L),
+                new CartDto("NOPE01", 2_000L),
+                new CartDto("AB", 3_000L)
+        )));
+
+        assertEquals(
+                List.of(CupomStatus.VALID, CupomStatus.VALID, CupomStatus.EXPIRED, CupomStatus.UNKNOWN, CupomStatus.UNKNOWN),
+                responses.stream().map(CartPriceResponse::status).toList()
+        );
+        assertEquals(List.of(8_500L, 0L, 5_000L, 2_000L, 3_000L), responses.stream().map(CartPriceResponse::finalTotalCents).toList());
+        assertEquals(List.of(1_500L, 1_000L, 0L, 0L, 0L), responses.stream().map(CartPriceResponse::discountCents).toList());
+        assertEquals("OFF-150", responses.get(0).code());
+        assertEquals("OFF150", responses.get(0).normalizedCode());
+
+        ArgumentCaptor<Collection<String>> captor = ArgumentCaptor.forClass(Collection.class);
+        verify(cupomLookup, times(1)).findAllByCodes(captor.capture());
+        assertEquals(Set.of("OFF150", "EXPIR1", "NOPE01"), Set.copyOf(captor.getValue()));
+    }
+
+    @Test
+    @DisplayName("Deve rejeitar o lote quando algum total é negativo")
+    void shouldRejectNegativeTotals() {
+        CupomValidationException ex = assertThrows(CupomValidationException.class, () -> applyUseCase.execute(
+                new ApplyDiscountsDto(List.of(new CartDto("OFF150", 100L), new CartDto("OFF150", -1L)))
+        ));
+
+        assertEquals("carts[1].totalCents", ex.getErrors().get(0).field());
+        verifyNoInteractions(cupomLookup);
+    }
+
+    @Test
+    @DisplayName("Deve rejeitar o lote quando algum total não é informado")
+    void shouldRejectMissingTotals() {
+        CupomValidationException ex = assertThrows(CupomValidationException.class, () -> applyUseCase.execute(
+                new ApplyDiscountsDto(List.of(new CartDto("OFF150", null)))
+        ));
+
+        assertEquals("carts[0].totalCents", ex.getErrors().get(0).field());
+        verifyNoInteractions(cupomLookup);
+    }
+}
@@ -0,0 +1,185 @@
+package com.example.demo.application;
+
+import com.example.demo.application.cache.CupomMissCache;
+import com.example.demo.application.concurrency.StripedCodeLock;
+import com.example.demo.application.dtos.CreateCupomDto;
+import com.example.demo.application.execeptions.CodeAlreadyExists;
+import com.example.demo.application.usecases.CreateCupomUseCase;
+import com.example.demo.domain.Cupom;
+import com.example.demo.domain.CupomChangeLog;
+import com.example.demo.domain.CupomCreateMode;
+import com.example.demo.domain.CupomRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+@DisplayName("CreateCupomUseCase Concurrency Tests")
+class CreateCupomConcurrencyTest {
+
+    private static final int THREADS = 16;
+    private static final int CODES = 20;
+    private static final int ROUNDS = 10;
+
+    // Sem constraint de unicidade e com uma janela entre a verificação e o insert:
+    // qualquer duplicata aqui vem da falta de serialização no caso de uso
+    static class RacyRepository implements CupomRepository {
+        final Map<String, List<Cupom>> rows = new ConcurrentHashMap<>();
+        private final AtomicLong ids = new AtomicLong();
+
+        @Override
+        public Cupom save(Cupom cupom) {
+            try {
+                Thread.sleep(1);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+            cupom.setId(ids.incrementAndGet());
+            rows.computeIfAbsent(cupom.getCode(), code -> new CopyOnWriteArrayList<>()).add(cupom);
+            return cupom;
+        }
+
+        @Override
+        public boolean existsByCode(String code) {
+            return rows.containsKey(code);
+        }
+
+        @Override
+        public List<Cupom> insertAllSkippingExisting(List<Cupom> cupons) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public Optional<Cupom> findById(Long id) {
+            return Optional.empty();
+        }
+
+        @Override
+        public Optional<Cupom> findByCode(String code) {
+            return Optional.empty();
+        }
+
+        @Override
+        public List<Cupom> findAllByCodes(Collection<String> codes) {
+            return List.of();
+        }
+
+        @Override
+        public List<String> findCodesAfter(String afterCode, int limit) {
+            return List.of();
+        }
+
+        @Override
+        public List<Cupom> findAllAfterCode(String afterCode, int limit) {
+            return List.of();
+        }
+
+        @Override
+        public long findMaxId() {
+            return 0;
+        }
+
+        @Override
+        public List<Cupom> findAllByIdRange(long fromId, long toId) {
+            return List.of();
+        }
+
+        @Override
+        public List<Cupom> findActiveExpiringBefore(LocalDateTime now, LocalDateTime before, int limit) {
+            return List.of();
+        }
+    }
+
+    private int runConcurrently(CreateCupomUseCase useCase, AtomicInteger rejected) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicInteger created = new AtomicInteger();
+        try {
+            List<Future<?>> futures = new CopyOnWriteArrayList<>();
+            for (int t = 0; t < THREADS; t++) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    for (int round = 0; round < ROUNDS; round++) {
+                        for (int c = 0; c < CODES; c++) {
+                            try {
+                                useCase.execute(request(c));
+                                created.incrementAndGet();
+                            } catch (CodeAlreadyExists ex) {
+                                rejected.incrementAndGet();
+                            }
+                        }
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        return created.get();
+    }
+
+    private static CreateCupomDto request(int index) {
+        return new CreateCupomDto(String.format("HOT%03d", index), "Concorrência", new BigDecimal("10.00"),
+                LocalDateTime.now().plusDays(7), true);
+    }
+
+    @Test
+    @DisplayName("Deve criar cada código exatamente uma vez sob concorrência")
+    void shouldCreateEachCodeExactlyOnceUnderConcurrency() throws Exception {
+        RacyRepository repository = new RacyRepository();
+        CreateCupomUseCase useCase = new CreateCupomUseCase(
+                repository, mock(CupomChangeLog.class), CupomCreateMode.CHECK_FIRST, new StripedCodeLock(64),
+                new CupomMissCache(Duration.ofSeconds(5), 1_000)
+        );
+        AtomicInteger rejected = new AtomicInteger();
+
+        int created = runConcurrently(useCase, rejected);
+
+        assertEquals(CODES, created);
+        assertEquals(THREADS * ROUNDS * CODES - CODES, rejected.get());
+        assertEquals(CODES, repository.rows.size());
+        assertTrue(repository.rows.values().stream().allMatch(rows -> rows.size() == 1));
+    }
+
+    @Test
+    @DisplayName("Sem reserva o mesmo cenário gera duplicatas")
+    void shouldProduceDuplicatesWithoutReservation() throws Exception {
+        RacyRepository repository = new RacyRepository();
+        StripedCodeLock noLock = new StripedCodeLock(1) {
+            @Override
+            public Reservation reserve(String normalizedCode) {
+                return () -> { };
+            }
+        };
+        CreateCupomUseCase useCase = new CreateCupomUseCase(
+                repository, mock(CupomChangeLog.class), CupomCreateMode.CHECK_FIRST, noLock,
+                new CupomMissCache(Duration.ofSeconds(5), 1_000)
+        );
+
+        int created = runConcurrently(useCase, new AtomicInteger());
+
+        assertTrue(created > CODES);
+    }
+}
@@ -1,11 +1,19 @@
 package com.example.demo.application;
 
+import com.example.demo.application.cache.CupomMissCache;
+import com.example.demo.application.concurrency.StripedCodeLock;
 import com.example.demo.application.dtos.CreateCupomDto;
 import com.example.demo.application.dtos.CupomResponse;
 import com.example.demo.application.execeptions.CodeAlreadyExists;
+import com.example.demo.application.execeptions.CupomValidationException;
 import com.example.demo.application.usecases.CreateCupomUseCase;
 import com.example.demo.domain.Cupom;
+import com.example.demo.domain.CupomChange;
+import com.example.demo.domain.CupomChangeLog;
+import com.example.demo.domain.CupomChangeType;
+import com.example.demo.domain.CupomCreateMode;
 import com.example.demo.domain.CupomRepository;
+import com.example.demo.domain.exceptions.DuplicateCodeException;
 import com.example.demo.domain.exceptions.InvalidCodeException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -18,7 +26,10 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.dao.DataIntegrityViolationException;
 
 import java.math.BigDecimal;
+import java.time.Duration;
 import java.time.LocalDateTime;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
@@ -31,13 +42,22 @@ class CreateCupomUseCaseTest {
     @Mock
     private CupomRepository cupomRepository;
 
+    @Mock
+    private CupomChangeLog cupomChangeLog;
+
+    private StripedCodeLock codeLock;
+
+    private CupomMissCache missCache;
+
     private CreateCupomUseCase createUseCase;
 
     private CreateCupomDto validRequest;
 
     @BeforeEach
     void setUp() {
-        createUseCase = new CreateCupomUseCase(cupomRepository);
+        codeLock = new StripedCodeLock(16);
+        missCache = new CupomMissCache(Duration.ofSeconds(5), 1_000);
+        createUseCase = new CreateCupomUseCase(cupomRepository, cupomChangeLog, CupomCreateMode.CHECK_FIRST, codeLock, missCache);
 
         validRequest = new CreateCupomDto(
                 "ABC123",
@@ -100,8 +120,8 @@ class CreateCupomUseCaseTest {
         }
 
         @Test
-        @DisplayName("Deve usar lock pessimista para verificar duplicidade")
-        void shouldUsePessimisticLockToCheckDuplicates() {
+        @DisplayName("Deve liberar a reserva do código ao terminar")
+        void shouldReleaseCodeReservationWhenDone() throws Exception {
             when(cupomRepository.existsByCode("ABC123")).thenReturn(false);
             when(cupomRepository.save(any(Cupom.class))).thenReturn(new Cupom(
                     "ABC123", "Desc", new BigDecimal("10.00"),
@@ -111,6 +131,12 @@ class CreateCupomUseCaseTest {
             createUseCase.execute(validRequest);
 
             verify(cupomRepository).existsByCode("ABC123");
+            // Outra thread consegue reservar o mesmo código logo em seguida
+            assertTrue(CompletableFuture.supplyAsync(() -> {
+                try (StripedCodeLock.Reservation ignored = codeLock.reserve("ABC123")) {
+                    return true;
+                }
+            }).get(1, TimeUnit.SECONDS));
         }
 
         @Test
@@ -328,13 +354,12 @@ class CreateCupomUseCaseTest {
                         true
                 );
 
-                when(cupomRepository.existsByCode("ABC123")).thenReturn(false);
-
                 // Cupom deve lançar exceção para descrição inválida
                 assertThrows(
-                        Exception.class,
+                        CupomValidationException.class,
                         () -> createUseCase.execute(invalidDescRequest)
                 );
+                verify(cupomRepository, never()).existsByCode(any());
             }
 
             @Test
@@ -348,13 +373,12 @@ class CreateCupomUseCaseTest {
                         true
                 );
 
-                when(cupomRepository.existsByCode("ABC123")).thenReturn(false);
-
                 // Cupom deve lançar exceção para desconto inválidow
                 assertThrows(
-                        Exception.class,
+                        CupomValidationException.class,
                         () -> createUseCase.execute(invalidDiscountRequest)
                 );
+                verify(cupomRepository, never()).existsByCode(any());
             }
 
             @Test
@@ -368,13 +392,36 @@ class CreateCupomUseCaseTest {
                         true
                 );
 
-                when(cupomRepository.existsByCode("ABC123")).thenReturn(false);
-
                 // Cupom deve lançar exceção para data inválida
                 assertThrows(
-                        Exception.class,
+                        CupomValidationException.class,
                         () -> createUseCase.execute(invalidDateRequest)
                 );
+                verify(cupomRepository, never()).existsByCode(any());
+            }
+
+            @Test
+            @DisplayName("Deve acumular todos os erros de validação em uma única resposta")
+            void shouldAccumulateAllValidationErrors() {
+                CreateCupomDto invalidRequest = new CreateCupomDto(
+                        "AB",
+                        " ",
+                        new BigDecimal("0.1"),
+                        LocalDateTime.now().minusDays(1),
+                        true
+                );
+
+                CupomValidationException exception = assertThrows(
+                        CupomValidationException.class,
+                        () -> createUseCase.execute(invalidRequest)
+                );
+
+                assertEquals(4, exception.getErrors().size());
+                assertTrue(exception.getMessage().contains("code"));
+                assertTrue(exception.getMessage().contains("description"));
+                assertTrue(exception.getMessage().contains("discountValue"));
+                assertTrue(exception.getMessage().contains("expirationDate"));
+                verifyNoInteractions(cupomRepository);
             }
         }
 
@@ -404,6 +451,132 @@ class CreateCupomUseCaseTest {
                 verify(cupomRepository).existsByCode("ABC123");
                 verify(cupomRepository).save(any(Cupom.class));
             }
+
+            @Test
+            @DisplayName("Deve registrar evento de criação no outbox com o cupom salvo")
+            void shouldAppendCreatedEventToOutbox() {
+                when(cupomRepository.existsByCode("ABC123")).thenReturn(false);
+
+                Cupom savedCupom = new Cupom(
+                        validRequest.code(),
+                        validRequest.description(),
+                        validRequest.discountValue(),
+                        validRequest.expirationDate(),
+                        validRequest.published()
+                );
+                savedCupom.setId(7L);
+                when(cupomRepository.save(any(Cupom.class))).thenReturn(savedCupom);
+
+                createUseCase.execute(validRequest);
+
+                ArgumentCaptor<CupomChange> captor = ArgumentCaptor.forClass(CupomChange.class);
+                verify(cupomChangeLog).append(captor.capture());
+                assertEquals(CupomChangeType.CREATED, captor.getValue().type());
+                assertEquals(7L, captor.getValue().cupomId());
+                assertEquals("ABC123", captor.getValue().code());
+            }
+
+            @Test
+            @DisplayName("Não deve registrar evento quando o código já existe")
+            void shouldNotAppendEventWhenCodeExists() {
+                when(cupomRepository.existsByCode("ABC123")).thenReturn(true);
+
+                assertThrows(CodeAlreadyExists.class, () -> createUseCase.execute(validRequest));
+
+                verifyNoInteractions(cupomChangeLog);
+            }
+        }
+    }
+
+    @Nested
+    @DisplayName("Modo INSERT_FIRST")
+    class InsertFirstMode {
+
+        @BeforeEach
+        void setUp() {
+            createUseCase = new CreateCupomUseCase(cupomRepository, cupomChangeLog, CupomCreateMode.INSERT_FIRST, codeLock, missCache);
+        }
+
+        @Test
+        @DisplayName("Deve criar cupom sem consultar existência do código")
+        void shouldCreateWithoutExistenceCheck() {
+            Cupom savedCupom = new Cupom(
+                    validRequest.code(),
+                    validRequest.description(),
+                    validRequest.discountValue(),
+                    validRequest.expirationDate(),
+                    validRequest.published()
+            );
+            savedCupom.setId(1L);
+            when(cupomRepository.save(any(Cupom.class))).thenReturn(savedCupom);
+
+            CupomResponse response = createUseCase.execute(validRequest);
+
+            assertEquals(1L, response.id());
+            verify(cupomRepository, never()).existsByCode(any());
+            verify(cupomChangeLog).append(any(CupomChange.class));
+        }
+
+        @Test
+        @DisplayName("Deve reservar o código durante o insert")
+        void shouldReserveCodeDuringInsert() throws Exception {
+            when(cupomRepository.save(any(Cupom.class))).thenAnswer(invocation -> {
+                // Outra thread não consegue reservar o mesmo código enquanto o insert acontece
+                assertFalse(CompletableFuture.supplyAsync(() -> {
+                    try (StripedCodeLock.Reservation ignored = codeLock.reserve("ABC123")) {
+                        return true;
+                    }
+                }).completeOnTimeout(false, 200, TimeUnit.MILLISECONDS).get());
+                return invocation.getArgument(0);
+            });
+
+            createUseCase.execute(validRequest);
+
+            assertTrue(CompletableFuture.supplyAsync(() -> {
+                try (StripedCodeLock.Reservation ignored = codeLock.reserve("ABC123")) {
+                    return true;
+                }
+            }).get(1, TimeUnit.SECONDS));
+        }
+
+        @Test
+        @DisplayName("Deve esquecer a falta do código criado sem esperar o outbox")
+        void shouldInvalidateMissCacheOnCreate() {
+            missCache.codes().remember("ABC123", missCache.codes().stamp());
+            when(cupomRepository.save(any(Cupom.class))).thenAnswer(invocation -> {
+                Cupom saved = invocation.getArgument(0);
+                saved.setId(1L);
+                return saved;
+            });
+
+            createUseCase.execute(validRequest);
+
+            assertFalse(missCache.codes().contains("ABC123"));
+        }
+
+        @Test
+        @DisplayName("Deve mapear violação de uk_cupom_code para CodeAlreadyExists")
+        void shouldMapDuplicateCodeToCodeAlreadyExists() {
+            when(cupomRepository.save(any(Cupom.class)))
+                    .thenThrow(new DuplicateCodeException("Cupom com esse código já existe"));
+
+            CodeAlreadyExists exception = assertThrows(
+                    CodeAlreadyExists.class,
+                    () -> createUseCase.execute(validRequest)
+            );
+
+            assertEquals("Cupom com esse código já existe", exception.getMessage());
+            verify(cupomRepository, never()).existsByCode(any());
+            verifyNoInteractions(cupomChangeLog);
+        }
+
+        @Test
+        @DisplayName("Deve manter outras violações de integridade como InvalidCodeException")
+        void shouldKeepOtherIntegrityViolations() {
+            when(cupomRepository.save(any(Cupom.class)))
+                    .thenThrow(new DataIntegrityViolationException("NULL not allowed for column DESCRIPTION"));
+
+            assertThrows(InvalidCodeException.class, () -> createUseCase.execute(validRequest));
         }
     }
-}
\ No newline at end of file
+}
@@ -4,6 +4,9 @@ import com.example.demo.application.execeptions.CupomConcurrencyException;
 import com.example.demo.application.execeptions.CupomNotFound;
 import com.example.demo.application.usecases.DeleteCupomUseCase;
 import com.example.demo.domain.Cupom;
+import com.example.demo.domain.CupomChange;
+import com.example.demo.domain.CupomChangeLog;
+import com.example.demo.domain.CupomChangeType;
 import com.example.demo.domain.CupomRepository;
 import jakarta.persistence.OptimisticLockException;
 import org.junit.jupiter.api.BeforeEach;
@@ -11,6 +14,7 @@ import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
@@ -29,13 +33,16 @@ class DeleteCupomUseCaseTest {
     @Mock
     private CupomRepository cupomRepository;
 
+    @Mock
+    private CupomChangeLog cupomChangeLog;
+
     private DeleteCupomUseCase deleteUseCase;
 
     private Cupom cupomFixture;
 
     @BeforeEach
     void setUp() {
-        deleteUseCase = new DeleteCupomUseCase(cupomRepository);
+        deleteUseCase = new DeleteCupomUseCase(cupomRepository, cupomChangeLog);
 
         cupomFixture = new Cupom(
                 "TEST01",
@@ -295,6 +302,22 @@ class DeleteCupomUseCaseTest {
 
             // Cupom não deveria estar salvo
             verify(cupomRepository).save(any());
+            verify(cupomChangeLog, never()).append(any());
+        }
+
+        @Test
+        @DisplayName("Deve registrar evento de deleção no outbox")
+        void shouldAppendDeletedEventToOutbox() {
+            when(cupomRepository.findById(1L)).thenReturn(Optional.of(cupomFixture));
+            when(cupomRepository.save(any(Cupom.class))).thenReturn(cupomFixture);
+
+            deleteUseCase.execute(1L);
+
+            ArgumentCaptor<CupomChange> captor = ArgumentCaptor.forClass(CupomChange.class);
+            verify(cupomChangeLog).append(captor.capture());
+            assertEquals(CupomChangeType.DELETED, captor.getValue().type());
+            assertEquals(1L, captor.getValue().cupomId());
+            assertEquals("TEST01", captor.getValue().code());
         }
     }
 }
\ No newline at end of file
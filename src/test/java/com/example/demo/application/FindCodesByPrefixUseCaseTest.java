@@ -0,0 +1,57 @@
+package com.example.demo.application;
+
+import com.example.demo.application.execeptions.CupomValidationException;
+import com.example.demo.application.usecases.FindCodesByPrefixUseCase;
+import com.example.demo.domain.CodePrefixMatch;
+import com.example.demo.domain.CupomCodeLookup;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@DisplayName("FindCodesByPrefixUseCase Tests")
+@ExtendWith(MockitoExtension.class)
+class FindCodesByPrefixUseCaseTest {
+
+    @Mock
+    private CupomCodeLookup codeLookup;
+
+    private FindCodesByPrefixUseCase findByPrefixUseCase;
+
+    @BeforeEach
+    void setUp() {
+        findByPrefixUseCase = new FindCodesByPrefixUseCase(codeLookup);
+    }
+
+    @Test
+    @DisplayName("Deve buscar com o prefixo normalizado e o limite padrão")
+    void shouldSearchWithNormalizedPrefixAndDefaultLimit() {
+        List<CodePrefixMatch> matches = List.of(new CodePrefixMatch("ABC123", 1L));
+        when(codeLookup.findByCodePrefix("ABC1", 10)).thenReturn(matches);
+
+        assertEquals(matches, findByPrefixUseCase.execute("AB-C1", null));
+    }
+
+    @Test
+    @DisplayName("Deve rejeitar prefixo vazio ou maior que um código")
+    void shouldRejectEmptyOrTooLongPrefix() {
+        assertThrows(CupomValidationException.class, () -> findByPrefixUseCase.execute("--", 10));
+        assertThrows(CupomValidationException.class, () -> findByPrefixUseCase.execute("ABC1234", 10));
+        verifyNoInteractions(codeLookup);
+    }
+
+    @Test
+    @DisplayName("Deve rejeitar limite fora do intervalo permitido")
+    void shouldRejectLimitOutOfRange() {
+        assertThrows(CupomValidationException.class, () -> findByPrefixUseCase.execute("ABC", 0));
+        assertThrows(CupomValidationException.class, () -> findByPrefixUseCase.execute("ABC", 101));
+        verifyNoInteractions(codeLookup);
+    }
+}
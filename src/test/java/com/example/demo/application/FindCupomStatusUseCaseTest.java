@@ -0,0 +1,55 @@
+package com.example.demo.application;
+
+import com.example.demo.application.dtos.CodeValidationResponse;
+import com.example.demo.application.usecases.FindCupomStatusUseCase;
+import com.example.demo.domain.CupomLookup;
+import com.example.demo.domain.CupomState;
+import com.example.demo.domain.CupomStatus;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@DisplayName("FindCupomStatusUseCase Tests")
+@ExtendWith(MockitoExtension.class)
+class FindCupomStatusUseCaseTest {
+
+    @Mock
+    private CupomLookup cupomLookup;
+
+    private FindCupomStatusUseCase statusUseCase;
+
+    @BeforeEach
+    void setUp() {
+        statusUseCase = new FindCupomStatusUseCase(cupomLookup);
+    }
+
+    @Test
+    @DisplayName("Deve responder o status pelo CupomLookup")
+    void shouldAnswerStatusFromLookup() {
+        when(cupomLookup.findById(7L)).thenReturn(Optional.of(
+                new CupomState(7L, "EXPIR1", 1_000, LocalDateTime.now().minusDays(1), true, false, 0L)
+        ));
+
+        CodeValidationResponse response = statusUseCase.execute(7L);
+
+        assertEquals(new CodeValidationResponse("EXPIR1", "EXPIR1", 7L, CupomStatus.EXPIRED), response);
+        verify(cupomLookup).findById(7L);
+    }
+
+    @Test
+    @DisplayName("Deve responder UNKNOWN para id inexistente")
+    void shouldAnswerUnknownForMissingId() {
+        when(cupomLookup.findById(8L)).thenReturn(Optional.empty());
+
+        assertEquals(new CodeValidationResponse(null, null, 8L, CupomStatus.UNKNOWN), statusUseCase.execute(8L));
+    }
+}
@@ -1,7 +1,9 @@
 package com.example.demo.application;
 
+import com.example.demo.application.cache.CupomMissCache;
 import com.example.demo.application.usecases.FindCupomUseCase;
 import com.example.demo.domain.Cupom;
+import com.example.demo.domain.CupomChange;
 import com.example.demo.domain.CupomRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -12,8 +14,16 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.math.BigDecimal;
+import java.time.Duration;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -27,11 +37,14 @@ class FindCupomUseCaseTest {
 
     private FindCupomUseCase findUseCase;
 
+    private CupomMissCache missCache;
+
     private Cupom cupomFixture;
 
     @BeforeEach
     void setUp() {
-        findUseCase = new FindCupomUseCase(cupomRepository);
+        missCache = new CupomMissCache(Duration.ofSeconds(5), 1_000);
+        findUseCase = new FindCupomUseCase(cupomRepository, missCache);
 
         cupomFixture = new Cupom(
                 "TEST01",
@@ -170,6 +183,30 @@ class FindCupomUseCaseTest {
             assertTrue(result.isEmpty());
         }
 
+        @Test
+        @DisplayName("Deve responder ID inexistente repetido sem consultar o repository")
+        void shouldAnswerRepeatedMissFromCache() {
+            when(cupomRepository.findById(999L)).thenReturn(Optional.empty());
+
+            findUseCase.execute(999L);
+            Optional<Cupom> result = findUseCase.execute(999L);
+
+            assertTrue(result.isEmpty());
+            verify(cupomRepository, times(1)).findById(999L);
+        }
+
+        @Test
+        @DisplayName("Deve consultar de novo depois que o cupom com o ID é criado")
+        void shouldQueryAgainAfterCupomIsCreated() {
+            when(cupomRepository.findById(1L)).thenReturn(Optional.empty(), Optional.of(cupomFixture));
+            assertTrue(findUseCase.execute(1L).isEmpty());
+
+            missCache.onChanges(List.of(CupomChange.created(cupomFixture)));
+
+            assertEquals(Optional.of(cupomFixture), findUseCase.execute(1L));
+            verify(cupomRepository, times(2)).findById(1L);
+        }
+
     }
 
     @Nested
@@ -199,7 +236,63 @@ class FindCupomUseCaseTest {
 
     }
 
+    @Nested
+    @DisplayName("Testes de Concorrência")
+    class ConcurrencyTests {
 
+        @Test
+        @DisplayName("Deve consultar o repository uma vez para buscas simultâneas do mesmo ID")
+        void shouldCoalesceConcurrentLookupsOfSameId() throws Exception {
+            CountDownLatch release = new CountDownLatch(1);
+            when(cupomRepository.findById(1L)).thenAnswer(invocation -> {
+                release.await();
+                return Optional.of(cupomFixture);
+            });
+
+            List<CompletableFuture<Optional<Cupom>>> calls = new ArrayList<>();
+            try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+                for (int i = 0; i < 10; i++) {
+                    calls.add(CompletableFuture.supplyAsync(() -> findUseCase.execute(1L), executor));
+                }
+                while (findUseCase.flights().shared() < 9) {
+                    Thread.sleep(5);
+                }
+                release.countDown();
+
+                for (CompletableFuture<Optional<Cupom>> call : calls) {
+                    assertSame(cupomFixture, call.get(5, TimeUnit.SECONDS).orElseThrow());
+                }
+            }
+            verify(cupomRepository, times(1)).findById(1L);
+            assertEquals(1, findUseCase.flights().executed());
+        }
 
-
-}
\ No newline at end of file
+        @Test
+        @DisplayName("Não deve guardar a falta com o stamp de quem entrou na fila depois de uma invalidação")
+        void shouldRememberMissWithLeaderStamp() throws Exception {
+            CountDownLatch queried = new CountDownLatch(1);
+            CountDownLatch release = new CountDownLatch(1);
+            when(cupomRepository.findById(1L)).thenAnswer(invocation -> {
+                queried.countDown();
+                release.await();
+                return Optional.empty();
+            });
+
+            try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+                CompletableFuture<Optional<Cupom>> leader = CompletableFuture.supplyAsync(() -> findUseCase.execute(1L), executor);
+                assertTrue(queried.await(5, TimeUnit.SECONDS));
+                // Cupom criado enquanto a consulta do líder estava em andamento
+                missCache.ids().invalidate(1L);
+                CompletableFuture<Optional<Cupom>> follower = CompletableFuture.supplyAsync(() -> findUseCase.execute(1L), executor);
+                while (findUseCase.flights().shared() < 1) {
+                    Thread.sleep(5);
+                }
+                release.countDown();
+
+                assertTrue(leader.get(5, TimeUnit.SECONDS).isEmpty());
+                assertTrue(follower.get(5, TimeUnit.SECONDS).isEmpty());
+            }
+            assertFalse(missCache.ids().contains(1L));
+        }
+    }
+}
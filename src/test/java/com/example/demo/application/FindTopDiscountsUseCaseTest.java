@@ -0,0 +1,53 @@
+package com.example.demo.application;
+
+import com.example.demo.application.execeptions.CupomValidationException;
+import com.example.demo.application.usecases.FindTopDiscountsUseCase;
+import com.example.demo.domain.ActiveDiscount;
+import com.example.demo.domain.BestDiscounts;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@DisplayName("FindTopDiscountsUseCase Tests")
+@ExtendWith(MockitoExtension.class)
+class FindTopDiscountsUseCaseTest {
+
+    @Mock
+    private BestDiscounts bestDiscounts;
+
+    private FindTopDiscountsUseCase topUseCase;
+
+    @BeforeEach
+    void setUp() {
+        topUseCase = new FindTopDiscountsUseCase(bestDiscounts);
+    }
+
+    @Test
+    @DisplayName("Deve usar 10 resultados quando n não é informado")
+    void shouldUseDefaultSize() {
+        List<ActiveDiscount> best = List.of(new ActiveDiscount(1L, "ABC123", "Cupom", new BigDecimal("10.00"), LocalDateTime.now().plusDays(1)));
+        when(bestDiscounts.best(eq(10), any())).thenReturn(best);
+
+        assertEquals(best, topUseCase.execute(null));
+    }
+
+    @Test
+    @DisplayName("Deve rejeitar n fora do intervalo permitido")
+    void shouldRejectSizeOutOfRange() {
+        assertThrows(CupomValidationException.class, () -> topUseCase.execute(0));
+        assertThrows(CupomValidationException.class, () -> topUseCase.execute(101));
+        verifyNoInteractions(bestDiscounts);
+    }
+}
@@ -0,0 +1,139 @@
+package com.example.demo.application;
+
+import com.example.demo.application.dtos.GenerateCuponsDto;
+import com.example.demo.application.execeptions.CupomValidationException;
+import com.example.demo.application.usecases.GenerateCuponsUseCase;
+import com.example.demo.application.usecases.InsertCuponsBatchUseCase;
+import com.example.demo.domain.CodeGenerator;
+import com.example.demo.domain.Cupom;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.*;
+
+@DisplayName("GenerateCuponsUseCase Tests")
+@ExtendWith(MockitoExtension.class)
+class GenerateCuponsUseCaseTest {
+
+    @Mock
+    private CodeGenerator codeGenerator;
+
+    @Mock
+    private InsertCuponsBatchUseCase insertBatchUseCase;
+
+    private GenerateCuponsUseCase generateUseCase;
+
+    @BeforeEach
+    void setUp() {
+        generateUseCase = new GenerateCuponsUseCase(codeGenerator, insertBatchUseCase, 2);
+    }
+
+    private GenerateCuponsDto request(int quantity) {
+        return new GenerateCuponsDto(quantity, "Black Friday", new BigDecimal("10.00"), LocalDateTime.now().plusDays(7), true);
+    }
+
+    private static List<String> codes(String... codes) {
+        return List.of(codes);
+    }
+
+    @Nested
+    @DisplayName("Validação")
+    class Validation {
+
+        @Test
+        @DisplayName("Deve aceitar requisição válida")
+        void shouldAcceptValidRequest() {
+            when(codeGenerator.remainingCapacity()).thenReturn(1_000L);
+
+            assertDoesNotThrow(() -> generateUseCase.validate(request(10)));
+        }
+
+        @Test
+        @DisplayName("Deve acumular erros dos campos e da capacidade")
+        void shouldAccumulateFieldAndCapacityErrors() {
+            when(codeGenerator.remainingCapacity()).thenReturn(5L);
+            GenerateCuponsDto invalid = new GenerateCuponsDto(10, " ", new BigDecimal("0.10"), LocalDateTime.now().plusDays(1), true);
+
+            CupomValidationException ex = assertThrows(CupomValidationException.class, () -> generateUseCase.validate(invalid));
+
+            assertEquals(
+                    List.of("description", "discountValue", "quantity"),
+                    ex.getErrors().stream().map(e -> e.field()).toList()
+            );
+        }
+    }
+
+    @Nested
+    @DisplayName("Geração")
+    class Generation {
+
+        @Test
+        @DisplayName("Deve persistir em lotes e entregar os códigos de cada lote")
+        void shouldPersistInBatchesAndStreamCodes() {
+            when(codeGenerator.nextUniqueCodes(2)).thenReturn(codes("AAAAA1", "AAAAA2"));
+            when(codeGenerator.nextUniqueCodes(1)).thenReturn(codes("AAAAA3"));
+            when(insertBatchUseCase.execute(any())).thenAnswer(invocation -> invocation.getArgument(0));
+            List<List<String>> streamed = new ArrayList<>();
+
+            int created = generateUseCase.execute(request(3), streamed::add);
+
+            assertEquals(3, created);
+            assertEquals(List.of(codes("AAAAA1", "AAAAA2"), codes("AAAAA3")), streamed);
+            verify(insertBatchUseCase, times(2)).execute(any());
+        }
+
+        @Test
+        @DisplayName("Deve repor códigos descartados por já existirem")
+        void shouldReplaceSkippedCodes() {
+            when(codeGenerator.nextUniqueCodes(2)).thenReturn(codes("AAAAA1", "AAAAA2"));
+            when(codeGenerator.nextUniqueCodes(1)).thenReturn(codes("AAAAA3"));
+            when(insertBatchUseCase.execute(any())).thenAnswer(invocation -> {
+                List<Cupom> batch = invocation.getArgument(0);
+                return batch.size() == 2 ? batch.subList(0, 1) : batch;
+            });
+            List<String> streamed = new ArrayList<>();
+
+            int created = generateUseCase.execute(request(2), streamed::addAll);
+
+            assertEquals(2, created);
+            assertEquals(codes("AAAAA1", "AAAAA3"), streamed);
+        }
+
+        @Test
+        @DisplayName("Deve desistir após lotes seguidos sem nenhuma inserção")
+        void shouldGiveUpAfterRepeatedEmptyBatches() {
+            when(codeGenerator.nextUniqueCodes(anyInt())).thenReturn(codes("AAAAA1", "AAAAA2"));
+            when(insertBatchUseCase.execute(any())).thenReturn(List.of());
+
+            assertThrows(IllegalStateException.class, () -> generateUseCase.execute(request(2), codes -> { }));
+            verify(insertBatchUseCase, times(3)).execute(any());
+        }
+
+        @Test
+        @DisplayName("Deve zerar a contagem de lotes vazios após um lote com inserções")
+        void shouldResetEmptyBatchesAfterInsertion() {
+            Cupom cupom = new Cupom("AAAAA1", "Black Friday", new BigDecimal("10.00"), LocalDateTime.now().plusDays(7), true);
+            when(codeGenerator.nextUniqueCodes(anyInt())).thenReturn(codes("AAAAA1", "AAAAA2"));
+            when(insertBatchUseCase.execute(any()))
+                    .thenReturn(List.of(), List.of(), List.of(cupom), List.of(), List.of(), List.of(cupom, cupom));
+
+            int created = generateUseCase.execute(request(3), codes -> { });
+
+            assertEquals(3, created);
+            verify(insertBatchUseCase, times(6)).execute(any());
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package com.example.demo.application;
+
+import com.example.demo.application.execeptions.CupomValidationException;
+import com.example.demo.application.usecases.SearchCuponsUseCase;
+import com.example.demo.domain.CupomSearch;
+import com.example.demo.domain.CupomSearchHit;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@DisplayName("SearchCuponsUseCase Tests")
+@ExtendWith(MockitoExtension.class)
+class SearchCuponsUseCaseTest {
+
+    @Mock
+    private CupomSearch cupomSearch;
+
+    private SearchCuponsUseCase searchUseCase;
+
+    @BeforeEach
+    void setUp() {
+        searchUseCase = new SearchCuponsUseCase(cupomSearch);
+    }
+
+    @Test
+    @DisplayName("Deve buscar com o texto normalizado e o limite padrão")
+    void shouldSearchWithNormalizedQueryAndDefaultLimit() {
+        List<CupomSearchHit> hits = List.of(new CupomSearchHit(1L, 1.0));
+        when(cupomSearch.search("frete gratis", 20)).thenReturn(hits);
+
+        assertEquals(hits, searchUseCase.execute("  Frete GRÁTIS!", null));
+    }
+
+    @Test
+    @DisplayName("Deve rejeitar busca curta demais ou longa demais")
+    void shouldRejectShortQuery() {
+        CupomValidationException ex = assertThrows(CupomValidationException.class, () -> searchUseCase.execute("a -", 10));
+
+        assertEquals("q", ex.getErrors().get(0).field());
+        assertThrows(CupomValidationException.class, () -> searchUseCase.execute("x".repeat(201), 10));
+        verifyNoInteractions(cupomSearch);
+    }
+
+    @Test
+    @DisplayName("Deve rejeitar limite fora do intervalo permitido")
+    void shouldRejectLimitOutOfRange() {
+        assertThrows(CupomValidationException.class, () -> searchUseCase.execute("natal", 0));
+        assertThrows(CupomValidationException.class, () -> searchUseCase.execute("natal", 101));
+        verifyNoInteractions(cupomSearch);
+    }
+}
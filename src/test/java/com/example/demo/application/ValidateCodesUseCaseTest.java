@@ -0,0 +1,101 @@
+package com.example.demo.application;
+
+import com.example.demo.application.dtos.CodeValidationResponse;
+import com.example.demo.application.dtos.ValidateCodesDto;
+import com.example.demo.application.usecases.ValidateCodesUseCase;
+import com.example.demo.domain.Cupom;
+import com.example.demo.domain.CupomLookup;
+import com.example.demo.domain.CupomState;
+import com.example.demo.domain.CupomStatus;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@DisplayName("ValidateCodesUseCase Tests")
+@ExtendWith(MockitoExtension.class)
+class ValidateCodesUseCaseTest {
+
+    @Mock
+    private CupomLookup cupomLookup;
+
+    private ValidateCodesUseCase validateUseCase;
+
+    @BeforeEach
+    void setUp() {
+        validateUseCase = new ValidateCodesUseCase(cupomLookup);
+    }
+
+    private CupomState cupom(String code, LocalDateTime expirationDate, boolean published, LocalDateTime deletedAt) {
+        Cupom cupom = new Cupom(code, "Cupom " + code, new BigDecimal("10.00"), expirationDate, published, deletedAt, 0L);
+        cupom.setId((long) code.hashCode());
+        return CupomState.of(cupom);
+    }
+
+    @Test
+    @DisplayName("Deve retornar o status de cada código em uma única consulta")
+    @SuppressWarnings("unchecked")
+    void shouldReturnStatusOfEachCodeWithSingleQuery() {
+        LocalDateTime future = LocalDateTime.now().plusDays(7);
+        when(cupomLookup.findAllByCodes(any())).thenReturn(List.of(
+                cupom("VALID1", future, true, null),
+                cupom("DELET1", future, true, LocalDateTime.now().minusDays(1)),
+                cupom("EXPIR1", LocalDateTime.now().minusDays(1), true, null),
+                cupom("UNPUB1", future, false, null)
+        ));
+
+        List<CodeValidationResponse> responses = validateUseCase.execute(new ValidateCodesDto(List.of(
+                "VALID-1", "DELET1", "EXPIR1", "UNPUB1", "NOPE01"
+        )));
+
+        assertEquals(
+                List.of(CupomStatus.VALID, CupomStatus.DELETED, CupomStatus.EXPIRED, CupomStatus.UNPUBLISHED, CupomStatus.UNKNOWN),
+                responses.stream().map(CodeValidationResponse::status).toList()
+        );
+        assertEquals("VALID-1", responses.get(0).code());
+        assertEquals("VALID1", responses.get(0).normalizedCode());
+
+        ArgumentCaptor<Collection<String>> captor = ArgumentCaptor.forClass(Collection.class);
+        verify(cupomLookup, times(1)).findAllByCodes(captor.capture());
+        assertEquals(Set.of("VALID1", "DELET1", "EXPIR1", "UNPUB1", "NOPE01"), Set.copyOf(captor.getValue()));
+    }
+
+    @Test
+    @DisplayName("Deve consultar códigos repetidos apenas uma vez")
+    @SuppressWarnings("unchecked")
+    void shouldQueryRepeatedCodesOnlyOnce() {
+        when(cupomLookup.findAllByCodes(any())).thenReturn(List.of());
+
+        List<CodeValidationResponse> responses = validateUseCase.execute(new ValidateCodesDto(List.of(
+                "ABC123", "abc-123", "A-B-C-1-2-3"
+        )));
+
+        assertEquals(3, responses.size());
+        ArgumentCaptor<Collection<String>> captor = ArgumentCaptor.forClass(Collection.class);
+        verify(cupomLookup).findAllByCodes(captor.capture());
+        assertEquals(Set.of("ABC123", "abc123"), Set.copyOf(captor.getValue()));
+    }
+
+    @Test
+    @DisplayName("Deve marcar códigos inválidos como desconhecidos sem consultar o repositório")
+    void shouldMarkInvalidCodesAsUnknownWithoutQuerying() {
+        List<CodeValidationResponse> responses = validateUseCase.execute(new ValidateCodesDto(List.of("AB", "!!!")));
+
+        assertTrue(responses.stream().allMatch(r -> r.status() == CupomStatus.UNKNOWN));
+        assertTrue(responses.stream().allMatch(r -> r.normalizedCode() == null));
+        verifyNoInteractions(cupomLookup);
+    }
+}
@@ -0,0 +1,76 @@
+package com.example.demo.application.cache;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("NegativeCache Tests")
+class NegativeCacheTest {
+
+    private final AtomicLong now = new AtomicLong();
+
+    private NegativeCache<String> cache(long ttl, int maxSize) {
+        return new NegativeCache<>(ttl, maxSize, now::get);
+    }
+
+    @Test
+    @DisplayName("Deve lembrar a falta até o ttl vencer")
+    void shouldExpireAfterTtl() {
+        NegativeCache<String> cache = cache(100, 10);
+
+        cache.remember("AAA111", cache.stamp());
+        now.set(99);
+        assertTrue(cache.contains("AAA111"));
+        now.set(100);
+        assertFalse(cache.contains("AAA111"));
+
+        assertEquals(1, cache.hits());
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    @DisplayName("Deve esquecer a chave criada e descartar faltas consultadas antes da criação")
+    void shouldInvalidateCreatedKeysAndStaleMisses() {
+        NegativeCache<String> cache = cache(100, 10);
+        cache.remember("AAA111", cache.stamp());
+
+        long stamp = cache.stamp();
+        cache.invalidate("AAA111");
+        cache.invalidate("BBB222");
+        // A consulta de BBB222 começou antes da criação e voltou vazia
+        cache.remember("BBB222", stamp);
+
+        assertFalse(cache.contains("AAA111"));
+        assertFalse(cache.contains("BBB222"));
+    }
+
+    @Test
+    @DisplayName("Deve respeitar o tamanho máximo e voltar a aceitar depois que as entradas vencem")
+    void shouldStayBounded() {
+        NegativeCache<String> cache = cache(100, 2);
+        cache.remember("A", cache.stamp());
+        cache.remember("B", cache.stamp());
+        cache.remember("C", cache.stamp());
+
+        assertEquals(2, cache.size());
+        assertFalse(cache.contains("C"));
+
+        now.set(100);
+        cache.remember("C", cache.stamp());
+        assertEquals(1, cache.size());
+        assertTrue(cache.contains("C"));
+    }
+
+    @Test
+    @DisplayName("Não deve guardar nada com ttl zero")
+    void shouldBeDisabledWithZeroTtl() {
+        NegativeCache<String> cache = cache(0, 10);
+        cache.remember("A", cache.stamp());
+
+        assertFalse(cache.isEnabled());
+        assertFalse(cache.contains("A"));
+    }
+}
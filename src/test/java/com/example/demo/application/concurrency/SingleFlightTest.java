@@ -0,0 +1,97 @@
+package com.example.demo.application.concurrency;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("SingleFlight Tests")
+class SingleFlightTest {
+
+    // Dispara as chamadas com a consulta bloqueada até todas estarem esperando
+    private static List<CompletableFuture<String>> callConcurrently(SingleFlight<Long, String> flights, long key,
+                                                                    int callers, CountDownLatch release,
+                                                                    Supplier<String> loader) throws Exception {
+        List<CompletableFuture<String>> calls = new ArrayList<>();
+        ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+        for (int i = 0; i < callers; i++) {
+            calls.add(CompletableFuture.supplyAsync(() -> flights.execute(key, () -> {
+                try {
+                    release.await();
+                } catch (InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                }
+                return loader.get();
+            }), executor));
+        }
+        executor.shutdown();
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (flights.executed() + flights.shared() < callers && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+        return calls;
+    }
+
+    @Test
+    @DisplayName("Deve executar uma única consulta para chamadas simultâneas da mesma chave")
+    void shouldShareOneCallAmongConcurrentCallers() throws Exception {
+        SingleFlight<Long, String> flights = new SingleFlight<>();
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+
+        List<CompletableFuture<String>> calls = callConcurrently(flights, 1L, 20, release,
+                () -> "cupom-" + loads.incrementAndGet());
+        release.countDown();
+
+        for (CompletableFuture<String> call : calls) {
+            assertEquals("cupom-1", call.get(5, TimeUnit.SECONDS));
+        }
+        assertEquals(1, loads.get());
+        assertEquals(1, flights.executed());
+        assertEquals(19, flights.shared());
+        assertEquals(0, flights.inFlight());
+    }
+
+    @Test
+    @DisplayName("Deve propagar a exceção da consulta para todos que esperavam")
+    void shouldPropagateFailureToWaiters() throws Exception {
+        SingleFlight<Long, String> flights = new SingleFlight<>();
+        CountDownLatch release = new CountDownLatch(1);
+
+        List<CompletableFuture<String>> calls = callConcurrently(flights, 1L, 5, release, () -> {
+            throw new IllegalStateException("banco fora");
+        });
+        release.countDown();
+
+        for (CompletableFuture<String> call : calls) {
+            ExecutionException ex = assertThrows(ExecutionException.class, () -> call.get(5, TimeUnit.SECONDS));
+            assertInstanceOf(IllegalStateException.class, ex.getCause());
+        }
+        assertEquals(0, flights.inFlight());
+    }
+
+    @Test
+    @DisplayName("Não deve guardar o resultado depois que a consulta termina")
+    void shouldNotCacheCompletedCalls() {
+        SingleFlight<Long, String> flights = new SingleFlight<>();
+        AtomicInteger loads = new AtomicInteger();
+
+        assertEquals("1", flights.execute(1L, () -> String.valueOf(loads.incrementAndGet())));
+        assertEquals("2", flights.execute(1L, () -> String.valueOf(loads.incrementAndGet())));
+        assertEquals("3", flights.execute(2L, () -> String.valueOf(loads.incrementAndGet())));
+
+        assertEquals(3, flights.executed());
+        assertEquals(0, flights.shared());
+    }
+}
@@ -0,0 +1,90 @@
+package com.example.demo.application.concurrency;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("StripedCodeLock Tests")
+class StripedCodeLockTest {
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    private static CompletableFuture<Boolean> reserveInAnotherThread(StripedCodeLock lock, String code) {
+        return CompletableFuture.supplyAsync(() -> {
+            try (StripedCodeLock.Reservation ignored = lock.reserve(code)) {
+                return true;
+            }
+        });
+    }
+
+    @Test
+    @DisplayName("Deve arredondar o número de faixas para potência de 2")
+    void shouldRoundStripesToPowerOfTwo() {
+        assertEquals(1, new StripedCodeLock(1).stripeCount());
+        assertEquals(256, new StripedCodeLock(256).stripeCount());
+        assertEquals(512, new StripedCodeLock(300).stripeCount());
+    }
+
+    @Test
+    @DisplayName("Deve mapear o mesmo código sempre para a mesma faixa")
+    void shouldMapSameCodeToSameStripe() {
+        StripedCodeLock lock = new StripedCodeLock(64);
+
+        assertEquals(lock.stripeFor("ABC123"), lock.stripeFor(new String("ABC123")));
+        assertTrue(lock.stripeFor("ABC123") < lock.stripeCount());
+    }
+
+    @Test
+    @DisplayName("Deve bloquear o mesmo código até a reserva ser fechada")
+    void shouldBlockSameCodeUntilClosed() throws Exception {
+        StripedCodeLock lock = new StripedCodeLock(64);
+
+        StripedCodeLock.Reservation reservation = lock.reserve("ABC123");
+        CompletableFuture<Boolean> other = reserveInAnotherThread(lock, "ABC123");
+
+        assertThrows(TimeoutException.class, () -> other.get(100, TimeUnit.MILLISECONDS));
+        reservation.close();
+        assertTrue(other.get(1, TimeUnit.SECONDS));
+    }
+
+    @Test
+    @DisplayName("Não deve bloquear códigos de outras faixas")
+    void shouldNotBlockCodesInOtherStripes() throws Exception {
+        StripedCodeLock lock = new StripedCodeLock(64);
+        String other = "ZZZ999";
+        assertNotEquals(lock.stripeFor("ABC123"), lock.stripeFor(other));
+
+        try (StripedCodeLock.Reservation ignored = lock.reserve("ABC123")) {
+            assertTrue(reserveInAnotherThread(lock, other).get(1, TimeUnit.SECONDS));
+        }
+    }
+
+    @Test
+    @DisplayName("Com transação ativa deve manter a reserva até o fim da transação")
+    void shouldHoldReservationUntilTransactionCompletes() throws Exception {
+        StripedCodeLock lock = new StripedCodeLock(64);
+        TransactionSynchronizationManager.initSynchronization();
+
+        lock.reserve("ABC123").close();
+        CompletableFuture<Boolean> other = reserveInAnotherThread(lock, "ABC123");
+        assertThrows(TimeoutException.class, () -> other.get(100, TimeUnit.MILLISECONDS));
+
+        for (TransactionSynchronization synchronization : TransactionSynchronizationManager.getSynchronizations()) {
+            synchronization.afterCompletion(TransactionSynchronization.STATUS_COMMITTED);
+        }
+        assertTrue(other.get(1, TimeUnit.SECONDS));
+    }
+}
@@ -0,0 +1,102 @@
+package com.example.demo.application.jfr;
+
+import com.example.demo.application.cache.CupomMissCache;
+import com.example.demo.application.execeptions.CupomNotFound;
+import com.example.demo.application.usecases.DeleteCupomUseCase;
+import com.example.demo.application.usecases.FindCupomUseCase;
+import com.example.demo.domain.Cupom;
+import com.example.demo.domain.CupomChangeLog;
+import com.example.demo.domain.CupomRepository;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@DisplayName("UseCaseEvent Tests")
+@ExtendWith(MockitoExtension.class)
+class UseCaseEventTest {
+
+    @TempDir
+    Path dir;
+
+    @Mock
+    private CupomRepository cupomRepository;
+    @Mock
+    private CupomChangeLog changeLog;
+
+    private List<RecordedEvent> record(Runnable action) throws Exception {
+        try (Recording recording = new Recording()) {
+            recording.enable("cupom.UseCase").withThreshold(Duration.ZERO);
+            recording.start();
+            action.run();
+            recording.stop();
+            Path file = dir.resolve("use-cases.jfr");
+            recording.dump(file);
+            return RecordingFile.readAllEvents(file);
+        }
+    }
+
+    @Test
+    @DisplayName("Deve gravar busca por id com o resultado")
+    void shouldRecordFindOutcome() throws Exception {
+        Cupom cupom = new Cupom("AAA111", "Cupom", new BigDecimal("10.00"), LocalDateTime.now().plusDays(1), true);
+        cupom.setId(1L);
+        when(cupomRepository.findById(1L)).thenReturn(Optional.of(cupom));
+        when(cupomRepository.findById(2L)).thenReturn(Optional.empty());
+        FindCupomUseCase useCase = new FindCupomUseCase(cupomRepository, new CupomMissCache(Duration.ofSeconds(5), 100));
+
+        List<RecordedEvent> events = record(() -> {
+            useCase.execute(1L);
+            useCase.execute(2L);
+            useCase.execute(2L);
+        });
+
+        assertEquals(List.of("FOUND", "NOT_FOUND", "NOT_FOUND_CACHED"),
+                events.stream().map(event -> event.getString("outcome")).toList());
+        assertEquals(List.of(1L, 2L, 2L), events.stream().map(event -> event.getLong("cupomId")).toList());
+        assertTrue(events.stream().allMatch(event -> event.getString("useCase").equals("FindCupom")));
+    }
+
+    @Test
+    @DisplayName("Deve gravar a exceção como resultado quando o caso de uso falha")
+    void shouldRecordFailureOutcome() throws Exception {
+        when(cupomRepository.findById(9L)).thenReturn(Optional.empty());
+        DeleteCupomUseCase useCase = new DeleteCupomUseCase(cupomRepository, changeLog);
+
+        List<RecordedEvent> events = record(() -> assertThrows(CupomNotFound.class, () -> useCase.execute(9L)));
+
+        assertEquals(1, events.size());
+        assertEquals("DeleteCupom", events.get(0).getString("useCase"));
+        assertEquals(9L, events.get(0).getLong("cupomId"));
+        assertEquals("CupomNotFound", events.get(0).getString("outcome"));
+    }
+
+    @Test
+    @DisplayName("Não deve preencher os campos com o evento desligado")
+    void shouldNotFillFieldsWhenDisabled() {
+        UseCaseEvent event = UseCaseEvent.start("FindCupom").cupom(1L, "AAA111");
+        event.succeeded("FOUND");
+        event.finish();
+
+        assertFalse(event.isEnabled());
+        assertNull(event.useCase);
+        assertNull(event.code);
+        assertEquals(0L, event.cupomId);
+        assertNull(event.outcome);
+    }
+}
@@ -0,0 +1,153 @@
+package com.example.demo.benchmark;
+
+import com.example.demo.application.cache.CupomMissCache;
+import com.example.demo.DemoApplication;
+import com.example.demo.application.concurrency.StripedCodeLock;
+import com.example.demo.application.dtos.CreateCupomDto;
+import com.example.demo.application.execeptions.CodeAlreadyExists;
+import com.example.demo.application.usecases.CreateCupomUseCase;
+import com.example.demo.domain.Cupom;
+import com.example.demo.domain.CupomChangeLog;
+import com.example.demo.domain.CupomCreateMode;
+import com.example.demo.domain.CupomRepository;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.locks.LockSupport;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Criações CHECK_FIRST concorrentes de códigos distintos. GLOBAL (uma única faixa) reproduz
+// o efeito do antigo lock pessimista sobre COUNT: toda criação espera a anterior terminar.
+// latencyMicros simula a ida e volta de um banco remoto em cada chamada ao repositório;
+// com H2 em memória a seção crítica é só CPU e a diferença entre os locks some.
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(8)
+@State(Scope.Benchmark)
+public class CodeReservationBenchmark {
+
+    @Param({"STRIPED", "GLOBAL"})
+    private String lock;
+
+    @Param({"0", "1000"})
+    private long latencyMicros;
+
+    private ConfigurableApplicationContext context;
+    private CreateCupomUseCase createUseCase;
+    private TransactionTemplate transaction;
+    private final AtomicLong nextCode = new AtomicLong();
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = SpringApplication.run(DemoApplication.class,
+                "--spring.main.web-application-type=none",
+                "--spring.main.banner-mode=off",
+                "--logging.level.root=warn",
+                "--spring.datasource.url=jdbc:h2:mem:" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1");
+
+        createUseCase = new CreateCupomUseCase(
+                new RemoteCupomRepository(context.getBean(CupomRepository.class), latencyMicros),
+                context.getBean(CupomChangeLog.class),
+                CupomCreateMode.CHECK_FIRST,
+                lock.equals("GLOBAL") ? new StripedCodeLock(1) : context.getBean(StripedCodeLock.class),
+                context.getBean(CupomMissCache.class)
+        );
+        transaction = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Object create() {
+        String code = String.format("R%05d", nextCode.getAndIncrement() % 100_000);
+        CreateCupomDto request = new CreateCupomDto(
+                code, "Benchmark", new BigDecimal("10.00"), LocalDateTime.now().plusDays(30), true
+        );
+        try {
+            return transaction.execute(status -> createUseCase.execute(request));
+        } catch (CodeAlreadyExists ex) {
+            return ex;
+        }
+    }
+
+    record RemoteCupomRepository(CupomRepository delegate, long latencyMicros) implements CupomRepository {
+
+        private <T> T roundTrip(T result) {
+            if (latencyMicros > 0) {
+                LockSupport.parkNanos(TimeUnit.MICROSECONDS.toNanos(latencyMicros));
+            }
+            return result;
+        }
+
+        @Override
+        public Cupom save(Cupom cupom) {
+            return roundTrip(delegate.save(cupom));
+        }
+
+        @Override
+        public List<Cupom> insertAllSkippingExisting(List<Cupom> cupons) {
+            return roundTrip(delegate.insertAllSkippingExisting(cupons));
+        }
+
+        @Override
+        public Optional<Cupom> findById(Long id) {
+            return roundTrip(delegate.findById(id));
+        }
+
+        @Override
+        public Optional<Cupom> findByCode(String code) {
+            return roundTrip(delegate.findByCode(code));
+        }
+
+        @Override
+        public List<Cupom> findAllByCodes(Collection<String> codes) {
+            return roundTrip(delegate.findAllByCodes(codes));
+        }
+
+        @Override
+        public boolean existsByCode(String code) {
+            return roundTrip(delegate.existsByCode(code));
+        }
+
+        @Override
+        public List<String> findCodesAfter(String afterCode, int limit) {
+            return roundTrip(delegate.findCodesAfter(afterCode, limit));
+        }
+
+        @Override
+        public List<Cupom> findAllAfterCode(String afterCode, int limit) {
+            return roundTrip(delegate.findAllAfterCode(afterCode, limit));
+        }
+
+        @Override
+        public long findMaxId() {
+            return roundTrip(delegate.findMaxId());
+        }
+
+        @Override
+        public List<Cupom> findAllByIdRange(long fromId, long toId) {
+            return roundTrip(delegate.findAllByIdRange(fromId, toId));
+        }
+
+        @Override
+        public List<Cupom> findActiveExpiringBefore(LocalDateTime now, LocalDateTime before, int limit) {
+            return roundTrip(delegate.findActiveExpiringBefore(now, before, limit));
+        }
+    }
+}
@@ -0,0 +1,108 @@
+package com.example.demo.benchmark;
+
+import com.example.demo.application.cache.CupomMissCache;
+import com.example.demo.DemoApplication;
+import com.example.demo.application.concurrency.StripedCodeLock;
+import com.example.demo.application.dtos.CreateCupomDto;
+import com.example.demo.application.execeptions.CodeAlreadyExists;
+import com.example.demo.application.usecases.CreateCupomUseCase;
+import com.example.demo.domain.CupomChangeLog;
+import com.example.demo.domain.CupomCreateMode;
+import com.example.demo.domain.CupomRepository;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Vazão de criação contra o H2 real da aplicação, com e sem a consulta prévia de existência.
+// duplicateRatio = 0 simula só códigos novos; 0.9 simula reenvios/colisões frequentes.
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(4)
+@State(Scope.Benchmark)
+public class CreateThroughputBenchmark {
+
+    private static final String ALPHABET = "ABCDEFGHIJKLMNOPQRSTUVWXYZ0123456789";
+    private static final int EXISTING_CODES = 1_000;
+
+    @Param({"CHECK_FIRST", "INSERT_FIRST"})
+    private CupomCreateMode mode;
+
+    @Param({"0", "0.9"})
+    private double duplicateRatio;
+
+    private ConfigurableApplicationContext context;
+    private CreateCupomUseCase createUseCase;
+    private TransactionTemplate transaction;
+    private final AtomicLong nextCode = new AtomicLong();
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = SpringApplication.run(DemoApplication.class,
+                "--spring.main.web-application-type=none",
+                "--spring.main.banner-mode=off",
+                "--logging.level.root=warn",
+                "--logging.level.org.hibernate.orm.jdbc.error=error",
+                "--spring.jpa.show-sql=false",
+                "--spring.datasource.url=jdbc:h2:mem:" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1");
+
+        // Instância própria para fixar o modo; a transação é a mesma que o @Transactional abriria
+        createUseCase = new CreateCupomUseCase(
+                context.getBean(CupomRepository.class),
+                context.getBean(CupomChangeLog.class),
+                mode,
+                context.getBean(StripedCodeLock.class),
+                context.getBean(CupomMissCache.class)
+        );
+        transaction = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+
+        for (int i = 0; i < EXISTING_CODES; i++) {
+            create(code(nextCode.getAndIncrement()));
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Object create() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        String code = random.nextDouble() < duplicateRatio
+                ? code(random.nextLong(EXISTING_CODES))
+                : code(nextCode.getAndIncrement());
+        try {
+            return create(code);
+        } catch (CodeAlreadyExists ex) {
+            return ex;
+        }
+    }
+
+    private Object create(String code) {
+        CreateCupomDto request = new CreateCupomDto(
+                code, "Benchmark", new BigDecimal("10.00"), LocalDateTime.now().plusDays(30), true
+        );
+        return transaction.execute(status -> createUseCase.execute(request));
+    }
+
+    private static String code(long key) {
+        char[] chars = new char[6];
+        for (int i = chars.length - 1; i >= 0; i--) {
+            chars[i] = ALPHABET.charAt((int) (key % ALPHABET.length()));
+            key /= ALPHABET.length();
+        }
+        return new String(chars);
+    }
+}
@@ -0,0 +1,99 @@
+package com.example.demo.benchmark;
+
+import com.example.demo.domain.Discount;
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.concurrent.TimeUnit;
+
+// Discount em centavos (long) contra a versão anterior baseada em BigDecimal.
+// Roda com -prof gc para ver alocação por operação.
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class DiscountBenchmark {
+
+    private static final int CARTS = 1024;
+
+    private BigDecimal input;
+    private Discount discount;
+    private Discount other;
+    private LegacyDiscount legacyDiscount;
+    private LegacyDiscount legacyOther;
+    private long[] cartCents;
+    private BigDecimal[] cartValues;
+
+    @Setup
+    public void setUp() {
+        input = new BigDecimal("15.90");
+        discount = new Discount(input);
+        other = new Discount(new BigDecimal("12.00"));
+        legacyDiscount = new LegacyDiscount(input);
+        legacyOther = new LegacyDiscount(new BigDecimal("12.00"));
+        cartCents = new long[CARTS];
+        cartValues = new BigDecimal[CARTS];
+        for (int i = 0; i < CARTS; i++) {
+            cartCents[i] = 1_000 + i * 37L;
+            cartValues[i] = BigDecimal.valueOf(cartCents[i], 2);
+        }
+    }
+
+    @Benchmark
+    public Object constructLegacy() {
+        return new LegacyDiscount(input);
+    }
+
+    @Benchmark
+    public Object constructCents() {
+        return new Discount(input);
+    }
+
+    @Benchmark
+    public int compareLegacy() {
+        return legacyDiscount.value.compareTo(legacyOther.value);
+    }
+
+    @Benchmark
+    public int compareCents() {
+        return discount.compareTo(other);
+    }
+
+    // Desconto aplicado a 1024 totais de carrinho
+    @Benchmark
+    @OperationsPerInvocation(CARTS)
+    public Object applyLegacy() {
+        BigDecimal sum = BigDecimal.ZERO;
+        for (BigDecimal total : cartValues) {
+            sum = sum.add(total.subtract(legacyDiscount.value).max(BigDecimal.ZERO).setScale(2, RoundingMode.UNNECESSARY));
+        }
+        return sum;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(CARTS)
+    public long applyCents() {
+        long sum = 0;
+        for (long total : cartCents) {
+            sum += discount.applyTo(total);
+        }
+        return sum;
+    }
+
+    // Reprodução do Discount antes da mudança
+    private static final class LegacyDiscount {
+        private static final BigDecimal MIN_VALUE = new BigDecimal("0.5");
+
+        private final BigDecimal value;
+
+        LegacyDiscount(BigDecimal value) {
+            if (value == null || value.compareTo(MIN_VALUE) < 0) {
+                throw new IllegalArgumentException("Valor do desconto deve ser no mínimio " + MIN_VALUE);
+            }
+            this.value = value;
+        }
+    }
+}
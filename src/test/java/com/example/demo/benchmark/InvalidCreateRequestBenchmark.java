@@ -0,0 +1,116 @@
+package com.example.demo.benchmark;
+
+import com.example.demo.application.dtos.CreateCupomDto;
+import com.example.demo.application.usecases.CreateCupomUseCase;
+import com.example.demo.domain.Cupom;
+import com.example.demo.domain.CupomCreateMode;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+// Custo de rejeitar uma requisição de criação inválida.
+// stackDepth simula a profundidade de pilha de uma requisição real (Tomcat + Spring MVC).
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class InvalidCreateRequestBenchmark {
+
+    @Param({"10", "120"})
+    private int stackDepth;
+
+    private CreateCupomDto invalidRequest;
+    private CreateCupomUseCase createUseCase;
+
+    @Setup
+    public void setUp() {
+        invalidRequest = new CreateCupomDto(
+                "AB",
+                " ",
+                new BigDecimal("0.1"),
+                LocalDateTime.now().minusDays(1),
+                true
+        );
+        // Repositório e outbox nunca são acessados quando a validação falha
+        createUseCase = new CreateCupomUseCase(null, null, CupomCreateMode.INSERT_FIRST, null, null);
+    }
+
+    @Benchmark
+    public Object legacyThrowingWithStackTrace() {
+        return atDepth(stackDepth, () -> {
+            try {
+                legacyValidate(invalidRequest);
+                return null;
+            } catch (RuntimeException ex) {
+                return ex.getMessage();
+            }
+        });
+    }
+
+    @Benchmark
+    public Object stacklessDomainException() {
+        return atDepth(stackDepth, () -> {
+            try {
+                return new Cupom(
+                        invalidRequest.code(),
+                        invalidRequest.description(),
+                        invalidRequest.discountValue(),
+                        invalidRequest.expirationDate(),
+                        true
+                );
+            } catch (RuntimeException ex) {
+                return ex.getMessage();
+            }
+        });
+    }
+
+    @Benchmark
+    public Object accumulatedValidation() {
+        return atDepth(stackDepth, () -> Cupom.validate(
+                invalidRequest.code(),
+                invalidRequest.description(),
+                invalidRequest.discountValue(),
+                invalidRequest.expirationDate()
+        ));
+    }
+
+    @Benchmark
+    public void useCaseRejection(Blackhole blackhole) {
+        blackhole.consume(atDepth(stackDepth, () -> {
+            try {
+                return createUseCase.execute(invalidRequest);
+            } catch (RuntimeException ex) {
+                return ex.getMessage();
+            }
+        }));
+    }
+
+    private static Object atDepth(int depth, Supplier<Object> action) {
+        return depth == 0 ? action.get() : atDepth(depth - 1, action);
+    }
+
+    // Reprodução das validações antes da mudança: regex e RuntimeException com stack trace
+    private static void legacyValidate(CreateCupomDto request) {
+        if (request.code() == null) {
+            throw new RuntimeException("Code não pode ser vazio");
+        }
+        if (request.code().replaceAll("[^a-zA-Z0-9]", "").length() != 6) {
+            throw new RuntimeException("Code deve ter exatemente 6 caracteres alphanumericos");
+        }
+        if (request.description() == null || request.description().isBlank()) {
+            throw new RuntimeException("Descrição não pode ser nula");
+        }
+        if (request.discountValue().compareTo(new BigDecimal("0.5")) < 0) {
+            throw new RuntimeException("Valor do desconto deve ser no mínimio 0.5");
+        }
+        if (request.expirationDate().isBefore(LocalDateTime.now())) {
+            throw new RuntimeException("Data de expiração não pode ser no passado");
+        }
+    }
+}
@@ -0,0 +1,110 @@
+package com.example.demo.benchmark;
+
+import com.example.demo.domain.Cupom;
+import com.example.demo.domain.CupomState;
+import com.example.demo.infrastructure.index.PackedCode;
+import com.example.demo.infrastructure.lookup.OffHeapCupomStore;
+import org.openjdk.jmh.annotations.*;
+
+import java.lang.management.ManagementFactory;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+// Busca por código e por id no OffHeapCupomStore contra mapas de objetos Cupom no heap.
+// O setup imprime o heap ocupado por cada estrutura (medido após GC) e a memória direta do store.
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgs = {"-Xmx4g", "-XX:MaxDirectMemorySize=1g"})
+@State(Scope.Benchmark)
+public class OffHeapCupomStoreBenchmark {
+
+    private static final int KEYS = 4096;
+
+    @Param({"1000000"})
+    public int size;
+
+    private Map<String, Cupom> heapByCode;
+    private Map<Long, Cupom> heapById;
+    private OffHeapCupomStore store;
+    private String[] codes;
+    private long[] ids;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        LocalDateTime expiration = LocalDateTime.now().plusDays(30);
+
+        long before = usedHeap();
+        heapByCode = new HashMap<>(size * 2);
+        heapById = new HashMap<>(size * 2);
+        for (int i = 1; i <= size; i++) {
+            Cupom cupom = cupom(i, expiration);
+            heapByCode.put(cupom.getCode(), cupom);
+            heapById.put(cupom.getId(), cupom);
+        }
+        long heapBytes = usedHeap() - before;
+
+        before = usedHeap();
+        store = new OffHeapCupomStore(size);
+        for (Cupom cupom : heapByCode.values()) {
+            store.put(CupomState.of(cupom));
+        }
+        long storeHeapBytes = usedHeap() - before;
+
+        System.out.printf("%n%d cupons: mapas no heap %d MB; store %d MB no heap, %d MB fora do heap%n",
+                size, heapBytes >> 20, storeHeapBytes >> 20, store.offHeapBytes() >> 20);
+
+        SplittableRandom random = new SplittableRandom(42);
+        codes = new String[KEYS];
+        ids = new long[KEYS];
+        for (int i = 0; i < KEYS; i++) {
+            long id = random.nextInt(size) + 1;
+            ids[i] = id;
+            codes[i] = code(id);
+        }
+    }
+
+    private static Cupom cupom(long id, LocalDateTime expiration) {
+        Cupom cupom = new Cupom(code(id), "Cupom " + id, BigDecimal.valueOf(50 + id % 5_000, 2), expiration, true, null, 0L);
+        cupom.setId(id);
+        return cupom;
+    }
+
+    // Códigos distintos espalhados pelo espaço base 62
+    private static String code(long id) {
+        return PackedCode.decode(id * 48_271);
+    }
+
+    private static long usedHeap() {
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+    }
+
+    @Benchmark
+    public Object heapFindByCode() {
+        return CupomState.of(heapByCode.get(codes[next++ & (KEYS - 1)]));
+    }
+
+    @Benchmark
+    public Object offHeapFindByCode() {
+        return store.findByCode(codes[next++ & (KEYS - 1)]);
+    }
+
+    @Benchmark
+    public Object heapFindById() {
+        return CupomState.of(heapById.get(ids[next++ & (KEYS - 1)]));
+    }
+
+    @Benchmark
+    public Object offHeapFindById() {
+        return store.findById(ids[next++ & (KEYS - 1)]);
+    }
+}
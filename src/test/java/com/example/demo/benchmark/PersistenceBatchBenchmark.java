@@ -0,0 +1,60 @@
+package com.example.demo.benchmark;
+
+import com.example.demo.domain.Cupom;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Inserção em lote (insertAllSkippingExisting, um batch JDBC por chamada) por modo do H2 e
+// tamanho do lote. A vazão principal é em lotes; o contador rows dá cupons por segundo.
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(1)
+@State(Scope.Benchmark)
+public class PersistenceBatchBenchmark {
+
+    @Param({"MEM", "FILE", "FILE_CACHE_256M", "FILE_WRITE_DELAY_0"})
+    private PersistenceFixture.H2Mode h2;
+
+    @Param({"10000"})
+    private int tableSize;
+
+    @Param({"1", "50", "500"})
+    private int batchSize;
+
+    private PersistenceFixture fixture;
+    private long nextCode;
+
+    @AuxCounters(AuxCounters.Type.OPERATIONS)
+    @State(Scope.Thread)
+    public static class Rows {
+        public long rows;
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        fixture = new PersistenceFixture(h2, tableSize);
+        nextCode = tableSize;
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        fixture.close();
+    }
+
+    @Benchmark
+    public Object insertBatch(Rows rows) {
+        List<Cupom> batch = new ArrayList<>(batchSize);
+        for (int i = 0; i < batchSize; i++) {
+            batch.add(PersistenceFixture.cupom(nextCode++));
+        }
+        List<Cupom> inserted = fixture.transaction.execute(status -> fixture.repository.insertAllSkippingExisting(batch));
+        rows.rows += inserted.size();
+        return inserted;
+    }
+}
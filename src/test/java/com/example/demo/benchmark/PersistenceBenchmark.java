@@ -0,0 +1,89 @@
+package com.example.demo.benchmark;
+
+import com.example.demo.domain.Cupom;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Operações do CupomRepository pelo contexto Spring (JPA + H2 real) por modo do H2 e tamanho
+// da tabela: vazão e percentis de latência (SampleTime) no target/jmh-result.json.
+// Um modo/tamanho por vez: -p h2=FILE -p tableSize=1000000
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(1)
+@State(Scope.Benchmark)
+public class PersistenceBenchmark {
+
+    @Param({"MEM", "FILE", "FILE_CACHE_256M", "FILE_WRITE_DELAY_0"})
+    private PersistenceFixture.H2Mode h2;
+
+    @Param({"10000", "100000"})
+    private int tableSize;
+
+    private PersistenceFixture fixture;
+    private long nextCode;
+    private final AtomicLong deleteCursor = new AtomicLong();
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        fixture = new PersistenceFixture(h2, tableSize);
+        nextCode = tableSize;
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        fixture.close();
+    }
+
+    // Ids IDENTITY começam em 1 e a carga inicial ocupa 1..tableSize
+    private long randomId() {
+        return ThreadLocalRandom.current().nextLong(1, tableSize + 1);
+    }
+
+    private String randomCode() {
+        return PersistenceFixture.code(ThreadLocalRandom.current().nextLong(tableSize));
+    }
+
+    @Benchmark
+    public Object findById() {
+        return fixture.repository.findById(randomId());
+    }
+
+    @Benchmark
+    public Object findByCode() {
+        return fixture.repository.findByCode(randomCode());
+    }
+
+    @Benchmark
+    public boolean existsByCode() {
+        return fixture.repository.existsByCode(randomCode());
+    }
+
+    @Benchmark
+    public Object save() {
+        Cupom cupom = PersistenceFixture.cupom(nextCode++);
+        return fixture.transaction.execute(status -> fixture.repository.save(cupom));
+    }
+
+    // Deleção lógica como no DeleteCupomUseCase (select + update versionado). Ao percorrer a
+    // tabela inteira os cupons voltam a ficar ativos num único update; o custo dele fica
+    // diluído entre as tableSize deleções do ciclo.
+    @Benchmark
+    public Object delete() {
+        long n = deleteCursor.getAndIncrement();
+        long id = n % tableSize + 1;
+        if (id == 1 && n > 0) {
+            fixture.jdbcTemplate.update("UPDATE cupons SET deleted_at = NULL WHERE deleted_at IS NOT NULL");
+        }
+        return fixture.transaction.execute(status -> {
+            Cupom cupom = fixture.repository.findById(id).orElseThrow();
+            cupom.delete();
+            return fixture.repository.save(cupom);
+        });
+    }
+}
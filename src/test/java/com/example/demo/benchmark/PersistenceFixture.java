@@ -0,0 +1,100 @@
+package com.example.demo.benchmark;
+
+import com.example.demo.DemoApplication;
+import com.example.demo.domain.Cupom;
+import com.example.demo.domain.CupomRepository;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+// Aplicação sobre um H2 no modo escolhido, com tableSize cupons já gravados. Sem tarefas agendadas
+// (poller do outbox, podas) nem carga/manutenção dos índices em memória: só o banco entra na medição.
+public final class PersistenceFixture implements AutoCloseable {
+
+    // FILE é o modo do docker-compose; as variantes mudam uma configuração do MVStore por vez
+    public enum H2Mode {
+        MEM,
+        FILE,
+        FILE_CACHE_256M,
+        FILE_WRITE_DELAY_0;
+
+        String url(Path dir) {
+            return switch (this) {
+                case MEM -> "jdbc:h2:mem:" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1";
+                case FILE -> "jdbc:h2:file:" + dir.resolve("demo");
+                case FILE_CACHE_256M -> "jdbc:h2:file:" + dir.resolve("demo") + ";CACHE_SIZE=262144";
+                case FILE_WRITE_DELAY_0 -> "jdbc:h2:file:" + dir.resolve("demo") + ";WRITE_DELAY=0";
+            };
+        }
+    }
+
+    private static final int SEED_BATCH = 1_000;
+
+    final ConfigurableApplicationContext context;
+    final CupomRepository repository;
+    final TransactionTemplate transaction;
+    final JdbcTemplate jdbcTemplate;
+    private final Path dir;
+
+    PersistenceFixture(H2Mode mode, int tableSize) {
+        try {
+            this.dir = Files.createTempDirectory("cupom-persistence-benchmark");
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+        this.context = SpringApplication.run(DemoApplication.class,
+                "--spring.main.web-application-type=none",
+                "--spring.main.banner-mode=off",
+                "--logging.level.root=warn",
+                "--spring.jpa.show-sql=false",
+                "--cupom.scheduling.enabled=false",
+                "--cupom.index.enabled=false",
+                "--management.endpoint.health.group.readiness.include=readinessState",
+                "--spring.datasource.url=" + mode.url(this.dir));
+        this.repository = this.context.getBean(CupomRepository.class);
+        this.transaction = new TransactionTemplate(this.context.getBean(PlatformTransactionManager.class));
+        this.jdbcTemplate = this.context.getBean(JdbcTemplate.class);
+
+        for (int from = 0; from < tableSize; from += SEED_BATCH) {
+            List<Cupom> batch = new ArrayList<>(SEED_BATCH);
+            for (int i = from; i < Math.min(tableSize, from + SEED_BATCH); i++) {
+                batch.add(cupom(i));
+            }
+            this.transaction.executeWithoutResult(status -> this.repository.insertAllSkippingExisting(batch));
+        }
+    }
+
+    // Código de 6 caracteres único por índice: "P" + índice em base 36
+    static String code(long index) {
+        String digits = Long.toString(index, 36).toUpperCase();
+        return "P" + "0".repeat(5 - digits.length()) + digits;
+    }
+
+    static Cupom cupom(long index) {
+        return new Cupom(code(index), "Benchmark " + index, new BigDecimal("10.00"), LocalDateTime.now().plusDays(30), true);
+    }
+
+    @Override
+    public void close() {
+        this.context.close();
+        try (Stream<Path> files = Files.walk(this.dir)) {
+            files.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package com.example.demo.benchmark;
+
+import com.example.demo.domain.CupomChange;
+import com.example.demo.domain.CupomChangeType;
+import com.example.demo.domain.SearchText;
+import com.example.demo.infrastructure.index.TrigramSearchIndex;
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+// Latência de GET /cupom/search no índice de trigramas com descrições sintéticas
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgs = "-Xmx3g")
+@State(Scope.Benchmark)
+public class TrigramSearchBenchmark {
+
+    private static final String[] WORDS = {
+            "frete", "grátis", "desconto", "calçados", "eletrônicos", "natal", "black", "friday", "primeira",
+            "compra", "aniversário", "livros", "moda", "infantil", "esportes", "casa", "cozinha", "beleza",
+            "perfumaria", "games", "celulares", "informática", "viagem", "hotel", "passagens", "mercado",
+            "farmácia", "pet", "jardim", "ferramentas", "brinquedos", "relógios", "joias", "óculos"
+    };
+
+    @Param({"1000000"})
+    private int cupons;
+
+    private TrigramSearchIndex index;
+    private String commonQuery;
+    private String selectiveQuery;
+    private String typoQuery;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        LocalDateTime expiration = LocalDateTime.now().plusDays(30);
+        index = new TrigramSearchIndex();
+        for (long id = 1; id <= cupons; id++) {
+            String description = WORDS[random.nextInt(WORDS.length)] + " " + WORDS[random.nextInt(WORDS.length)]
+                    + " " + random.nextInt(100) + "% " + WORDS[random.nextInt(WORDS.length)];
+            index.apply(new CupomChange(id, CupomChangeType.CREATED, id, null, description,
+                    BigDecimal.TEN, expiration, true, expiration));
+        }
+        // Uma descrição rara para a busca seletiva
+        index.apply(new CupomChange(0L, CupomChangeType.CREATED, 0L, null, "Semana do consumidor especial",
+                BigDecimal.TEN, expiration, true, expiration));
+
+        commonQuery = SearchText.normalize("frete grátis");
+        selectiveQuery = SearchText.normalize("consumidor");
+        typoQuery = SearchText.normalize("consumidro");
+    }
+
+    @Benchmark
+    public List<?> commonTerms() {
+        return index.search(commonQuery, 20);
+    }
+
+    @Benchmark
+    public List<?> selectiveTerm() {
+        return index.search(selectiveQuery, 20);
+    }
+
+    @Benchmark
+    public List<?> selectiveTermWithTypo() {
+        return index.search(typoQuery, 20);
+    }
+}
@@ -0,0 +1,126 @@
+package com.example.demo.budget;
+
+import com.example.demo.application.dtos.CreateCupomDto;
+import com.example.demo.application.dtos.CupomResponse;
+import com.example.demo.application.dtos.ValidateCodesDto;
+import com.example.demo.application.usecases.CreateCupomUseCase;
+import com.example.demo.application.usecases.DeleteCupomUseCase;
+import com.example.demo.application.usecases.FindCupomStatusUseCase;
+import com.example.demo.application.usecases.FindCupomUseCase;
+import com.example.demo.application.usecases.ValidateCodesUseCase;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Orçamento exato de idas ao banco por caso de uso. Se um teste falhar porque o número
+// subiu, a mudança adicionou consultas: justifique e atualize o orçamento junto com ela.
+@DisplayName("Statement Budget Tests")
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:counting:h2:mem:statement-budget;DB_CLOSE_DELAY=-1",
+        "spring.datasource.driver-class-name=com.example.demo.budget.StatementCountingDriver"
+})
+class StatementBudgetTest {
+
+    private static final AtomicInteger NEXT_CODE = new AtomicInteger();
+
+    @Autowired
+    private CreateCupomUseCase createUseCase;
+    @Autowired
+    private DeleteCupomUseCase deleteUseCase;
+    @Autowired
+    private FindCupomUseCase findUseCase;
+    @Autowired
+    private ValidateCodesUseCase validateUseCase;
+    @Autowired
+    private FindCupomStatusUseCase statusUseCase;
+
+    @AfterEach
+    void tearDown() {
+        StatementCountingDriver.stop();
+    }
+
+    private static CreateCupomDto request() {
+        String code = String.format("BGT%03d", NEXT_CODE.incrementAndGet());
+        return new CreateCupomDto(code, "Orçamento", new BigDecimal("10.00"), LocalDateTime.now().plusDays(7), true);
+    }
+
+    private static void assertBudget(int expected, List<String> statements) {
+        assertEquals(expected, statements.size(),
+                () -> "Idas ao banco fora do orçamento:\n" + String.join("\n", statements));
+    }
+
+    @Test
+    @DisplayName("Criação: insert do cupom e insert do outbox")
+    void createBudget() {
+        StatementCountingDriver.start();
+        createUseCase.execute(request());
+
+        assertBudget(2, StatementCountingDriver.stop());
+    }
+
+    @Test
+    @DisplayName("Deleção: select do cupom, update e insert do outbox (sem select de merge)")
+    void deleteBudget() {
+        CupomResponse created = createUseCase.execute(request());
+
+        StatementCountingDriver.start();
+        deleteUseCase.execute(created.id());
+
+        assertBudget(3, StatementCountingDriver.stop());
+    }
+
+    @Test
+    @DisplayName("Busca por id: um select")
+    void findBudget() {
+        CupomResponse created = createUseCase.execute(request());
+
+        StatementCountingDriver.start();
+        findUseCase.execute(created.id());
+
+        assertBudget(1, StatementCountingDriver.stop());
+    }
+
+    @Test
+    @DisplayName("Busca repetida por id inexistente: só a primeira vai ao banco")
+    void findMissingBudget() {
+        StatementCountingDriver.start();
+        findUseCase.execute(Long.MAX_VALUE);
+        findUseCase.execute(Long.MAX_VALUE);
+
+        assertBudget(1, StatementCountingDriver.stop());
+    }
+
+    @Test
+    @DisplayName("Validação de vários códigos: um único select (IN)")
+    void validateBudget() {
+        CupomResponse first = createUseCase.execute(request());
+        CupomResponse second = createUseCase.execute(request());
+
+        StatementCountingDriver.start();
+        validateUseCase.execute(new ValidateCodesDto(List.of(first.code(), second.code(), "NOPE99")));
+
+        assertBudget(1, StatementCountingDriver.stop());
+    }
+
+    @Test
+    @DisplayName("Status por id: um select, e o id inexistente repetido só vai ao banco uma vez")
+    void statusBudget() {
+        CupomResponse created = createUseCase.execute(request());
+
+        StatementCountingDriver.start();
+        statusUseCase.execute(created.id());
+        statusUseCase.execute(Long.MAX_VALUE - 1);
+        statusUseCase.execute(Long.MAX_VALUE - 1);
+
+        assertBudget(2, StatementCountingDriver.stop());
+    }
+}
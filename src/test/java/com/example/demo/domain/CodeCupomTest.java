@@ -148,4 +148,27 @@ class CodeCupomTest {
 
         assertEquals("ABC123", code.getValue());
     }
+
+    @Test
+    @DisplayName("Deve normalizar código válido sem registrar erros")
+    void shouldValidateAndNormalizeWithoutErrors() {
+        ValidationErrors errors = new ValidationErrors();
+
+        String normalized = CodeCupom.validate("A-B_C@1#2$3", errors);
+
+        assertEquals("ABC123", normalized);
+        assertFalse(errors.hasErrors());
+    }
+
+    @Test
+    @DisplayName("Deve registrar erro em vez de lançar exceção para código inválido")
+    void shouldRegisterErrorInsteadOfThrowingForInvalidCode() {
+        ValidationErrors errors = new ValidationErrors();
+
+        String normalized = CodeCupom.validate("ABC12", errors);
+
+        assertNull(normalized);
+        assertEquals(1, errors.getErrors().size());
+        assertEquals("code", errors.getErrors().get(0).field());
+    }
 }
@@ -117,28 +117,6 @@ class CupomRepositoryTest {
         verify(cupomRepository, times(1)).existsByCode("NONEXISTENT");
     }
 
-    @Test
-    @DisplayName("Deve verificar se cupom existe por código com lock")
-    void shouldCheckIfCupomExistsByCodeWithLock() {
-        when(cupomRepository.existsByCode("ABC123")).thenReturn(true);
-
-        boolean exists = cupomRepository.existsByCode("ABC123");
-
-        assertTrue(exists);
-        verify(cupomRepository, times(1)).existsByCode("ABC123");
-    }
-
-    @Test
-    @DisplayName("Deve retornar false quando cupom não existe por código com lock")
-    void shouldReturnFalseWhenCupomDoesNotExistByCodeWithLock() {
-        when(cupomRepository.existsByCode("NONEXISTENT")).thenReturn(false);
-
-        boolean exists = cupomRepository.existsByCode("NONEXISTENT");
-
-        assertFalse(exists);
-        verify(cupomRepository, times(1)).existsByCode("NONEXISTENT");
-    }
-
     @Test
     @DisplayName("Deve encontrar cupom deletado por ID")
     void shouldFindDeletedCupomById() {
@@ -9,6 +9,7 @@ import org.junit.jupiter.api.Test;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -219,4 +220,64 @@ class CupomTest {
         assertEquals(0L, cupom.getVersion());
     }
 
+    @Test
+    @DisplayName("Deve validar sem erros quando todos os campos são válidos")
+    void shouldValidateWithoutErrorsWhenAllFieldsAreValid() {
+        ValidationErrors errors = Cupom.validate(validCode, validDescription, validDiscount, validExpirationDate);
+
+        assertFalse(errors.hasErrors());
+    }
+
+    @Test
+    @DisplayName("Deve acumular erros de todos os campos inválidos sem lançar exceção")
+    void shouldAccumulateErrorsOfAllInvalidFields() {
+        ValidationErrors errors = Cupom.validate(null, "", null, null);
+
+        assertTrue(errors.hasErrors());
+        assertEquals(
+                List.of("code", "description", "discountValue", "expirationDate"),
+                errors.getErrors().stream().map(ValidationErrors.FieldError::field).toList()
+        );
+    }
+
+    @Test
+    @DisplayName("Deve lançar exceção quando data de expiração é nula")
+    void shouldThrowExceptionWhenExpirationDateIsNull() {
+        InvalidCupomException exception = assertThrows(
+                InvalidCupomException.class,
+                () -> new Cupom(validCode, validDescription, validDiscount, null, true)
+        );
+
+        assertTrue(exception.getMessage().contains("nula"));
+    }
+
+    @Test
+    @DisplayName("Deve reconstruir cupom já expirado a partir do banco")
+    void shouldRebuildExpiredCupomFromDatabase() {
+        LocalDateTime pastDate = LocalDateTime.now().minusDays(1);
+
+        Cupom cupom = new Cupom(validCode, validDescription, validDiscount, pastDate, true, null, 1L);
+
+        assertTrue(cupom.isExpired(LocalDateTime.now()));
+        assertEquals(CupomStatus.EXPIRED, cupom.statusAt(LocalDateTime.now()));
+    }
+
+    @Test
+    @DisplayName("Deve priorizar status deletado sobre expirado e não publicado")
+    void shouldPrioritizeDeletedStatus() {
+        Cupom cupom = new Cupom(validCode, validDescription, validDiscount, LocalDateTime.now().minusDays(1), false, LocalDateTime.now(), 1L);
+
+        assertEquals(CupomStatus.DELETED, cupom.statusAt(LocalDateTime.now()));
+    }
+
+    @Test
+    @DisplayName("Deve retornar status não publicado e válido")
+    void shouldReturnUnpublishedAndValidStatus() {
+        Cupom unpublished = new Cupom(validCode, validDescription, validDiscount, validExpirationDate, false);
+        Cupom published = new Cupom(validCode, validDescription, validDiscount, validExpirationDate, true);
+
+        assertEquals(CupomStatus.UNPUBLISHED, unpublished.statusAt(LocalDateTime.now()));
+        assertEquals(CupomStatus.VALID, published.statusAt(LocalDateTime.now()));
+    }
+
 }
@@ -30,7 +30,8 @@ class DiscountTest {
 
         Discount discount = new Discount(minValue);
 
-        assertEquals(minValue, discount.getValue());
+        assertEquals(new BigDecimal("0.50"), discount.getValue());
+        assertEquals(50, discount.getCents());
     }
 
     @Test
@@ -92,4 +93,50 @@ class DiscountTest {
 
         assertEquals(expectedValue, discount.getValue());
     }
+
+    @Test
+    @DisplayName("Deve converter para centavos e de volta sem perda")
+    void shouldConvertToCentsLosslessly() {
+        Discount discount = new Discount(new BigDecimal("12.3"));
+
+        assertEquals(1230, discount.getCents());
+        assertEquals(new BigDecimal("12.30"), discount.getValue());
+        assertEquals(new Discount(new BigDecimal("12.300")), discount);
+        assertEquals(discount, Discount.ofCents(1230));
+    }
+
+    @Test
+    @DisplayName("Deve lançar exceção quando valor tem mais de 2 casas decimais")
+    void shouldThrowExceptionWhenValueHasMoreThanTwoDecimals() {
+        InvalidDiscountException exception = assertThrows(
+                InvalidDiscountException.class,
+                () -> new Discount(new BigDecimal("10.005"))
+        );
+
+        assertTrue(exception.getMessage().contains("2 casas decimais"));
+    }
+
+    @Test
+    @DisplayName("Deve lançar exceção quando valor não cabe na coluna NUMERIC(10, 2)")
+    void shouldThrowExceptionWhenValueExceedsColumn() {
+        assertEquals(9_999_999_999L, new Discount(new BigDecimal("99999999.99")).getCents());
+        assertThrows(InvalidDiscountException.class, () -> new Discount(new BigDecimal("100000000.00")));
+        assertThrows(InvalidDiscountException.class, () -> Discount.ofCents(49));
+    }
+
+    @Test
+    @DisplayName("Deve aplicar o desconto ao total sem deixá-lo negativo")
+    void shouldApplyDiscountWithoutGoingNegative() {
+        Discount discount = new Discount(new BigDecimal("15.00"));
+
+        assertEquals(8_500, discount.applyTo(10_000));
+        assertEquals(0, discount.applyTo(1_000));
+    }
+
+    @Test
+    @DisplayName("Deve comparar descontos pelo valor")
+    void shouldCompareByValue() {
+        assertTrue(new Discount(new BigDecimal("5.00")).compareTo(new Discount(new BigDecimal("10"))) < 0);
+        assertEquals(0, new Discount(new BigDecimal("5")).compareTo(new Discount(new BigDecimal("5.00"))));
+    }
 }
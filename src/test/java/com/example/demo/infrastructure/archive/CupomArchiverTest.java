@@ -0,0 +1,130 @@
+package com.example.demo.infrastructure.archive;
+
+import com.example.demo.domain.CupomChange;
+import com.example.demo.domain.CupomChangeLog;
+import com.example.demo.domain.CupomChangeType;
+import org.flywaydb.core.Flyway;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ParameterizedPreparedStatementSetter;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@DisplayName("CupomArchiver Tests")
+@ExtendWith(MockitoExtension.class)
+class CupomArchiverTest {
+
+    @Mock
+    private CupomChangeLog changeLog;
+
+    private JdbcTemplate jdbcTemplate;
+    private final LocalDateTime now = LocalDateTime.now();
+
+    @BeforeEach
+    void setUp() {
+        JdbcDataSource dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1");
+        Flyway.configure().dataSource(dataSource).locations("classpath:db/migration").load().migrate();
+        jdbcTemplate = new JdbcTemplate(dataSource);
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.execute("SHUTDOWN");
+    }
+
+    private CupomArchiver archiver(int batchSize) {
+        ArchiveProperties properties = new ArchiveProperties(Duration.ofDays(30), batchSize, Duration.ZERO, null);
+        return new CupomArchiver(jdbcTemplate, new DataSourceTransactionManager(jdbcTemplate.getDataSource()), changeLog, properties);
+    }
+
+    private void insert(long id, LocalDateTime expiration, LocalDateTime deletedAt) {
+        jdbcTemplate.update(
+                "INSERT INTO cupons (id, code, description, discount_value, expiration_date, published, deleted_at, version) "
+                        + "VALUES (?, ?, 'Cupom', 10.00, ?, TRUE, ?, 0)",
+                id, "CUP" + String.format("%03d", id), Timestamp.valueOf(expiration), deletedAt != null ? Timestamp.valueOf(deletedAt) : null
+        );
+    }
+
+    private List<Long> ids(String table) {
+        return jdbcTemplate.queryForList("SELECT id FROM " + table + " ORDER BY id", Long.class);
+    }
+
+    @Test
+    @DisplayName("Deve arquivar apenas cupons expirados ou deletados há mais que a retenção")
+    void shouldArchiveOnlyRowsPastRetention() {
+        insert(1, now.plusDays(10), null);
+        insert(2, now.minusDays(5), null);
+        insert(3, now.minusDays(40), null);
+        insert(4, now.plusDays(10), now.minusDays(5));
+        insert(5, now.plusDays(10), now.minusDays(31));
+
+        archiver(100).run();
+
+        assertEquals(List.of(1L, 2L, 4L), ids("cupons"));
+        assertEquals(List.of(3L, 5L), ids("cupons_archive"));
+        assertEquals(
+                1,
+                jdbcTemplate.queryForObject("SELECT COUNT(*) FROM cupons_archive WHERE id = 5 AND deleted_at IS NOT NULL AND archived_at IS NOT NULL", Integer.class)
+        );
+    }
+
+    @Test
+    @DisplayName("Deve percorrer vários lotes e registrar ARCHIVED no outbox")
+    void shouldArchiveInBatchesAndAppendArchivedChanges() {
+        for (long id = 1; id <= 5; id++) {
+            insert(id, now.minusDays(40 + id % 2), null);
+        }
+
+        archiver(2).run();
+
+        assertEquals(List.of(), ids("cupons"));
+        assertEquals(List.of(1L, 2L, 3L, 4L, 5L), ids("cupons_archive"));
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<CupomChange>> changes = ArgumentCaptor.forClass(List.class);
+        verify(changeLog, times(3)).appendAll(changes.capture());
+        List<CupomChange> appended = changes.getAllValues().stream().flatMap(List::stream).toList();
+        assertEquals(5, appended.size());
+        assertTrue(appended.stream().allMatch(change -> change.type() == CupomChangeType.ARCHIVED));
+    }
+
+    @Test
+    @DisplayName("Deve manter em cupons o cupom alterado depois da leitura")
+    void shouldKeepRowChangedAfterRead() {
+        insert(1, now.minusDays(40), null);
+        insert(2, now.minusDays(40), null);
+        // Uma alteração concorrente do cupom 2 entre a leitura do lote e o delete
+        JdbcTemplate racing = new JdbcTemplate(jdbcTemplate.getDataSource()) {
+            @Override
+            public <T> int[][] batchUpdate(String sql, Collection<T> batchArgs, int batchSize, ParameterizedPreparedStatementSetter<T> pss) {
+                if (sql.startsWith("DELETE")) {
+                    update("UPDATE cupons SET version = version + 1 WHERE id = 2");
+                }
+                return super.batchUpdate(sql, batchArgs, batchSize, pss);
+            }
+        };
+        ArchiveProperties properties = new ArchiveProperties(Duration.ofDays(30), 100, Duration.ZERO, null);
+
+        new CupomArchiver(racing, new DataSourceTransactionManager(racing.getDataSource()), changeLog, properties).run();
+
+        assertEquals(List.of(2L), ids("cupons"));
+        assertEquals(List.of(1L), ids("cupons_archive"));
+    }
+}
@@ -0,0 +1,118 @@
+package com.example.demo.infrastructure.generation;
+
+import com.example.demo.domain.CodeCupom;
+import com.example.demo.domain.CupomChange;
+import com.example.demo.domain.CupomChangeType;
+import com.example.demo.domain.CupomRepository;
+import com.example.demo.domain.ValidationErrors;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.*;
+
+@DisplayName("BitmapCodeGenerator Tests")
+@ExtendWith(MockitoExtension.class)
+class BitmapCodeGeneratorTest {
+
+    @Mock
+    private CupomRepository cupomRepository;
+
+    @Test
+    @DisplayName("Deve converter código em chave e de volta")
+    void shouldEncodeAndDecodeCode() {
+        assertEquals(0, BitmapCodeGenerator.encode("AAAAAA"));
+        assertEquals(BitmapCodeGenerator.KEY_SPACE - 1, BitmapCodeGenerator.encode("999999"));
+        assertEquals("ABC123", BitmapCodeGenerator.decode((int) BitmapCodeGenerator.encode("ABC123")));
+        assertEquals("999999", BitmapCodeGenerator.decode((int) (BitmapCodeGenerator.KEY_SPACE - 1)));
+        assertEquals(-1, BitmapCodeGenerator.encode("abc123"));
+    }
+
+    @Test
+    @DisplayName("Deve gerar códigos válidos e distintos")
+    void shouldGenerateValidDistinctCodes() {
+        when(cupomRepository.findCodesAfter(isNull(), anyInt())).thenReturn(List.of());
+        BitmapCodeGenerator generator = new BitmapCodeGenerator(cupomRepository, 100, new Random(42));
+
+        List<String> codes = generator.nextUniqueCodes(5_000);
+
+        assertEquals(5_000, new HashSet<>(codes).size());
+        for (String code : codes) {
+            assertEquals(code, CodeCupom.validate(code, new ValidationErrors()));
+        }
+        assertEquals(BitmapCodeGenerator.KEY_SPACE - 5_000, generator.remainingCapacity());
+    }
+
+    @Test
+    @DisplayName("Deve carregar os códigos existentes paginando uma única vez")
+    void shouldLoadExistingCodesOnce() {
+        when(cupomRepository.findCodesAfter(isNull(), eq(2))).thenReturn(List.of("AAAAAA", "AAAAAB"));
+        when(cupomRepository.findCodesAfter(eq("AAAAAB"), eq(2))).thenReturn(List.of("abcdef"));
+        BitmapCodeGenerator generator = new BitmapCodeGenerator(cupomRepository, 2, new Random(1));
+
+        assertEquals(BitmapCodeGenerator.KEY_SPACE - 2, generator.remainingCapacity());
+        generator.nextUniqueCodes(10);
+
+        verify(cupomRepository, times(2)).findCodesAfter(any(), anyInt());
+    }
+
+    @Test
+    @DisplayName("Nunca deve gerar um código já existente")
+    void shouldNeverGenerateExistingCode() {
+        // Sempre sorteia a chave 0 ("AAAAAA") primeiro, que já existe
+        Random random = new Random() {
+            private long next = 0;
+
+            @Override
+            public long nextLong(long bound) {
+                return next++;
+            }
+        };
+        when(cupomRepository.findCodesAfter(isNull(), anyInt())).thenReturn(List.of("AAAAAA"));
+        BitmapCodeGenerator generator = new BitmapCodeGenerator(cupomRepository, 100, random);
+
+        assertEquals(List.of("AAAAAB", "AAAAAC"), generator.nextUniqueCodes(2));
+    }
+
+    @Test
+    @DisplayName("Deve marcar como usados os códigos criados em outros nós")
+    void shouldMarkCodesCreatedElsewhere() {
+        when(cupomRepository.findCodesAfter(isNull(), anyInt())).thenReturn(List.of());
+        BitmapCodeGenerator generator = new BitmapCodeGenerator(cupomRepository, 100, new Random(1));
+        long before = generator.remainingCapacity();
+
+        generator.onChanges(List.of(new CupomChange(
+                1L, CupomChangeType.CREATED, 10L, "XYZ789", "Cupom",
+                new BigDecimal("10.00"), LocalDateTime.now().plusDays(1), true, LocalDateTime.now()
+        )));
+
+        assertEquals(before - 1, generator.remainingCapacity());
+    }
+
+    @Test
+    @DisplayName("Deve carregar os códigos na subida, antes do primeiro pedido")
+    void shouldLoadCodesOnStartup() {
+        when(cupomRepository.findCodesAfter(isNull(), anyInt())).thenReturn(List.of("AAAAAA"));
+        BitmapCodeGenerator generator = new BitmapCodeGenerator(cupomRepository, 100, new Random(1));
+
+        generator.load();
+        verify(cupomRepository).findCodesAfter(isNull(), eq(100));
+
+        assertEquals(BitmapCodeGenerator.KEY_SPACE - 1, generator.remainingCapacity());
+        generator.nextUniqueCodes(10);
+        verifyNoMoreInteractions(cupomRepository);
+    }
+}
@@ -0,0 +1,151 @@
+package com.example.demo.infrastructure.index;
+
+import com.example.demo.domain.CodePrefixMatch;
+import com.example.demo.domain.CupomChange;
+import com.example.demo.domain.CupomChangeType;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("CodePrefixIndex Tests")
+class CodePrefixIndexTest {
+
+    private CodePrefixIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new CodePrefixIndex();
+    }
+
+    private static CupomChange change(CupomChangeType type, long id, String code) {
+        return new CupomChange(null, type, id, code, "Cupom " + code, new BigDecimal("10.00"),
+                LocalDateTime.now().plusDays(1), true, LocalDateTime.now());
+    }
+
+    private List<String> codes(String prefix, int limit) {
+        return index.findByCodePrefix(prefix, limit).stream().map(CodePrefixMatch::code).toList();
+    }
+
+    @Test
+    @DisplayName("Deve manter a ordem do código na chave empacotada")
+    void shouldPreserveCodeOrderInPackedKey() {
+        assertEquals("0aZ9zA", PackedCode.decode(PackedCode.encode("0aZ9zA")));
+        assertTrue(PackedCode.encode("ABC123") < PackedCode.encode("ABC124"));
+        assertTrue(PackedCode.encode("ZZZZZZ") < PackedCode.encode("aaaaaa"));
+        assertTrue(PackedCode.encode("999999") < PackedCode.encode("AAAAAA"));
+        assertEquals(-1, PackedCode.encode("ABC12"));
+        assertEquals(-1, PackedCode.encodePrefix("AB-"));
+    }
+
+    @Test
+    @DisplayName("Deve retornar os primeiros códigos com o prefixo em ordem")
+    void shouldReturnFirstMatchesInOrder() {
+        index.apply(change(CupomChangeType.CREATED, 1, "NATAL2"));
+        index.apply(change(CupomChangeType.CREATED, 2, "NATAL1"));
+        index.apply(change(CupomChangeType.CREATED, 3, "NATBL1"));
+        index.apply(change(CupomChangeType.CREATED, 4, "natal3"));
+
+        assertEquals(List.of("NATAL1", "NATAL2"), codes("NATAL", 10));
+        assertEquals(List.of("NATAL1", "NATAL2", "NATBL1"), codes("NAT", 10));
+        assertEquals(List.of("NATAL1"), codes("N", 1));
+        assertEquals(List.of("NATBL1"), codes("NATBL1", 10));
+        assertEquals(List.of(), codes("X", 10));
+        assertEquals(2L, index.findByCodePrefix("NATAL1", 1).get(0).id());
+    }
+
+    @Test
+    @DisplayName("Deve remover cupons deletados e ignorar eventos repetidos")
+    void shouldRemoveDeletedAndIgnoreRepeatedEvents() {
+        index.apply(change(CupomChangeType.CREATED, 1, "PROMO1"));
+        index.apply(change(CupomChangeType.CREATED, 1, "PROMO1"));
+        index.apply(change(CupomChangeType.CREATED, 2, "PROMO2"));
+        index.apply(change(CupomChangeType.DELETED, 1, "PROMO1"));
+
+        assertEquals(List.of("PROMO2"), codes("PROMO", 10));
+        assertEquals(1, index.size());
+    }
+
+    @Test
+    @DisplayName("Deve ignorar remoção de outro cupom com o mesmo código")
+    void shouldIgnoreRemovalOfOtherCupomWithSameCode() {
+        // Código reaproveitado depois do arquivamento: ARCHIVED do cupom antigo chega depois do CREATED novo
+        index.apply(change(CupomChangeType.CREATED, 1, "REUSE1"));
+        index.apply(change(CupomChangeType.CREATED, 2, "REUSE1"));
+        index.apply(change(CupomChangeType.ARCHIVED, 1, "REUSE1"));
+
+        assertEquals(2L, index.findByCodePrefix("REUSE1", 1).get(0).id());
+
+        // O mesmo no array consolidado, depois de um merge
+        for (int i = 0; i < 5_000; i++) {
+            index.apply(change(CupomChangeType.CREATED, 100 + i, String.format("F%05d", i)));
+        }
+        index.apply(change(CupomChangeType.CREATED, 3, "REUSE1"));
+        index.apply(change(CupomChangeType.DELETED, 2, "REUSE1"));
+
+        assertEquals(3L, index.findByCodePrefix("REUSE1", 1).get(0).id());
+
+        index.apply(change(CupomChangeType.DELETED, 3, "REUSE1"));
+
+        assertEquals(List.of(), codes("REUSE1", 10));
+    }
+
+    @Test
+    @DisplayName("Deve combinar array consolidado e inserções pendentes após vários merges")
+    void shouldCombineMergedAndPendingEntries() {
+        List<String> expected = new ArrayList<>();
+        for (int i = 0; i < 10_000; i++) {
+            String code = String.format("A%05d", i);
+            index.apply(change(CupomChangeType.CREATED, i + 1, code));
+            if (i % 3 == 0) {
+                index.apply(change(CupomChangeType.DELETED, i + 1, code));
+            } else {
+                expected.add(code);
+            }
+        }
+
+        assertEquals(expected.size(), index.size());
+        assertEquals(expected.subList(0, 50), codes("A", 50));
+        assertEquals(List.of("A09998"), codes("A09998", 5));
+        assertEquals(List.of("A09991", "A09992", "A09994", "A09995", "A09997", "A09998"), codes("A0999", 10));
+        assertEquals(List.of(), codes("A09999", 5));
+    }
+
+    @Test
+    @DisplayName("Deve montar o array ordenado de uma vez na carga inicial")
+    void shouldBuildSortedArrayOnBulkLoad() throws Exception {
+        // Loaders paralelos entregam faixas fora de ordem
+        List<Thread> loaders = new ArrayList<>();
+        for (int worker = 0; worker < 4; worker++) {
+            int first = worker;
+            loaders.add(Thread.ofVirtual().start(() -> {
+                for (int i = 9_999 - first; i >= 0; i -= 4) {
+                    index.load(change(CupomChangeType.CREATED, i + 1, String.format("B%05d", i)));
+                }
+            }));
+        }
+        for (Thread loader : loaders) {
+            loader.join();
+        }
+
+        assertEquals(0, index.size());
+        index.finishLoad();
+
+        assertEquals(10_000, index.size());
+        assertEquals(List.of("B00000", "B00001", "B00002"), codes("B", 3));
+        assertEquals(5_001L, index.findByCodePrefix("B05000", 1).get(0).id());
+
+        // Depois da carga, o feed segue pelo caminho normal
+        index.apply(change(CupomChangeType.DELETED, 1, "B00000"));
+        index.apply(change(CupomChangeType.CREATED, 20_000, "A00000"));
+        assertEquals(List.of("A00000"), codes("A", 5));
+        assertEquals(List.of("B00001", "B00002"), codes("B", 2));
+        assertEquals(10_000, index.size());
+    }
+}
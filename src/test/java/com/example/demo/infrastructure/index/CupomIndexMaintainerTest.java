@@ -0,0 +1,115 @@
+package com.example.demo.infrastructure.index;
+
+import com.example.demo.domain.Cupom;
+import com.example.demo.domain.CupomChange;
+import com.example.demo.domain.CupomChangeType;
+import com.example.demo.domain.CupomRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.boot.health.contributor.Status;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@DisplayName("CupomIndexMaintainer Tests")
+@ExtendWith(MockitoExtension.class)
+class CupomIndexMaintainerTest {
+
+    @Mock
+    private CupomRepository cupomRepository;
+
+    // A carga aplica as alterações a partir de várias threads
+    private final List<CupomChange> applied = Collections.synchronizedList(new ArrayList<>());
+    private final CupomIndex recordingIndex = new CupomIndex() {
+        @Override
+        public void apply(CupomChange change) {
+            applied.add(change);
+        }
+
+        @Override
+        public void clear() {
+            applied.clear();
+        }
+    };
+
+    private static Cupom cupom(long id, String code, LocalDateTime deletedAt) {
+        Cupom cupom = new Cupom(code, "Cupom " + code, new BigDecimal("10.00"), LocalDateTime.now().plusDays(1), true, deletedAt, 0L);
+        cupom.setId(id);
+        return cupom;
+    }
+
+    @Test
+    @DisplayName("Deve carregar os cupons não deletados em faixas de id paralelas")
+    void shouldLoadNonDeletedCuponsInParallelIdRanges() {
+        when(cupomRepository.findMaxId()).thenReturn(5L);
+        when(cupomRepository.findAllByIdRange(1, 3)).thenReturn(List.of(
+                cupom(1, "AAAAA1", null),
+                cupom(2, "AAAAA2", LocalDateTime.now())
+        ));
+        when(cupomRepository.findAllByIdRange(3, 5)).thenReturn(List.of(cupom(3, "AAAAA3", null)));
+        when(cupomRepository.findAllByIdRange(5, 7)).thenReturn(List.of(cupom(5, "AAAAA5", null)));
+        CupomIndexMaintainer maintainer = new CupomIndexMaintainer(cupomRepository, List.of(recordingIndex), 2, 2, 10);
+
+        maintainer.load();
+
+        assertTrue(maintainer.isLoaded());
+        assertEquals(List.of(1L, 3L, 5L), applied.stream().map(CupomChange::cupomId).sorted(Comparator.naturalOrder()).toList());
+        assertTrue(applied.stream().allMatch(change -> change.type() == CupomChangeType.CREATED));
+        assertEquals(3, maintainer.report().rows());
+        assertEquals(2, maintainer.report().workers());
+        verify(cupomRepository, never()).findAllByIdRange(eq(7L), anyLong());
+    }
+
+    @Test
+    @DisplayName("Deve limitar os workers ao pool de conexões, deixando uma conexão livre")
+    void shouldBoundWorkersByPoolSize() {
+        when(cupomRepository.findMaxId()).thenReturn(0L);
+
+        CupomIndexMaintainer maintainer = new CupomIndexMaintainer(cupomRepository, List.of(recordingIndex), 100, 8, 3);
+        maintainer.load();
+
+        assertEquals(2, maintainer.report().workers());
+        verify(cupomRepository, never()).findAllByIdRange(anyLong(), anyLong());
+    }
+
+    @Test
+    @DisplayName("Deve ficar fora de serviço no readiness até o fim da carga")
+    void shouldReportOutOfServiceUntilLoaded() {
+        when(cupomRepository.findMaxId()).thenReturn(1L);
+        when(cupomRepository.findAllByIdRange(1, 101)).thenReturn(List.of(cupom(1, "AAAAA1", null)));
+        CupomIndexMaintainer maintainer = new CupomIndexMaintainer(cupomRepository, List.of(recordingIndex), 100, 4, 10);
+        CupomIndexHealthIndicator health = new CupomIndexHealthIndicator(maintainer);
+
+        assertEquals(Status.OUT_OF_SERVICE, health.health().getStatus());
+
+        maintainer.load();
+
+        assertEquals(Status.UP, health.health().getStatus());
+        assertEquals(1L, health.health().getDetails().get("rows"));
+    }
+
+    @Test
+    @DisplayName("Deve ignorar alterações recebidas antes da carga e repassar as seguintes")
+    void shouldIgnoreChangesBeforeLoad() {
+        when(cupomRepository.findMaxId()).thenReturn(0L);
+        CupomIndexMaintainer maintainer = new CupomIndexMaintainer(cupomRepository, List.of(recordingIndex), 10, 4, 10);
+        CupomChange change = CupomChange.deleted(cupom(7, "BBBBB7", LocalDateTime.now()));
+
+        maintainer.onChanges(List.of(change));
+        assertTrue(applied.isEmpty());
+
+        maintainer.load();
+        maintainer.onChanges(List.of(change));
+        assertEquals(List.of(change), applied);
+    }
+}
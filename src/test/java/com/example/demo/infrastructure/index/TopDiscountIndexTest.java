@@ -0,0 +1,96 @@
+package com.example.demo.infrastructure.index;
+
+import com.example.demo.domain.ActiveDiscount;
+import com.example.demo.domain.CupomChange;
+import com.example.demo.domain.CupomChangeType;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("TopDiscountIndex Tests")
+class TopDiscountIndexTest {
+
+    private final LocalDateTime now = LocalDateTime.now();
+    private TopDiscountIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new TopDiscountIndex();
+    }
+
+    private static CupomChange change(CupomChangeType type, long id, String discount, LocalDateTime expiration, boolean published) {
+        return new CupomChange(null, type, id, "CODE" + id, "Cupom " + id, new BigDecimal(discount),
+                expiration, published, LocalDateTime.now());
+    }
+
+    private List<Long> best(int n, LocalDateTime at) {
+        return index.best(n, at).stream().map(ActiveDiscount::id).toList();
+    }
+
+    @Test
+    @DisplayName("Deve retornar os maiores descontos e desempatar pelo menor id")
+    void shouldReturnHighestDiscountsThenLowestId() {
+        index.apply(change(CupomChangeType.CREATED, 1, "5.00", now.plusDays(1), true));
+        index.apply(change(CupomChangeType.CREATED, 2, "20.00", now.plusDays(1), true));
+        index.apply(change(CupomChangeType.CREATED, 3, "10.00", now.plusDays(1), true));
+        index.apply(change(CupomChangeType.CREATED, 4, "20.0", now.plusDays(1), true));
+
+        assertEquals(List.of(2L, 4L, 3L), best(3, now));
+        assertEquals(List.of(2L, 4L, 3L, 1L), best(10, now));
+    }
+
+    @Test
+    @DisplayName("Deve ignorar cupons não publicados ou já expirados")
+    void shouldIgnoreUnpublishedOrExpired() {
+        index.apply(change(CupomChangeType.CREATED, 1, "50.00", now.plusDays(1), false));
+        index.apply(change(CupomChangeType.CREATED, 2, "40.00", now.minusDays(1), true));
+        index.apply(change(CupomChangeType.CREATED, 3, "10.00", now.plusDays(1), true));
+
+        assertEquals(List.of(3L), best(10, now));
+        assertEquals(1, index.size());
+    }
+
+    @Test
+    @DisplayName("Deve remover cupons arquivados")
+    void shouldRemoveArchived() {
+        index.apply(change(CupomChangeType.CREATED, 1, "30.00", now.plusDays(1), true));
+        index.apply(change(CupomChangeType.CREATED, 2, "15.00", now.plusDays(1), true));
+        index.apply(change(CupomChangeType.ARCHIVED, 1, "30.00", now.plusDays(1), true));
+
+        assertEquals(List.of(2L), best(10, now));
+    }
+
+    @Test
+    @DisplayName("Deve remover cupons deletados e ignorar eventos repetidos")
+    void shouldRemoveDeletedAndIgnoreRepeatedEvents() {
+        index.apply(change(CupomChangeType.CREATED, 1, "30.00", now.plusDays(1), true));
+        index.apply(change(CupomChangeType.CREATED, 1, "30.00", now.plusDays(1), true));
+        index.apply(change(CupomChangeType.CREATED, 2, "15.00", now.plusDays(1), true));
+        index.apply(change(CupomChangeType.DELETED, 1, "30.00", now.plusDays(1), true));
+        index.apply(change(CupomChangeType.DELETED, 1, "30.00", now.plusDays(1), true));
+
+        assertEquals(List.of(2L), best(10, now));
+        assertEquals(1, index.size());
+    }
+
+    @Test
+    @DisplayName("Deve pular cupons que expiraram e removê-los na poda")
+    void shouldSkipAndPruneExpired() {
+        index.apply(change(CupomChangeType.CREATED, 1, "30.00", now.plusHours(1), true));
+        index.apply(change(CupomChangeType.CREATED, 2, "20.00", now.plusDays(2), true));
+        index.apply(change(CupomChangeType.CREATED, 3, "10.00", now.plusHours(3), true));
+
+        LocalDateTime later = now.plusHours(4);
+        assertEquals(List.of(2L), best(10, later));
+
+        assertEquals(2, index.pruneExpired(later));
+        assertEquals(1, index.size());
+        assertEquals(List.of(2L), best(10, later));
+    }
+}
@@ -0,0 +1,116 @@
+package com.example.demo.infrastructure.index;
+
+import com.example.demo.domain.CupomChange;
+import com.example.demo.domain.CupomChangeType;
+import com.example.demo.domain.CupomSearchHit;
+import com.example.demo.domain.SearchText;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("TrigramSearchIndex Tests")
+class TrigramSearchIndexTest {
+
+    private TrigramSearchIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new TrigramSearchIndex();
+    }
+
+    private static CupomChange change(CupomChangeType type, long id, String description) {
+        return new CupomChange(null, type, id, "CODE" + id, description, new BigDecimal("10.00"),
+                LocalDateTime.now().plusDays(1), true, LocalDateTime.now());
+    }
+
+    private List<Long> search(String query) {
+        return index.search(SearchText.normalize(query), 10).stream().map(CupomSearchHit::id).toList();
+    }
+
+    @Test
+    @DisplayName("Deve encontrar descrições que contêm a busca, ignorando acentos e caixa")
+    void shouldFindDescriptionsIgnoringAccentsAndCase() {
+        index.apply(change(CupomChangeType.CREATED, 1, "Frete grátis em Calçados"));
+        index.apply(change(CupomChangeType.CREATED, 2, "10% de desconto em eletrônicos"));
+
+        assertEquals(List.of(1L), search("CALCADOS"));
+        assertEquals(List.of(2L), search("eletronico"));
+        assertEquals(List.of(), search("brinquedos"));
+    }
+
+    @Test
+    @DisplayName("Deve ordenar por score e, no empate, pela descrição mais curta")
+    void shouldRankByScoreThenShorterDescription() {
+        index.apply(change(CupomChangeType.CREATED, 1, "Frete grátis para todo o Brasil em compras acima de 100"));
+        index.apply(change(CupomChangeType.CREATED, 2, "Frete grátis"));
+        index.apply(change(CupomChangeType.CREATED, 3, "Frete reduzido"));
+
+        List<CupomSearchHit> hits = index.search(SearchText.normalize("frete gratis"), 10);
+
+        assertEquals(List.of(2L, 1L), hits.stream().map(CupomSearchHit::id).toList());
+        assertEquals(1.0, hits.get(0).score());
+    }
+
+    @Test
+    @DisplayName("Deve tolerar erros de digitação acima da fração mínima de trigramas")
+    void shouldTolerateTypos() {
+        index.apply(change(CupomChangeType.CREATED, 1, "Desconto de aniversário"));
+
+        List<CupomSearchHit> hits = index.search(SearchText.normalize("aniversaro"), 10);
+
+        assertEquals(1, hits.size());
+        assertTrue(hits.get(0).score() < 1.0);
+    }
+
+    @Test
+    @DisplayName("Deve respeitar o limite mantendo os mais relevantes")
+    void shouldRespectLimit() {
+        for (long id = 1; id <= 50; id++) {
+            index.apply(change(CupomChangeType.CREATED, id, "Cupom de natal " + "x".repeat((int) id)));
+        }
+
+        List<CupomSearchHit> hits = index.search(SearchText.normalize("natal"), 3);
+
+        assertEquals(List.of(1L, 2L, 3L), hits.stream().map(CupomSearchHit::id).toList());
+    }
+
+    @Test
+    @DisplayName("Deve remover cupons deletados e ignorar eventos repetidos")
+    void shouldRemoveDeletedAndIgnoreRepeatedEvents() {
+        index.apply(change(CupomChangeType.CREATED, 1, "Black Friday"));
+        index.apply(change(CupomChangeType.CREATED, 1, "Black Friday"));
+        index.apply(change(CupomChangeType.CREATED, 2, "Black Friday antecipada"));
+
+        assertEquals(List.of(1L, 2L), search("black friday"));
+
+        index.apply(change(CupomChangeType.DELETED, 1, "Black Friday"));
+        index.apply(change(CupomChangeType.DELETED, 1, "Black Friday"));
+
+        assertEquals(List.of(2L), search("black friday"));
+        assertEquals(1, index.size());
+    }
+
+    @Test
+    @DisplayName("Deve continuar encontrando os cupons vivos após a compactação")
+    void shouldKeepLiveDocumentsAfterCompaction() {
+        for (long id = 1; id <= 3_000; id++) {
+            index.apply(change(CupomChangeType.CREATED, id, "Oferta " + id));
+        }
+        for (long id = 1; id <= 2_000; id++) {
+            index.apply(change(CupomChangeType.DELETED, id, "Oferta " + id));
+        }
+
+        assertEquals(1_000, index.size());
+        assertEquals(2_500L, search("oferta 2500").get(0));
+        assertFalse(search("oferta 1500").contains(1_500L));
+
+        index.apply(change(CupomChangeType.CREATED, 4_000, "Oferta relâmpago"));
+        assertEquals(List.of(4_000L), search("relampago"));
+    }
+}
@@ -0,0 +1,48 @@
+package com.example.demo.infrastructure.lookup;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+import org.springframework.context.annotation.Configuration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("CupomLookupMode Tests")
+class CupomLookupModeTest {
+
+    @Configuration
+    @ConditionalOnLookupMode(CupomLookupMode.SNAPSHOT)
+    static class SnapshotLayer { }
+
+    @Configuration
+    @ConditionalOnLookupMode(CupomLookupMode.OFF_HEAP)
+    static class OffHeapLayer { }
+
+    private final ApplicationContextRunner runner = new ApplicationContextRunner()
+            .withUserConfiguration(SnapshotLayer.class, OffHeapLayer.class);
+
+    @Test
+    @DisplayName("Deve registrar só a camada do modo configurado")
+    void shouldRegisterOnlyConfiguredLayer() {
+        runner.withPropertyValues("cupom.lookup.mode=off-heap").run(context -> {
+            assertEquals(1, context.getBeanNamesForType(OffHeapLayer.class).length);
+            assertEquals(0, context.getBeanNamesForType(SnapshotLayer.class).length);
+        });
+    }
+
+    @Test
+    @DisplayName("Deve usar o banco quando o modo não é informado")
+    void shouldDefaultToRepository() {
+        runner.run(context -> {
+            assertEquals(0, context.getBeanNamesForType(OffHeapLayer.class).length);
+            assertEquals(0, context.getBeanNamesForType(SnapshotLayer.class).length);
+        });
+    }
+
+    @Test
+    @DisplayName("Deve impedir a subida com modo desconhecido")
+    void shouldFailOnUnknownMode() {
+        runner.withPropertyValues("cupom.lookup.mode=snapshot,off-heap")
+                .run(context -> assertNotNull(context.getStartupFailure()));
+    }
+}
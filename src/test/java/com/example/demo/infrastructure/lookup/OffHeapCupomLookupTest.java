@@ -0,0 +1,81 @@
+package com.example.demo.infrastructure.lookup;
+
+import com.example.demo.application.dtos.CodeValidationResponse;
+import com.example.demo.application.usecases.FindCupomStatusUseCase;
+import com.example.demo.domain.Cupom;
+import com.example.demo.domain.CupomChange;
+import com.example.demo.domain.CupomState;
+import com.example.demo.domain.CupomStatus;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@DisplayName("OffHeapCupomLookup Tests")
+@ExtendWith(MockitoExtension.class)
+class OffHeapCupomLookupTest {
+
+    @Mock
+    private RepositoryCupomLookup delegate;
+
+    private Cupom cupom(Long id, String code) {
+        Cupom cupom = new Cupom(code, "Cupom " + code, new BigDecimal("12.50"),
+                LocalDateTime.now().plusDays(1).truncatedTo(ChronoUnit.MICROS), true, null, 0L);
+        cupom.setId(id);
+        return cupom;
+    }
+
+    @Test
+    @DisplayName("Deve atender cupons criados sem consultar o banco")
+    void shouldServeCreatedCupons() {
+        OffHeapCupomLookup lookup = new OffHeapCupomLookup(delegate, 16);
+        Cupom cupom = cupom(1L, "AAA111");
+
+        lookup.apply(CupomChange.created(cupom));
+
+        assertEquals(List.of(CupomState.of(cupom)), lookup.findAllByCodes(List.of("AAA111")));
+        assertEquals(Optional.of(CupomState.of(cupom)), lookup.findById(1L));
+        verifyNoInteractions(delegate);
+    }
+
+    @Test
+    @DisplayName("Deve recorrer ao banco para cupons deletados e desconhecidos")
+    void shouldFallBackForDeletedAndUnknown() {
+        OffHeapCupomLookup lookup = new OffHeapCupomLookup(delegate, 16);
+        Cupom cupom = cupom(1L, "AAA111");
+        lookup.apply(CupomChange.created(cupom));
+        lookup.apply(CupomChange.deleted(cupom));
+        when(delegate.findAllByCodes(List.of("AAA111", "BBB222"))).thenReturn(List.of());
+
+        assertEquals(List.of(), lookup.findAllByCodes(List.of("AAA111", "BBB222")));
+        verify(delegate).findAllByCodes(List.of("AAA111", "BBB222"));
+    }
+
+    @Test
+    @DisplayName("Deve atender o status por id da memória e recorrer ao banco para ids removidos")
+    void shouldServeStatusByIdFromStore() {
+        OffHeapCupomLookup lookup = new OffHeapCupomLookup(delegate, 16);
+        FindCupomStatusUseCase statusUseCase = new FindCupomStatusUseCase(lookup);
+        Cupom kept = cupom(1L, "AAA111");
+        Cupom deleted = cupom(2L, "BBB222");
+        lookup.apply(CupomChange.created(kept));
+        lookup.apply(CupomChange.created(deleted));
+        lookup.apply(CupomChange.deleted(deleted));
+        when(delegate.findById(2L)).thenReturn(Optional.empty());
+
+        assertEquals(new CodeValidationResponse("AAA111", "AAA111", 1L, CupomStatus.VALID), statusUseCase.execute(1L));
+        assertEquals(CupomStatus.UNKNOWN, statusUseCase.execute(2L).status());
+        verify(delegate, never()).findById(1L);
+        verify(delegate).findById(2L);
+    }
+}
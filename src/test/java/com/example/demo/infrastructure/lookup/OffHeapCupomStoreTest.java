@@ -0,0 +1,109 @@
+package com.example.demo.infrastructure.lookup;
+
+import com.example.demo.domain.CupomState;
+import com.example.demo.infrastructure.index.PackedCode;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("OffHeapCupomStore Tests")
+class OffHeapCupomStoreTest {
+
+    private final LocalDateTime expiration = LocalDateTime.of(2030, 1, 2, 3, 4, 5, 123_456_000);
+
+    private CupomState state(long id, String code) {
+        return new CupomState(id, code, 100 + id, expiration, id % 2 == 0, false, id % 3);
+    }
+
+    @Test
+    @DisplayName("Deve encontrar cupom por código e por id")
+    void shouldFindByCodeAndId() {
+        OffHeapCupomStore store = new OffHeapCupomStore(16);
+        CupomState cupom = new CupomState(7, "aBc123", 1_050, expiration, true, false, 2);
+
+        assertTrue(store.put(cupom));
+
+        assertEquals(Optional.of(cupom), store.findByCode("aBc123"));
+        assertEquals(Optional.of(cupom), store.findById(7));
+        assertTrue(store.findByCode("ABC123").isEmpty());
+        assertTrue(store.findByCode("AB-123").isEmpty());
+        assertTrue(store.findById(8).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Deve sobrescrever o registro do mesmo código")
+    void shouldOverwriteSameCode() {
+        OffHeapCupomStore store = new OffHeapCupomStore(16);
+        store.put(state(1, "AAAAAA"));
+        CupomState updated = new CupomState(1, "AAAAAA", 999, expiration, false, false, 5);
+
+        store.put(updated);
+
+        assertEquals(1, store.size());
+        assertEquals(Optional.of(updated), store.findById(1));
+    }
+
+    @Test
+    @DisplayName("Deve manter os índices ao remover movendo o último registro")
+    void shouldKeepIndexesAfterRemove() {
+        OffHeapCupomStore store = new OffHeapCupomStore(16);
+        store.put(state(1, "AAAAAA"));
+        store.put(state(2, "BBBBBB"));
+        store.put(state(3, "CCCCCC"));
+
+        assertTrue(store.remove(1));
+        assertFalse(store.remove(1));
+
+        assertEquals(2, store.size());
+        assertTrue(store.findByCode("AAAAAA").isEmpty());
+        assertEquals(Optional.of(state(3, "CCCCCC")), store.findByCode("CCCCCC"));
+        assertEquals(Optional.of(state(2, "BBBBBB")), store.findById(2));
+    }
+
+    @Test
+    @DisplayName("Deve crescer além da capacidade inicial e coincidir com um mapa comum")
+    void shouldMatchHashMapUnderRandomOperations() {
+        OffHeapCupomStore store = new OffHeapCupomStore(16);
+        Map<Long, CupomState> expected = new HashMap<>();
+        Random random = new Random(42);
+
+        for (int i = 0; i < 50_000; i++) {
+            long id = random.nextInt(20_000) + 1;
+            if (random.nextInt(4) == 0) {
+                assertEquals(expected.remove(id) != null, store.remove(id));
+            } else {
+                // Código derivado do id: um código por id, como no banco
+                CupomState cupom = state(id, PackedCode.decode(id * 7_919));
+                expected.put(id, cupom);
+                store.put(cupom);
+            }
+        }
+
+        assertEquals(expected.size(), store.size());
+        for (long id = 1; id <= 20_000; id++) {
+            CupomState cupom = expected.get(id);
+            assertEquals(Optional.ofNullable(cupom), store.findById(id));
+            assertEquals(Optional.ofNullable(cupom), store.findByCode(PackedCode.decode(id * 7_919)));
+        }
+    }
+
+    @Test
+    @DisplayName("Deve esvaziar o store")
+    void shouldClear() {
+        OffHeapCupomStore store = new OffHeapCupomStore(16);
+        store.put(state(1, "AAAAAA"));
+
+        store.clear();
+
+        assertEquals(0, store.size());
+        assertTrue(store.findById(1).isEmpty());
+        assertTrue(store.findByCode("AAAAAA").isEmpty());
+    }
+}
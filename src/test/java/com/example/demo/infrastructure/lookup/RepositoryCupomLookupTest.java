@@ -0,0 +1,82 @@
+package com.example.demo.infrastructure.lookup;
+
+import com.example.demo.application.cache.CupomMissCache;
+import com.example.demo.domain.Cupom;
+import com.example.demo.domain.CupomChange;
+import com.example.demo.domain.CupomRepository;
+import com.example.demo.domain.CupomState;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.*;
+
+@DisplayName("RepositoryCupomLookup Tests")
+@ExtendWith(MockitoExtension.class)
+class RepositoryCupomLookupTest {
+
+    @Mock
+    private CupomRepository cupomRepository;
+
+    private CupomMissCache missCache;
+    private RepositoryCupomLookup lookup;
+    private Cupom cupom;
+
+    @BeforeEach
+    void setUp() {
+        missCache = new CupomMissCache(Duration.ofSeconds(5), 1_000);
+        lookup = new RepositoryCupomLookup(cupomRepository, missCache);
+        cupom = new Cupom("AAA111", "Cupom", new BigDecimal("10.00"), LocalDateTime.now().plusDays(1), true);
+        cupom.setId(1L);
+    }
+
+    @Test
+    @DisplayName("Deve consultar só os códigos que não faltaram há pouco")
+    void shouldSkipRecentlyMissingCodes() {
+        when(cupomRepository.findAllByCodes(List.of("AAA111", "ZZZ999"))).thenReturn(List.of(cupom));
+        lookup.findAllByCodes(List.of("AAA111", "ZZZ999"));
+
+        when(cupomRepository.findAllByCodes(List.of("AAA111"))).thenReturn(List.of(cupom));
+        assertEquals(List.of(CupomState.of(cupom)), lookup.findAllByCodes(List.of("AAA111", "ZZZ999")));
+        assertEquals(List.of(), lookup.findAllByCodes(List.of("ZZZ999")));
+
+        verify(cupomRepository, never()).findAllByCodes(List.of("ZZZ999"));
+        assertEquals(2, missCache.codes().hits());
+    }
+
+    @Test
+    @DisplayName("Deve dividir lotes grandes em consultas de até 1.000 códigos")
+    void shouldChunkLargeBatches() {
+        List<String> codes = IntStream.range(0, 2_500).mapToObj(i -> String.format("C%05d", i)).toList();
+        when(cupomRepository.findAllByCodes(anyCollection())).thenReturn(List.of());
+
+        lookup.findAllByCodes(codes);
+
+        verify(cupomRepository).findAllByCodes(codes.subList(0, 1_000));
+        verify(cupomRepository).findAllByCodes(codes.subList(1_000, 2_000));
+        verify(cupomRepository).findAllByCodes(codes.subList(2_000, 2_500));
+        verifyNoMoreInteractions(cupomRepository);
+    }
+
+    @Test
+    @DisplayName("Deve voltar a consultar o código depois da criação do cupom")
+    void shouldQueryCodeAgainAfterCreation() {
+        when(cupomRepository.findAllByCodes(List.of("AAA111"))).thenReturn(List.of(), List.of(cupom));
+        assertEquals(List.of(), lookup.findAllByCodes(List.of("AAA111")));
+
+        missCache.onChanges(List.of(CupomChange.created(cupom)));
+
+        assertEquals(List.of(CupomState.of(cupom)), lookup.findAllByCodes(List.of("AAA111")));
+    }
+}
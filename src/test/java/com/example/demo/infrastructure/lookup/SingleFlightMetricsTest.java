@@ -0,0 +1,64 @@
+package com.example.demo.infrastructure.lookup;
+
+import com.example.demo.application.cache.CupomMissCache;
+import com.example.demo.application.usecases.FindCupomStatusUseCase;
+import com.example.demo.application.usecases.FindCupomUseCase;
+import com.example.demo.domain.Cupom;
+import com.example.demo.domain.CupomRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.when;
+
+@DisplayName("SingleFlightMetrics Tests")
+@ExtendWith(MockitoExtension.class)
+class SingleFlightMetricsTest {
+
+    @Mock
+    private CupomRepository cupomRepository;
+
+    private SimpleMeterRegistry registry;
+    private FindCupomStatusUseCase statusUseCase;
+
+    @BeforeEach
+    void setUp() {
+        CupomMissCache missCache = new CupomMissCache(Duration.ofSeconds(5), 1_000);
+        RepositoryCupomLookup lookup = new RepositoryCupomLookup(cupomRepository, missCache);
+        statusUseCase = new FindCupomStatusUseCase(lookup);
+        registry = new SimpleMeterRegistry();
+        new SingleFlightMetrics(new FindCupomUseCase(cupomRepository, missCache), lookup).bindTo(registry);
+    }
+
+    @Test
+    @DisplayName("Deve contar em lookup-by-id as consultas do status por id")
+    void shouldCountStatusReadsAsLookupById() {
+        Cupom cupom = new Cupom("AAA111", "Cupom", new BigDecimal("10.00"), LocalDateTime.now().plusDays(1), true);
+        cupom.setId(1L);
+        when(cupomRepository.findById(1L)).thenReturn(Optional.of(cupom));
+        when(cupomRepository.findById(2L)).thenReturn(Optional.empty());
+
+        statusUseCase.execute(1L);
+        statusUseCase.execute(2L);
+        // A segunda falta do mesmo id vem do cache de ausentes, sem nova consulta
+        statusUseCase.execute(2L);
+
+        assertEquals(2.0, calls("lookup-by-id", "executed"));
+        assertEquals(0.0, calls("find-by-id", "executed"));
+    }
+
+    private double calls(String flight, String outcome) {
+        return registry.get(SingleFlightMetrics.METER).tag("flight", flight).tag("outcome", outcome)
+                .functionCounter().count();
+    }
+}
@@ -0,0 +1,141 @@
+package com.example.demo.infrastructure.outbox;
+
+import com.example.demo.domain.CupomChange;
+import com.example.demo.domain.CupomChangeListener;
+import com.example.demo.domain.CupomChangeType;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.beans.factory.ObjectProvider;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@DisplayName("CupomChangePoller Tests")
+@ExtendWith(MockitoExtension.class)
+class CupomChangePollerTest {
+
+    @Mock
+    private CupomChangeFeed changeFeed;
+
+    @Mock
+    private ObjectProvider<CupomChangeListener> listenerProvider;
+
+    private final List<CupomChange> received = new ArrayList<>();
+
+    private CupomChangePoller newPoller(Duration gapTimeout) {
+        when(changeFeed.partitions()).thenReturn(1);
+        when(changeFeed.lastSequence(0)).thenReturn(10L);
+        return start(gapTimeout);
+    }
+
+    private CupomChangePoller start(Duration gapTimeout) {
+        lenient().when(listenerProvider.orderedStream()).thenAnswer(invocation -> Stream.of(
+                (CupomChangeListener) received::addAll
+        ));
+        CupomChangePoller poller = new CupomChangePoller(
+                changeFeed, listenerProvider, new OutboxProperties(100, gapTimeout, null, null, null)
+        );
+        poller.initialize();
+        return poller;
+    }
+
+    private CupomChange change(long sequence) {
+        return change(sequence, "ABC123");
+    }
+
+    private CupomChange change(long sequence, String code) {
+        return new CupomChange(sequence, CupomChangeType.CREATED, sequence, code, "Desc",
+                new BigDecimal("10.00"), LocalDateTime.now().plusDays(1), true, LocalDateTime.now());
+    }
+
+    @BeforeEach
+    void setUp() {
+        received.clear();
+    }
+
+    @Test
+    @DisplayName("Deve começar a partir da última sequence existente")
+    void shouldStartFromLastExistingSequence() {
+        CupomChangePoller poller = newPoller(Duration.ofSeconds(5));
+
+        assertEquals(10L, poller.dispatchedPosition().sequence(0));
+    }
+
+    @Test
+    @DisplayName("Deve entregar alterações contíguas e avançar a posição")
+    void shouldDispatchContiguousChanges() {
+        CupomChangePoller poller = newPoller(Duration.ofSeconds(5));
+        when(changeFeed.findAfter(0, 10L, 100)).thenReturn(List.of(change(11), change(12)));
+
+        poller.poll();
+
+        assertEquals(List.of(11L, 12L), received.stream().map(CupomChange::sequence).toList());
+        assertEquals(12L, poller.dispatchedPosition().sequence(0));
+    }
+
+    @Test
+    @DisplayName("Deve aguardar lacuna de sequence que pode ser transação em andamento")
+    void shouldWaitOnSequenceGap() {
+        CupomChangePoller poller = newPoller(Duration.ofSeconds(5));
+        when(changeFeed.findAfter(eq(0), anyLong(), anyInt())).thenReturn(List.of(change(11), change(13)));
+
+        poller.poll();
+
+        assertEquals(List.of(11L), received.stream().map(CupomChange::sequence).toList());
+        assertEquals(11L, poller.dispatchedPosition().sequence(0));
+    }
+
+    @Test
+    @DisplayName("Deve pular lacuna após o tempo limite")
+    void shouldSkipGapAfterTimeout() {
+        CupomChangePoller poller = newPoller(Duration.ZERO);
+        when(changeFeed.findAfter(0, 10L, 100)).thenReturn(List.of(change(12), change(13)));
+
+        poller.poll();
+
+        assertEquals(13L, poller.dispatchedPosition().sequence(0));
+        assertEquals(2, received.size());
+    }
+
+    @Test
+    @DisplayName("Não deve entregar nada quando o outbox está vazio")
+    void shouldNotDispatchWhenOutboxIsEmpty() {
+        CupomChangePoller poller = newPoller(Duration.ofSeconds(5));
+        when(changeFeed.findAfter(0, 10L, 100)).thenReturn(List.of());
+
+        poller.poll();
+
+        assertTrue(received.isEmpty());
+        verify(listenerProvider, never()).orderedStream();
+    }
+
+    @Test
+    @DisplayName("Deve acompanhar cada shard pela própria sequence sem que a lacuna de um segure o outro")
+    void shouldTrackShardsIndependently() {
+        when(changeFeed.partitions()).thenReturn(2);
+        when(changeFeed.lastSequence(0)).thenReturn(10L);
+        when(changeFeed.lastSequence(1)).thenReturn(3L);
+        CupomChangePoller poller = start(Duration.ofSeconds(5));
+        when(changeFeed.findAfter(0, 10L, 100)).thenReturn(List.of(change(11, "AAA111"), change(13, "AAA111")));
+        when(changeFeed.findAfter(1, 3L, 100)).thenReturn(List.of(change(4, "BBB222"), change(5, "BBB222")));
+
+        poller.poll();
+
+        assertEquals(OutboxPosition.of(11L, 5L), poller.dispatchedPosition());
+        assertEquals(List.of("AAA111", "BBB222", "BBB222"), received.stream().map(CupomChange::code).toList());
+    }
+}
@@ -0,0 +1,102 @@
+package com.example.demo.infrastructure.outbox;
+
+import com.example.demo.domain.CupomChange;
+import com.example.demo.domain.CupomChangeType;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+@DisplayName("CupomChangeStream Tests")
+@ExtendWith(MockitoExtension.class)
+class CupomChangeStreamTest {
+
+    @Mock
+    private CupomChangeFeed changeFeed;
+    @Mock
+    private CupomChangePoller poller;
+
+    private final CountDownLatch release = new CountDownLatch(1);
+    private CupomChangeStream stream;
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        stream.close();
+    }
+
+    private static CupomChange change(long sequence) {
+        return new CupomChange(sequence, CupomChangeType.CREATED, sequence, "ABC123", "Desc",
+                new BigDecimal("10.00"), LocalDateTime.now().plusDays(1), true, LocalDateTime.now());
+    }
+
+    @Test
+    @DisplayName("Deve desconectar o assinante lento sem segurar a entrega do poller")
+    void shouldDropSlowSubscriberWithoutBlockingPoller() throws Exception {
+        stream = new CupomChangeStream(changeFeed, poller, new OutboxProperties(100, null, null, null, 2));
+        when(changeFeed.partitions()).thenReturn(1);
+        when(poller.dispatchedPosition()).thenReturn(OutboxPosition.of(5L));
+        // Leitura do histórico travada: o assinante não consome a fila
+        CountDownLatch reading = new CountDownLatch(1);
+        when(changeFeed.findBetween(anyInt(), anyLong(), anyLong(), anyInt())).thenAnswer(invocation -> {
+            reading.countDown();
+            release.await();
+            return List.of();
+        });
+
+        stream.subscribe(OutboxPosition.of(0L));
+        reading.await();
+        assertEquals(1, stream.subscriberCount());
+
+        long start = System.nanoTime();
+        stream.onChanges(LongStream.rangeClosed(6, 8).mapToObj(CupomChangeStreamTest::change).toList());
+
+        assertTrue(System.nanoTime() - start < 1_000_000_000L);
+        assertEquals(0, stream.subscriberCount());
+    }
+
+    @Test
+    @DisplayName("Deve manter o assinante enquanto a fila tiver espaço")
+    void shouldKeepSubscriberWithinBuffer() throws Exception {
+        stream = new CupomChangeStream(changeFeed, poller, new OutboxProperties(100, null, null, null, 10));
+        when(changeFeed.partitions()).thenReturn(1);
+        when(poller.dispatchedPosition()).thenReturn(OutboxPosition.of(5L));
+        CountDownLatch reading = new CountDownLatch(1);
+        when(changeFeed.findBetween(anyInt(), anyLong(), anyLong(), anyInt())).thenAnswer(invocation -> {
+            reading.countDown();
+            release.await();
+            return List.of();
+        });
+
+        stream.subscribe(OutboxPosition.of(0L));
+        reading.await();
+        stream.onChanges(LongStream.rangeClosed(6, 8).mapToObj(CupomChangeStreamTest::change).toList());
+
+        assertEquals(1, stream.subscriberCount());
+    }
+
+    @Test
+    @DisplayName("Deve recusar posição com número de partições diferente do outbox")
+    void shouldRejectPositionFromAnotherPartitioning() {
+        stream = new CupomChangeStream(changeFeed, poller, new OutboxProperties(100, null, null, null, 10));
+        when(changeFeed.partitions()).thenReturn(2);
+
+        assertThrows(IllegalArgumentException.class, () -> stream.subscribe(OutboxPosition.valueOf("7")));
+        assertEquals(OutboxPosition.of(7L, 3L), OutboxPosition.valueOf("7,3"));
+        assertEquals("7,3", OutboxPosition.of(7L, 3L).toString());
+        assertEquals(0, stream.subscriberCount());
+    }
+}
@@ -0,0 +1,118 @@
+package com.example.demo.infrastructure.persistence;
+
+import com.example.demo.domain.Cupom;
+import com.example.demo.domain.exceptions.DuplicateCodeException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("CupomRepositoryImpl Tests")
+@DataJpaTest
+@Import(CupomRepositoryImpl.class)
+class CupomRepositoryImplTest {
+
+    @Autowired
+    private CupomRepositoryImpl repository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Cupom newCupom(String code) {
+        return new Cupom(code, "Cupom " + code, new BigDecimal("10.00"), LocalDateTime.now().plusDays(7), true);
+    }
+
+    @Test
+    @DisplayName("Deve traduzir violação de uk_cupom_code em DuplicateCodeException")
+    void shouldTranslateCodeConstraintViolation() {
+        repository.save(newCupom("DUP001"));
+
+        assertThrows(DuplicateCodeException.class, () -> repository.save(newCupom("DUP001")));
+    }
+
+    @Test
+    @DisplayName("Deve inserir em lote ignorando códigos existentes")
+    void shouldBatchInsertSkippingExistingCodes() {
+        repository.save(newCupom("OLD001"));
+
+        List<Cupom> inserted = repository.insertAllSkippingExisting(List.of(
+                newCupom("NEW001"), newCupom("OLD001"), newCupom("NEW002")
+        ));
+
+        assertEquals(List.of("NEW001", "NEW002"), inserted.stream().map(Cupom::getCode).sorted().toList());
+        assertTrue(inserted.stream().allMatch(cupom -> cupom.getId() != null));
+        assertEquals(List.of("NEW001", "NEW002", "OLD001"), repository.findCodesAfter(null, 10));
+        assertEquals(List.of("NEW002"), repository.findCodesAfter("NEW001", 1));
+    }
+
+    @Test
+    @DisplayName("Deve buscar cupons ativos expirando antes da data, por expiração")
+    void shouldFindActiveCuponsExpiringBefore() {
+        LocalDateTime now = LocalDateTime.now();
+        repository.save(new Cupom("LATE01", "Tarde", new BigDecimal("10.00"), now.plusDays(5), true));
+        repository.save(new Cupom("SOON01", "Cedo", new BigDecimal("10.00"), now.plusDays(1), true));
+        repository.save(new Cupom("AFTER1", "Depois", new BigDecimal("10.00"), now.plusDays(30), true));
+        repository.save(new Cupom("DRAFT1", "Rascunho", new BigDecimal("10.00"), now.plusDays(2), false));
+        repository.save(new Cupom("GONE01", "Deletado", new BigDecimal("10.00"), now.plusDays(3), true, now.minusHours(1), null));
+        repository.save(new Cupom("OLD001", "Expirado", new BigDecimal("10.00"), now.minusDays(1), true, null, null));
+
+        List<Cupom> active = repository.findActiveExpiringBefore(now, now.plusDays(10), 10);
+
+        assertEquals(List.of("SOON01", "LATE01"), active.stream().map(Cupom::getCode).toList());
+        assertEquals(List.of("SOON01"), repository.findActiveExpiringBefore(now, now.plusDays(10), 1)
+                .stream().map(Cupom::getCode).toList());
+    }
+
+    @Test
+    @DisplayName("Consulta de ativos deve usar o índice idx_cupons_active_expiration")
+    void shouldUseActiveExpirationIndex() {
+        String plan = jdbcTemplate.queryForObject(
+                "EXPLAIN SELECT id FROM cupons WHERE published = TRUE AND deleted_at IS NULL "
+                        + "AND expiration_date > CURRENT_TIMESTAMP AND expiration_date < DATEADD('DAY', 7, CURRENT_TIMESTAMP) "
+                        + "ORDER BY expiration_date",
+                String.class
+        );
+
+        assertTrue(plan.toUpperCase().contains("IDX_CUPONS_ACTIVE_EXPIRATION"), plan);
+    }
+
+    @Test
+    @DisplayName("Deve gravar um evento JFR por chamada com id, código e linhas")
+    void shouldRecordRepositoryCallEvents() throws Exception {
+        Long id = repository.save(newCupom("JFR001")).getId();
+
+        Path file = Files.createTempFile("repository-calls", ".jfr");
+        try (Recording recording = new Recording()) {
+            recording.enable("cupom.RepositoryCall").withThreshold(Duration.ZERO);
+            recording.start();
+            repository.findById(id);
+            repository.existsByCode("NOPE01");
+            recording.stop();
+            recording.dump(file);
+        }
+        List<RecordedEvent> events = RecordingFile.readAllEvents(file);
+        Files.delete(file);
+
+        assertEquals(List.of("findById", "existsByCode"), events.stream().map(event -> event.getString("method")).toList());
+        assertEquals(id, events.get(0).getLong("cupomId"));
+        assertEquals(1, events.get(0).getInt("rows"));
+        assertEquals("NOPE01", events.get(1).getString("code"));
+        assertEquals(0, events.get(1).getInt("rows"));
+        assertTrue(events.stream().allMatch(event -> event.getString("outcome").equals("OK")));
+    }
+}
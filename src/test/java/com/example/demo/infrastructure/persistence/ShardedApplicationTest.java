@@ -0,0 +1,97 @@
+package com.example.demo.infrastructure.persistence;
+
+import com.example.demo.application.dtos.CreateCupomDto;
+import com.example.demo.application.dtos.CupomResponse;
+import com.example.demo.application.execeptions.CodeAlreadyExists;
+import com.example.demo.application.usecases.CreateCupomUseCase;
+import com.example.demo.application.usecases.DeleteCupomUseCase;
+import com.example.demo.application.usecases.FindCupomStatusUseCase;
+import com.example.demo.domain.CupomChange;
+import com.example.demo.domain.CupomChangeListener;
+import com.example.demo.domain.CupomStatus;
+import com.example.demo.infrastructure.outbox.CupomChangePoller;
+import com.example.demo.infrastructure.outbox.OutboxPosition;
+import com.example.demo.infrastructure.persistence.sharding.Shards;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Aplicação inteira com dois shards: casos de uso, outbox por shard e poller
+@DisplayName("Sharded Application Tests")
+@SpringBootTest(properties = {
+        "cupom.sharding.enabled=true",
+        "cupom.sharding.urls=jdbc:h2:mem:sharded-app-0;DB_CLOSE_DELAY=-1,jdbc:h2:mem:sharded-app-1;DB_CLOSE_DELAY=-1",
+        "cupom.scheduling.enabled=false"
+})
+class ShardedApplicationTest {
+
+    @TestConfiguration
+    static class ReceivedChanges {
+        @Bean
+        List<CupomChange> receivedChanges() {
+            return new CopyOnWriteArrayList<>();
+        }
+
+        @Bean
+        CupomChangeListener recordingListener(List<CupomChange> receivedChanges) {
+            return receivedChanges::addAll;
+        }
+    }
+
+    @Autowired
+    private CreateCupomUseCase createUseCase;
+    @Autowired
+    private DeleteCupomUseCase deleteUseCase;
+    @Autowired
+    private FindCupomStatusUseCase statusUseCase;
+    @Autowired
+    private CupomChangePoller poller;
+    @Autowired
+    private Shards shards;
+    @Autowired
+    private List<CupomChange> receivedChanges;
+
+    private static CreateCupomDto request(String code) {
+        return new CreateCupomDto(code, "Shard", new BigDecimal("10.00"), LocalDateTime.now().plusDays(7), true);
+    }
+
+    private int count(int shard, String table) {
+        return shards.jdbc(shard).queryForObject("SELECT COUNT(*) FROM " + table, Integer.class);
+    }
+
+    @Test
+    @DisplayName("Deve gravar cupom e evento no mesmo shard e entregar as alterações de todos os shards")
+    void shouldKeepCuponsAndOutboxTogetherAcrossShards() {
+        List<String> codes = List.of("AAA111", "BBB222", "CCC333", "ABC124", "XYZ788");
+        List<CupomResponse> created = codes.stream().map(code -> createUseCase.execute(request(code))).toList();
+        deleteUseCase.execute(created.get(0).id());
+        assertThrows(CodeAlreadyExists.class, () -> createUseCase.execute(request("BBB222")));
+
+        int withCupons = 0;
+        long[] last = new long[shards.count()];
+        for (int shard = 0; shard < shards.count(); shard++) {
+            int deletes = shard == shards.router().shardForCode("AAA111") ? 1 : 0;
+            assertEquals(count(shard, "cupons") + deletes, count(shard, "cupom_outbox"));
+            withCupons += count(shard, "cupons") > 0 ? 1 : 0;
+            last[shard] = count(shard, "cupom_outbox");
+        }
+        assertEquals(2, withCupons);
+
+        poller.poll();
+
+        assertEquals(OutboxPosition.of(last), poller.dispatchedPosition());
+        assertEquals(codes.size() + 1, receivedChanges.size());
+        assertEquals(CupomStatus.DELETED, statusUseCase.execute(created.get(0).id()).status());
+        assertEquals(CupomStatus.VALID, statusUseCase.execute(created.get(1).id()).status());
+    }
+}
@@ -0,0 +1,212 @@
+package com.example.demo.infrastructure.persistence;
+
+import com.example.demo.domain.Cupom;
+import com.example.demo.domain.exceptions.DuplicateCodeException;
+import com.example.demo.infrastructure.persistence.sharding.ShardRouter;
+import com.example.demo.infrastructure.persistence.sharding.ShardedCupomRepository;
+import com.example.demo.infrastructure.persistence.sharding.Shards;
+import jakarta.persistence.OptimisticLockException;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("ShardedCupomRepository Tests")
+class ShardedCupomRepositoryTest {
+
+    private static final int SHARDS = 3;
+
+    private List<DataSource> dataSources;
+    private ShardedCupomRepository repository;
+    private ShardRouter router;
+
+    @BeforeEach
+    void setUp() {
+        String prefix = UUID.randomUUID().toString();
+        dataSources = new ArrayList<>();
+        for (int i = 0; i < SHARDS; i++) {
+            JdbcDataSource dataSource = new JdbcDataSource();
+            dataSource.setURL("jdbc:h2:mem:" + prefix + "-shard" + i + ";DB_CLOSE_DELAY=-1");
+            dataSources.add(dataSource);
+        }
+        Shards shards = new Shards(dataSources);
+        shards.migrateSchema();
+        repository = new ShardedCupomRepository(shards);
+        router = new ShardRouter(SHARDS);
+    }
+
+    @AfterEach
+    void tearDown() {
+        dataSources.forEach(dataSource -> new JdbcTemplate(dataSource).execute("SHUTDOWN"));
+    }
+
+    private Cupom newCupom(String code) {
+        return new Cupom(code, "Cupom " + code, new BigDecimal("10.00"), LocalDateTime.now().plusDays(7), true);
+    }
+
+    private int rowsIn(int shard, String code) {
+        return new JdbcTemplate(dataSources.get(shard))
+                .queryForObject("SELECT COUNT(*) FROM cupons WHERE code = ?", Integer.class, code);
+    }
+
+    @Test
+    @DisplayName("Deve gravar o cupom apenas no shard dono do código")
+    void shouldStoreCupomOnlyInOwningShard() {
+        Cupom saved = repository.save(newCupom("ABC123"));
+
+        int owner = router.shardForCode("ABC123");
+        for (int shard = 0; shard < SHARDS; shard++) {
+            assertEquals(shard == owner ? 1 : 0, rowsIn(shard, "ABC123"));
+        }
+        assertEquals(owner, router.shardForId(saved.getId()));
+        assertEquals(0L, saved.getVersion());
+    }
+
+    @Test
+    @DisplayName("Deve encontrar cupom por id e por código")
+    void shouldFindCupomByIdAndCode() {
+        Cupom saved = repository.save(newCupom("XYZ789"));
+
+        Optional<Cupom> byId = repository.findById(saved.getId());
+        Optional<Cupom> byCode = repository.findByCode("XYZ789");
+
+        assertTrue(byId.isPresent());
+        assertEquals("XYZ789", byId.get().getCode());
+        assertEquals(saved.getId(), byCode.orElseThrow().getId());
+        assertTrue(repository.existsByCode("XYZ789"));
+        assertFalse(repository.existsByCode("NONE00"));
+    }
+
+    @Test
+    @DisplayName("Deve gerar ids distintos entre shards")
+    void shouldGenerateDistinctIdsAcrossShards() {
+        List<Long> ids = new ArrayList<>();
+        for (String code : List.of("AAA111", "BBB222", "CCC333", "DDD444", "EEE555", "FFF666")) {
+            ids.add(repository.save(newCupom(code)).getId());
+        }
+
+        assertEquals(ids.size(), ids.stream().distinct().count());
+    }
+
+    @Test
+    @DisplayName("Deve rejeitar código duplicado no shard dono")
+    void shouldRejectDuplicateCode() {
+        repository.save(newCupom("DUP001"));
+
+        assertThrows(DuplicateCodeException.class, () -> repository.save(newCupom("DUP001")));
+    }
+
+    @Test
+    @DisplayName("Deve buscar vários códigos de shards diferentes")
+    void shouldFindCodesAcrossShards() {
+        List<String> codes = List.of("AAA111", "BBB222", "CCC333", "DDD444");
+        codes.forEach(code -> repository.save(newCupom(code)));
+
+        List<Cupom> found = repository.findAllByCodes(List.of("AAA111", "CCC333", "DDD444", "ZZZ999"));
+
+        assertEquals(3, found.size());
+    }
+
+    @Test
+    @DisplayName("Deve aplicar lock otimista na atualização")
+    void shouldApplyOptimisticLockOnUpdate() {
+        Cupom saved = repository.save(newCupom("LOCK01"));
+        Cupom first = repository.findById(saved.getId()).orElseThrow();
+        Cupom second = repository.findById(saved.getId()).orElseThrow();
+
+        first.delete();
+        Cupom updated = repository.save(first);
+        second.delete();
+
+        assertEquals(1L, updated.getVersion());
+        assertTrue(repository.findById(saved.getId()).orElseThrow().isDeleted());
+        assertThrows(OptimisticLockException.class, () -> repository.save(second));
+    }
+
+    @Test
+    @DisplayName("Deve retornar vazio para id de shard inexistente")
+    void shouldReturnEmptyForUnknownShard() {
+        long idOnMissingShard = router.toGlobalId(1L, SHARDS + 1);
+
+        assertTrue(repository.findById(idOnMissingShard).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Deve juntar cupons ativos de todos os shards em ordem de expiração")
+    void shouldMergeActiveCuponsAcrossShards() {
+        LocalDateTime now = LocalDateTime.now();
+        List<String> codes = List.of("AAA111", "BBB222", "CCC333", "DDD444", "EEE555");
+        for (int i = 0; i < codes.size(); i++) {
+            repository.save(new Cupom(codes.get(i), "Cupom", new BigDecimal("10.00"), now.plusDays(codes.size() - i), true));
+        }
+
+        List<Cupom> active = repository.findActiveExpiringBefore(now, now.plusDays(4).plusHours(1), 3);
+
+        assertEquals(List.of("EEE555", "DDD444", "CCC333"), active.stream().map(Cupom::getCode).toList());
+    }
+
+    @Test
+    @DisplayName("Deve paginar cupons de todos os shards em ordem de código")
+    void shouldPageCuponsAcrossShardsByCode() {
+        for (String code : List.of("EEE555", "AAA111", "DDD444", "BBB222", "CCC333")) {
+            repository.save(newCupom(code));
+        }
+
+        List<Cupom> first = repository.findAllAfterCode(null, 3);
+        List<Cupom> second = repository.findAllAfterCode(first.get(2).getCode(), 3);
+
+        assertEquals(List.of("AAA111", "BBB222", "CCC333"), first.stream().map(Cupom::getCode).toList());
+        assertEquals(List.of("DDD444", "EEE555"), second.stream().map(Cupom::getCode).toList());
+    }
+
+    @Test
+    @DisplayName("Deve cobrir todos os shards ao ler faixas de id globais")
+    void shouldReadGlobalIdRangesAcrossShards() {
+        List<Long> ids = new ArrayList<>();
+        for (String code : List.of("EEE555", "AAA111", "DDD444", "BBB222", "CCC333", "FFF666")) {
+            ids.add(repository.save(newCupom(code)).getId());
+        }
+        long maxId = repository.findMaxId();
+        long middle = ids.stream().sorted().toList().get(3);
+
+        List<Long> lower = repository.findAllByIdRange(1, middle).stream().map(Cupom::getId).toList();
+        List<Long> upper = repository.findAllByIdRange(middle, maxId + 1).stream().map(Cupom::getId).toList();
+
+        assertEquals(ids.stream().mapToLong(Long::longValue).max().orElseThrow(), maxId);
+        assertEquals(3, lower.size());
+        assertEquals(3, upper.size());
+        assertTrue(lower.stream().allMatch(id -> id < middle));
+        assertEquals(Set.copyOf(ids), Stream.concat(lower.stream(), upper.stream()).collect(Collectors.toSet()));
+    }
+
+    @Test
+    @DisplayName("Deve criar nos shards apenas cupons, seus índices e o outbox")
+    void shouldMigrateOnlyCuponsAndOutboxOnShards() {
+        JdbcTemplate shard = new JdbcTemplate(dataSources.get(0));
+
+        List<String> tables = shard.queryForList(
+                "SELECT LOWER(TABLE_NAME) FROM INFORMATION_SCHEMA.TABLES WHERE TABLE_SCHEMA = 'PUBLIC' "
+                        + "AND TABLE_NAME NOT LIKE 'flyway%' ORDER BY 1", String.class);
+        List<String> indexes = shard.queryForList(
+                "SELECT LOWER(INDEX_NAME) FROM INFORMATION_SCHEMA.INDEXES WHERE TABLE_NAME = 'CUPONS' "
+                        + "AND INDEX_NAME LIKE 'IDX_%' ORDER BY 1", String.class);
+
+        assertEquals(List.of("cupom_outbox", "cupons"), tables);
+        assertEquals(List.of("idx_cupons_active_expiration", "idx_cupons_deleted_at", "idx_cupons_expiration"), indexes);
+    }
+}
@@ -0,0 +1,137 @@
+package com.example.demo.infrastructure.persistence;
+
+import com.example.demo.domain.Cupom;
+import com.example.demo.domain.CupomChange;
+import com.example.demo.domain.CupomChangeType;
+import com.example.demo.infrastructure.persistence.sharding.ShardRouter;
+import com.example.demo.infrastructure.persistence.sharding.ShardedCupomRepository;
+import com.example.demo.infrastructure.persistence.sharding.ShardedOutboxCupomChangeLog;
+import com.example.demo.infrastructure.persistence.sharding.Shards;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("ShardedOutboxCupomChangeLog Tests")
+class ShardedOutboxCupomChangeLogTest {
+
+    private static final int SHARDS = 3;
+
+    private List<DataSource> dataSources;
+    private ShardedCupomRepository repository;
+    private ShardedOutboxCupomChangeLog changeLog;
+    private ShardRouter router;
+    // Faz o papel da transação JPA do caso de uso, no datasource principal
+    private TransactionTemplate useCaseTransaction;
+
+    @BeforeEach
+    void setUp() {
+        String prefix = UUID.randomUUID().toString();
+        dataSources = new ArrayList<>();
+        for (int i = 0; i <= SHARDS; i++) {
+            JdbcDataSource dataSource = new JdbcDataSource();
+            dataSource.setURL("jdbc:h2:mem:" + prefix + "-db" + i + ";DB_CLOSE_DELAY=-1");
+            dataSources.add(dataSource);
+        }
+        Shards shards = new Shards(dataSources.subList(1, SHARDS + 1));
+        shards.migrateSchema();
+        repository = new ShardedCupomRepository(shards);
+        changeLog = new ShardedOutboxCupomChangeLog(shards);
+        router = shards.router();
+        useCaseTransaction = new TransactionTemplate(new DataSourceTransactionManager(dataSources.get(0)));
+    }
+
+    @AfterEach
+    void tearDown() {
+        dataSources.forEach(dataSource -> new JdbcTemplate(dataSource).execute("SHUTDOWN"));
+    }
+
+    private Cupom newCupom(String code) {
+        return new Cupom(code, "Cupom " + code, new BigDecimal("10.00"), LocalDateTime.now().plusDays(7), true);
+    }
+
+    private int count(int shard, String table) {
+        return new JdbcTemplate(dataSources.get(shard + 1)).queryForObject("SELECT COUNT(*) FROM " + table, Integer.class);
+    }
+
+    @Test
+    @DisplayName("Deve gravar o evento no outbox do shard dono, com a sequence do shard")
+    void shouldAppendToOwningShardOutbox() {
+        Cupom saved = useCaseTransaction.execute(status -> {
+            Cupom cupom = repository.save(newCupom("ABC123"));
+            changeLog.append(CupomChange.created(cupom));
+            return cupom;
+        });
+
+        int owner = router.shardForCode("ABC123");
+        List<CupomChange> changes = changeLog.findAfter(owner, 0, 10);
+        assertEquals(1, changes.size());
+        assertEquals(1L, changes.get(0).sequence());
+        assertEquals(saved.getId(), changes.get(0).cupomId());
+        assertEquals(owner, changeLog.partitionOf(changes.get(0)));
+        for (int shard = 0; shard < SHARDS; shard++) {
+            assertEquals(shard == owner ? 1L : 0L, changeLog.lastSequence(shard));
+        }
+    }
+
+    @Test
+    @DisplayName("Deve desfazer cupom e evento juntos quando a transação do caso de uso é desfeita")
+    void shouldRollBackCupomAndOutboxTogether() {
+        useCaseTransaction.executeWithoutResult(status -> {
+            changeLog.append(CupomChange.created(repository.save(newCupom("ABC123"))));
+            status.setRollbackOnly();
+        });
+
+        int owner = router.shardForCode("ABC123");
+        assertEquals(0, count(owner, "cupons"));
+        assertEquals(0, count(owner, "cupom_outbox"));
+        assertTrue(repository.findByCode("ABC123").isEmpty());
+    }
+
+    @Test
+    @DisplayName("Deve desfazer o cupom quando a gravação do evento falha")
+    void shouldRollBackCupomWhenOutboxFails() {
+        assertThrows(RuntimeException.class, () -> useCaseTransaction.executeWithoutResult(status -> {
+            Cupom cupom = repository.save(newCupom("ABC123"));
+            // description é NOT NULL no outbox
+            changeLog.append(new CupomChange(null, CupomChangeType.CREATED, cupom.getId(), cupom.getCode(), null,
+                    cupom.getDiscountValue(), cupom.getExpirationDate(), true, LocalDateTime.now()));
+        }));
+
+        assertEquals(0, count(router.shardForCode("ABC123"), "cupons"));
+    }
+
+    @Test
+    @DisplayName("Deve separar um lote entre os outboxes dos shards")
+    void shouldSplitBatchAcrossShardOutboxes() {
+        List<String> codes = List.of("AAA111", "BBB222", "CCC333", "DDD444", "EEE555", "FFF666");
+        useCaseTransaction.executeWithoutResult(status -> changeLog.appendAll(
+                repository.insertAllSkippingExisting(codes.stream().map(this::newCupom).toList())
+                        .stream().map(CupomChange::created).toList()));
+
+        List<String> read = new ArrayList<>();
+        for (int shard = 0; shard < SHARDS; shard++) {
+            List<CupomChange> changes = changeLog.findBetween(shard, 0, changeLog.lastSequence(shard), 100);
+            assertEquals(count(shard, "cupons"), changes.size());
+            for (int i = 0; i < changes.size(); i++) {
+                assertEquals(i + 1L, changes.get(i).sequence());
+                assertEquals(shard, router.shardForCode(changes.get(i).code()));
+                read.add(changes.get(i).code());
+            }
+        }
+        assertEquals(codes, read.stream().sorted().toList());
+    }
+}
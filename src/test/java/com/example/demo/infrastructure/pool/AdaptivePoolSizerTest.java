@@ -0,0 +1,136 @@
+package com.example.demo.infrastructure.pool;
+
+import com.zaxxer.hikari.HikariConfigMXBean;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.*;
+
+@DisplayName("AdaptivePoolSizer Tests")
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class AdaptivePoolSizerTest {
+
+    @Mock
+    private HikariDataSource dataSource;
+
+    @Mock
+    private HikariPoolMXBean pool;
+
+    @Mock
+    private HikariConfigMXBean config;
+
+    private SimpleMeterRegistry meterRegistry;
+    private Timer acquire;
+    private AdaptivePoolSizer sizer;
+    private int maximumPoolSize;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        acquire = meterRegistry.timer("hikaricp.connections.acquire", "pool", "cupom");
+        maximumPoolSize = 10;
+
+        when(dataSource.getPoolName()).thenReturn("cupom");
+        when(dataSource.getHikariPoolMXBean()).thenReturn(pool);
+        when(dataSource.getHikariConfigMXBean()).thenReturn(config);
+        when(config.getMaximumPoolSize()).thenAnswer(invocation -> maximumPoolSize);
+        when(config.getMinimumIdle()).thenReturn(10);
+        doAnswer(invocation -> maximumPoolSize = invocation.getArgument(0)).when(config).setMaximumPoolSize(anyInt());
+
+        sizer = new AdaptivePoolSizer(dataSource, meterRegistry,
+                new PoolProperties(true, 4, 14, 3, Duration.ofMillis(5), 2));
+    }
+
+    private void waits(int count, long millis) {
+        for (int i = 0; i < count; i++) {
+            acquire.record(millis, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    @Test
+    @DisplayName("Deve crescer o pool quando a espera média passa do alvo")
+    void shouldGrowWhenWaitExceedsTarget() {
+        waits(10, 20);
+
+        sizer.adjust();
+
+        assertEquals(13, maximumPoolSize);
+        assertEquals(20.0, sizer.lastMeanWaitMillis(), 0.001);
+    }
+
+    @Test
+    @DisplayName("Não deve passar do tamanho máximo configurado")
+    void shouldNotGrowBeyondMaxSize() {
+        waits(10, 20);
+        sizer.adjust();
+        waits(10, 20);
+        sizer.adjust();
+        waits(10, 20);
+        sizer.adjust();
+
+        assertEquals(14, maximumPoolSize);
+        assertEquals(2, sizer.resizes());
+    }
+
+    @Test
+    @DisplayName("Deve considerar só a espera do último intervalo")
+    void shouldUseOnlyLastIntervalWait() {
+        waits(10, 20);
+        sizer.adjust();
+
+        waits(10, 0);
+        sizer.adjust();
+
+        assertEquals(0.0, sizer.lastMeanWaitMillis(), 0.001);
+        assertEquals(13, maximumPoolSize);
+    }
+
+    @Test
+    @DisplayName("Deve encolher após intervalos ociosos seguidos e reduzir minimumIdle")
+    void shouldShrinkAfterCalmTicks() {
+        when(pool.getActiveConnections()).thenReturn(1);
+
+        sizer.adjust();
+        assertEquals(10, maximumPoolSize);
+        sizer.adjust();
+
+        assertEquals(9, maximumPoolSize);
+        verify(config).setMinimumIdle(9);
+    }
+
+    @Test
+    @DisplayName("Deve crescer quando há threads esperando mesmo sem aquisições concluídas")
+    void shouldGrowWhenThreadsAreWaiting() {
+        when(pool.getThreadsAwaitingConnection()).thenReturn(4);
+
+        sizer.adjust();
+
+        assertEquals(13, maximumPoolSize);
+    }
+
+    @Test
+    @DisplayName("Não deve fazer nada antes de o pool iniciar")
+    void shouldDoNothingBeforePoolStarts() {
+        when(dataSource.getHikariPoolMXBean()).thenReturn(null);
+
+        sizer.adjust();
+
+        verify(config, never()).setMaximumPoolSize(anyInt());
+    }
+}
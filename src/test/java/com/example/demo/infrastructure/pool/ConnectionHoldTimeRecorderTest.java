@@ -0,0 +1,67 @@
+package com.example.demo.infrastructure.pool;
+
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.TransactionExecution;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+@DisplayName("ConnectionHoldTimeRecorder Tests")
+class ConnectionHoldTimeRecorderTest {
+
+    private TransactionExecution transaction(String name, boolean isNew) {
+        TransactionExecution transaction = mock(TransactionExecution.class);
+        when(transaction.getTransactionName()).thenReturn(name);
+        when(transaction.isNewTransaction()).thenReturn(isNew);
+        return transaction;
+    }
+
+    @Test
+    @DisplayName("Deve reduzir o nome da transação a classe e método")
+    void shouldShortenTransactionName() {
+        assertEquals("CreateCupomUseCase.execute",
+                ConnectionHoldTimeRecorder.useCaseName("com.example.demo.application.usecases.CreateCupomUseCase.execute"));
+        assertEquals("unnamed", ConnectionHoldTimeRecorder.useCaseName(null));
+        assertEquals("execute", ConnectionHoldTimeRecorder.useCaseName("execute"));
+    }
+
+    @Test
+    @DisplayName("Deve registrar o tempo por caso de uso e resultado")
+    void shouldRecordHoldTimePerUseCaseAndOutcome() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        ConnectionHoldTimeRecorder recorder = new ConnectionHoldTimeRecorder(registry);
+        TransactionExecution create = transaction("pkg.CreateCupomUseCase.execute", true);
+        TransactionExecution delete = transaction("pkg.DeleteCupomUseCase.execute", true);
+
+        recorder.afterBegin(create, null);
+        recorder.afterCommit(create, null);
+        recorder.afterBegin(delete, null);
+        recorder.afterRollback(delete, null);
+
+        Timer created = registry.find(ConnectionHoldTimeRecorder.METER)
+                .tags("usecase", "CreateCupomUseCase.execute", "outcome", "commit").timer();
+        Timer deleted = registry.find(ConnectionHoldTimeRecorder.METER)
+                .tags("usecase", "DeleteCupomUseCase.execute", "outcome", "rollback").timer();
+        assertNotNull(created);
+        assertNotNull(deleted);
+        assertEquals(1, created.count());
+        assertEquals(1, deleted.count());
+    }
+
+    @Test
+    @DisplayName("Deve ignorar transações que apenas participam de outra")
+    void shouldIgnoreParticipatingTransactions() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        ConnectionHoldTimeRecorder recorder = new ConnectionHoldTimeRecorder(registry);
+        TransactionExecution participating = transaction("pkg.FindCupomUseCase.execute", false);
+
+        recorder.afterBegin(participating, null);
+        recorder.afterCommit(participating, null);
+
+        assertTrue(registry.find(ConnectionHoldTimeRecorder.METER).timers().isEmpty());
+    }
+}
@@ -0,0 +1,145 @@
+package com.example.demo.infrastructure.ratelimit;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("RateLimitFilter Tests")
+class RateLimitFilterTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private RateLimitFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        // Reposição lenta: dentro do teste só a rajada conta
+        useFilter(new RateLimitProperties(true, 0.001, 2, 0.001, 1, null, null));
+    }
+
+    // Registry novo a cada filtro: o gauge e os contadores lidos são sempre os do filtro em teste
+    private void useFilter(RateLimitProperties properties) {
+        meterRegistry = new SimpleMeterRegistry();
+        filter = new RateLimitFilter(properties, meterRegistry);
+    }
+
+    private double trackedClientsGauge() {
+        return meterRegistry.get("cupom.ratelimit.clients").gauge().value();
+    }
+
+    private MockHttpServletResponse send(String method, String path, String client) throws Exception {
+        return send(method, path, client, null);
+    }
+
+    private MockHttpServletResponse send(String method, String path, String client, String clientHeader) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest(method, path);
+        request.setRemoteAddr(client);
+        if (clientHeader != null) {
+            request.addHeader("X-Client-Id", clientHeader);
+        }
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        MockFilterChain chain = new MockFilterChain();
+        filter.doFilter(request, response, chain);
+        if (response.getStatus() != 429) {
+            assertNotNull(chain.getRequest(), "Requisição aceita deve seguir a cadeia");
+        } else {
+            assertNull(chain.getRequest(), "Requisição recusada não deve chegar ao controller");
+        }
+        return response;
+    }
+
+    private double rejected(String budget) {
+        return meterRegistry.get("cupom.ratelimit.rejected").tag("budget", budget).counter().count();
+    }
+
+    @Test
+    @DisplayName("Deve recusar com 429 quem excede o orçamento de escrita sem afetar as leituras")
+    void shouldRejectWritesWithoutAffectingReads() throws Exception {
+        assertEquals(200, send("POST", "/cupom", "a").getStatus());
+
+        MockHttpServletResponse rejected = send("POST", "/cupom/generate", "a");
+        assertEquals(429, rejected.getStatus());
+        assertNotNull(rejected.getHeader("Retry-After"));
+        assertTrue(rejected.getContentAsString().contains("\"status\":429"));
+
+        assertEquals(200, send("POST", "/cupom/validate", "a").getStatus());
+        assertEquals(200, send("GET", "/cupom/1", "a").getStatus());
+        assertEquals(1.0, rejected("write"));
+        assertEquals(0.0, rejected("read"));
+    }
+
+    @Test
+    @DisplayName("Deve manter orçamentos separados por cliente")
+    void shouldKeepBudgetsPerClient() throws Exception {
+        send("GET", "/cupom/1", "a");
+        send("GET", "/cupom/1", "a");
+
+        assertEquals(429, send("POST", "/cupom/apply", "a").getStatus());
+        assertEquals(200, send("POST", "/cupom/apply", "b").getStatus());
+        assertEquals(1.0, rejected("read"));
+    }
+
+    @Test
+    @DisplayName("Deve ignorar o cabeçalho do cliente quando não configurado")
+    void shouldIgnoreClientHeaderByDefault() throws Exception {
+        send("GET", "/cupom/1", "10.0.0.1", "a");
+        send("GET", "/cupom/1", "10.0.0.1", "b");
+
+        assertEquals(429, send("GET", "/cupom/1", "10.0.0.1", "c").getStatus());
+        assertEquals(1, filter.trackedClients());
+    }
+
+    @Test
+    @DisplayName("Deve identificar o cliente pelo cabeçalho do gateway quando configurado")
+    void shouldUseClientHeaderWhenConfigured() throws Exception {
+        useFilter(new RateLimitProperties(true, 0.001, 1, 0.001, 1, "X-Client-Id", null));
+
+        assertEquals(200, send("GET", "/cupom/1", "10.0.0.1", "a").getStatus());
+        assertEquals(200, send("GET", "/cupom/1", "10.0.0.1", "b").getStatus());
+        assertEquals(429, send("GET", "/cupom/1", "10.0.0.1", "a").getStatus());
+        // Sem o cabeçalho, vale o IP
+        assertEquals(200, send("GET", "/cupom/1", "10.0.0.1").getStatus());
+    }
+
+    @Test
+    @DisplayName("Deve limitar os baldes e fazer os clientes excedentes dividirem um só")
+    void shouldCapTrackedClients() throws Exception {
+        useFilter(new RateLimitProperties(true, 0.001, 1, 0.001, 1, null, 2));
+
+        for (int i = 0; i < 10; i++) {
+            send("GET", "/cupom/1", "10.0.0." + i);
+        }
+
+        assertEquals(2, filter.trackedClients());
+        // O balde excedente (rajada 1) ficou com o terceiro cliente; do quarto ao décimo, recusados
+        assertEquals(7.0, rejected("read"));
+        assertEquals(429, send("GET", "/cupom/1", "10.0.1.1").getStatus());
+        assertEquals(2, filter.trackedClients());
+        assertEquals(2.0, trackedClientsGauge());
+    }
+
+    @Test
+    @DisplayName("Deve ignorar rotas fora de /cupom")
+    void shouldIgnoreOtherPaths() throws Exception {
+        for (int i = 0; i < 5; i++) {
+            assertEquals(200, send("GET", "/actuator/health", "a").getStatus());
+        }
+        assertEquals(0, filter.trackedClients());
+    }
+
+    @Test
+    @DisplayName("Deve classificar criação, geração e deleção como escrita")
+    void shouldClassifyWrites() {
+        assertTrue(RateLimitFilter.isWrite(new MockHttpServletRequest("POST", "/cupom")));
+        assertTrue(RateLimitFilter.isWrite(new MockHttpServletRequest("POST", "/cupom/generate")));
+        assertTrue(RateLimitFilter.isWrite(new MockHttpServletRequest("DELETE", "/cupom/1")));
+        assertFalse(RateLimitFilter.isWrite(new MockHttpServletRequest("POST", "/cupom/validate")));
+        assertFalse(RateLimitFilter.isWrite(new MockHttpServletRequest("POST", "/cupom/apply")));
+        assertFalse(RateLimitFilter.isWrite(new MockHttpServletRequest("GET", "/cupom/search")));
+    }
+}
@@ -0,0 +1,80 @@
+package com.example.demo.infrastructure.snapshot;
+
+import com.example.demo.domain.CupomState;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("MappedCupomSnapshot Tests")
+class MappedCupomSnapshotTest {
+
+    @TempDir
+    Path dir;
+
+    private final LocalDateTime expiration = LocalDateTime.of(2030, 1, 2, 3, 4, 5, 123_456_000);
+
+    private Path write(long sequence, CupomState... states) throws IOException {
+        Path path = dir.resolve("cupons.snapshot");
+        try (CupomSnapshotFile.Writer writer = new CupomSnapshotFile.Writer(path, sequence)) {
+            for (CupomState state : states) {
+                writer.append(state);
+            }
+            writer.finish();
+        }
+        return path;
+    }
+
+    @Test
+    @DisplayName("Deve gravar e ler os cupons por código e por id")
+    void shouldWriteAndReadByCodeAndId() throws IOException {
+        Path path = write(42,
+                new CupomState(30, "ABC123", 1_050, expiration, true, false, 3),
+                new CupomState(10, "XYZ999", 50, expiration, false, false, 0),
+                new CupomState(20, "abc123", 999, expiration, true, false, 1)
+        );
+
+        MappedCupomSnapshot snapshot = MappedCupomSnapshot.open(path);
+
+        assertEquals(3, snapshot.count());
+        assertEquals(42, snapshot.sequence());
+        assertEquals(Optional.of(new CupomState(30, "ABC123", 1_050, expiration, true, false, 3)), snapshot.findByCode("ABC123"));
+        assertEquals(Optional.of(new CupomState(10, "XYZ999", 50, expiration, false, false, 0)), snapshot.findById(10));
+        assertEquals("abc123", snapshot.findById(20).orElseThrow().code());
+        assertTrue(snapshot.findByCode("ABC124").isEmpty());
+        assertTrue(snapshot.findByCode("AB-123").isEmpty());
+        assertTrue(snapshot.findById(99).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Deve exigir códigos em ordem crescente e não deixar arquivo parcial")
+    void shouldRequireAscendingCodes() throws IOException {
+        Path path = dir.resolve("cupons.snapshot");
+        try (CupomSnapshotFile.Writer writer = new CupomSnapshotFile.Writer(path, 1)) {
+            writer.append(new CupomState(1, "BBBBBB", 100, expiration, true, false, 0));
+            assertThrows(IllegalArgumentException.class,
+                    () -> writer.append(new CupomState(2, "AAAAAA", 100, expiration, true, false, 0)));
+        }
+
+        assertFalse(Files.exists(path));
+        try (var files = Files.list(dir)) {
+            assertEquals(0, files.count());
+        }
+    }
+
+    @Test
+    @DisplayName("Deve rejeitar arquivo corrompido")
+    void shouldRejectCorruptedFile() throws IOException {
+        Path path = write(1, new CupomState(1, "AAAAAA", 100, expiration, true, false, 0));
+        Files.write(path, new byte[]{1, 2, 3, 4}, java.nio.file.StandardOpenOption.APPEND);
+
+        assertThrows(IOException.class, () -> MappedCupomSnapshot.open(path));
+    }
+}
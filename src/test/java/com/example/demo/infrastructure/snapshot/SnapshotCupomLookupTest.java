@@ -0,0 +1,151 @@
+package com.example.demo.infrastructure.snapshot;
+
+import com.example.demo.domain.Cupom;
+import com.example.demo.domain.CupomChange;
+import com.example.demo.domain.CupomRepository;
+import com.example.demo.domain.CupomState;
+import com.example.demo.infrastructure.lookup.RepositoryCupomLookup;
+import com.example.demo.infrastructure.outbox.CupomChangeFeed;
+import com.example.demo.infrastructure.outbox.CupomChangePoller;
+import com.example.demo.infrastructure.outbox.OutboxPosition;
+import com.example.demo.infrastructure.outbox.OutboxProperties;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@DisplayName("SnapshotCupomLookup Tests")
+@ExtendWith(MockitoExtension.class)
+class SnapshotCupomLookupTest {
+
+    @TempDir
+    Path dir;
+
+    @Mock
+    private RepositoryCupomLookup delegate;
+    @Mock
+    private CupomRepository cupomRepository;
+    @Mock
+    private CupomChangeFeed changeFeed;
+    @Mock
+    private CupomChangePoller poller;
+
+    private final OutboxProperties outboxProperties = new OutboxProperties(100, null, Duration.ofDays(1), null, null);
+    private Cupom active;
+    private Cupom deleted;
+
+    @BeforeEach
+    void setUp() {
+        active = cupom(1L, "AAA111", null);
+        deleted = cupom(2L, "BBB222", LocalDateTime.now());
+    }
+
+    private static Cupom cupom(Long id, String code, LocalDateTime deletedAt) {
+        Cupom cupom = new Cupom(code, "Cupom " + code, new BigDecimal("12.50"),
+                // O snapshot guarda microssegundos, como a coluna TIMESTAMP(6)
+                LocalDateTime.now().plusDays(1).truncatedTo(ChronoUnit.MICROS), true, deletedAt, 0L);
+        cupom.setId(id);
+        return cupom;
+    }
+
+    private SnapshotCupomLookup lookup() {
+        when(changeFeed.partitions()).thenReturn(1);
+        return new SnapshotCupomLookup(delegate, cupomRepository, changeFeed, poller, outboxProperties, dir.resolve("cupons.snapshot"), 10);
+    }
+
+    @Test
+    @DisplayName("Deve gravar apenas cupons ativos e atender por código e id sem consultar o banco")
+    void shouldServeActiveCuponsFromSnapshot() throws Exception {
+        when(cupomRepository.findAllAfterCode(isNull(), eq(10))).thenReturn(List.of(active, deleted));
+        when(poller.dispatchedPosition()).thenReturn(OutboxPosition.of(7L));
+        SnapshotCupomLookup lookup = lookup();
+        lookup.open();
+        assertFalse(lookup.isServing());
+
+        lookup.write();
+
+        assertTrue(lookup.isServing());
+        assertEquals(List.of(CupomState.of(active)), lookup.findAllByCodes(List.of("AAA111")));
+        assertEquals(Optional.of(CupomState.of(active)), lookup.findById(1L));
+        verifyNoInteractions(delegate);
+    }
+
+    @Test
+    @DisplayName("Deve recorrer ao banco para faltas e para cupons deletados após o snapshot")
+    void shouldFallBackForMissesAndDeletedAfterSnapshot() throws Exception {
+        when(cupomRepository.findAllAfterCode(isNull(), eq(10))).thenReturn(List.of(active));
+        when(poller.dispatchedPosition()).thenReturn(OutboxPosition.of(0L));
+        SnapshotCupomLookup lookup = lookup();
+        lookup.write();
+        CupomState deletedState = CupomState.of(cupom(1L, "AAA111", LocalDateTime.now()));
+        when(delegate.findAllByCodes(List.of("AAA111", "CCC333"))).thenReturn(List.of(deletedState));
+
+        lookup.onChanges(List.of(CupomChange.deleted(active)));
+
+        assertEquals(List.of(deletedState), lookup.findAllByCodes(List.of("AAA111", "CCC333")));
+    }
+
+    @Test
+    @DisplayName("Deve mapear o snapshot anterior na subida e reaplicar as deleções do outbox")
+    void shouldMapPreviousSnapshotAndReconcile() throws Exception {
+        when(cupomRepository.findAllAfterCode(isNull(), eq(10))).thenReturn(List.of(active));
+        when(poller.dispatchedPosition()).thenReturn(OutboxPosition.of(5L));
+        lookup().write();
+
+        CupomChange deletion = CupomChange.deleted(active);
+        CupomChange persisted = new CupomChange(6L, deletion.type(), deletion.cupomId(), deletion.code(), deletion.description(),
+                deletion.discountValue(), deletion.expirationDate(), deletion.published(), deletion.occurredAt());
+        when(changeFeed.lastSequence(0)).thenReturn(6L);
+        when(changeFeed.findAfter(0, 5L, 100)).thenReturn(List.of(persisted));
+        when(delegate.findById(1L)).thenReturn(Optional.empty());
+
+        SnapshotCupomLookup restarted = lookup();
+        restarted.open();
+        assertTrue(restarted.isServing());
+
+        verify(changeFeed, timeout(2_000)).findAfter(0, 5L, 100);
+        await(restarted);
+        assertEquals(Optional.empty(), restarted.findById(1L));
+        verify(delegate).findById(1L);
+    }
+
+    @Test
+    @DisplayName("Deve descartar snapshot à frente do outbox")
+    void shouldDiscardSnapshotAheadOfOutbox() throws Exception {
+        when(cupomRepository.findAllAfterCode(isNull(), eq(10))).thenReturn(List.of(active));
+        when(poller.dispatchedPosition()).thenReturn(OutboxPosition.of(5L));
+        lookup().write();
+        when(changeFeed.lastSequence(0)).thenReturn(0L);
+
+        SnapshotCupomLookup restarted = lookup();
+        restarted.open();
+        await(restarted);
+
+        assertFalse(restarted.isServing());
+        restarted.findAllByCodes(List.of("AAA111"));
+        verify(delegate).findAllByCodes(List.of("AAA111"));
+    }
+
+    private static void await(SnapshotCupomLookup lookup) throws InterruptedException {
+        long deadline = System.nanoTime() + 2_000_000_000L;
+        while (!lookup.isReconciled() && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertTrue(lookup.isReconciled());
+    }
+}